@@ -9,6 +9,7 @@ import nl.tudelft.jpacman.board.BoardFactory;
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.game.Game;
 import nl.tudelft.jpacman.game.GameFactory;
+import nl.tudelft.jpacman.level.GameEventLog;
 import nl.tudelft.jpacman.level.Level;
 import nl.tudelft.jpacman.level.LevelFactory;
 import nl.tudelft.jpacman.level.MapParser;
@@ -54,6 +55,20 @@ public class Launcher {
 	 */
 	private String boardToUse;
 
+	/**
+	 * How the boards of new levels keep their squares. The infinite map uses
+	 * compact boards because it keeps growing, off the heap when the
+	 * <code>jpacman.offheap</code> system property is <code>true</code>.
+	 */
+	private BoardFactory.Storage boardStorage = BoardFactory.Storage.GRID;
+
+	/**
+	 * How the ghosts of new levels find their way, unless the
+	 * <code>jpacman.search</code> system property says otherwise. The
+	 * infinite map uses A*, which needs no work when the board grows.
+	 */
+	private GhostFactory.Search ghostSearch = GhostFactory.Search.JUNCTIONS;
+
 	/**
 	 * Le constructeur de la classe Launcher
 	 */
@@ -89,6 +104,9 @@ public class Launcher {
 		Level level;
 		if(nom.equals(board[1])) {
 			boardToUse = "/boardExtendedBase.txt";
+			boardStorage = Boolean.getBoolean("jpacman.offheap")
+					? BoardFactory.Storage.OFF_HEAP : BoardFactory.Storage.COMPACT;
+			ghostSearch = GhostFactory.Search.A_STAR;
 			level = makeLevel();
 			level.infiniteMode = true;
 			return gf.createSinglePlayerGame(level);
@@ -99,6 +117,8 @@ public class Launcher {
 		else{
 			boardToUse = "/board.txt";
 		}
+		boardStorage = BoardFactory.Storage.GRID;
+		ghostSearch = GhostFactory.Search.JUNCTIONS;
 		level = makeLevel();
 		level.infiniteMode = false;
 		return gf.createSinglePlayerGame(level);
@@ -133,7 +153,7 @@ public class Launcher {
 	 *         {@link #getSpriteStore()}.
 	 */
 	protected BoardFactory getBoardFactory() {
-		return new BoardFactory(getSpriteStore());
+		return new BoardFactory(getSpriteStore(), boardStorage);
 	}
 
 	/**
@@ -152,10 +172,17 @@ public class Launcher {
 	}
 
 	/**
-	 * @return A new factory using the sprites from {@link #getSpriteStore()}.
+	 * @return A new factory using the sprites from {@link #getSpriteStore()},
+	 *         whose ghosts find their way as named by the
+	 *         <code>jpacman.search</code> system property, if set.
 	 */
 	protected GhostFactory getGhostFactory() {
-		return new GhostFactory(getSpriteStore());
+		String search = System.getProperty("jpacman.search", ghostSearch.name());
+		try {
+			return new GhostFactory(getSpriteStore(), GhostFactory.Search.valueOf(search));
+		} catch (IllegalArgumentException e) {
+			throw new PacmanConfigurationException("Unknown search: " + search, e);
+		}
 	}
 
 	/**
@@ -185,25 +212,25 @@ public class Launcher {
 
 			@Override
 			public void doAction() {
-				game.move(p1, Direction.NORTH);
+				game.queueMove(p1, Direction.NORTH);
 			}
 		}).addKey(KeyEvent.VK_DOWN, new Action() {
 
 			@Override
 			public void doAction() {
-				game.move(p1, Direction.SOUTH);
+				game.queueMove(p1, Direction.SOUTH);
 			}
 		}).addKey(KeyEvent.VK_LEFT, new Action() {
 
 			@Override
 			public void doAction() {
-				game.move(p1, Direction.WEST);
+				game.queueMove(p1, Direction.WEST);
 			}
 		}).addKey(KeyEvent.VK_RIGHT, new Action() {
 
 			@Override
 			public void doAction() {
-				game.move(p1, Direction.EAST);
+				game.queueMove(p1, Direction.EAST);
 			}
 		});
 
@@ -218,10 +245,20 @@ public class Launcher {
 		return p1;
 	}
 
+	/**
+	 * @return The lowest severity of the events to log, as named by the
+	 *         <code>jpacman.log</code> system property, or
+	 *         {@link GameEventLog.Severity#OFF} if it is not set.
+	 */
+	protected GameEventLog.Severity getLogSeverity() {
+		return GameEventLog.severityOf(System.getProperty("jpacman.log"));
+	}
+
 	/**
 	 * Creates and starts a JPac-Man game.
 	 */
 	public void launch() {
+		GameEventLog.getLog().setSeverity(getLogSeverity());
 		game = makeGame();
 		PacManUiBuilder builder = new PacManUiBuilder().withDefaultButtons();
 		addSinglePlayerKeys(builder, game);
@@ -2,7 +2,10 @@ package nl.tudelft.jpacman.board;
 
 import nl.tudelft.jpacman.Launcher;
 import nl.tudelft.jpacman.level.Level;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A top-down view of a matrix of {@link Square}s.
@@ -13,8 +16,10 @@ public class Board {
 
 	/**
 	 * The grid of squares with board[x][y] being the square at column x, row y.
+	 * Replaced when the board is extended, which may happen on another thread
+	 * than the one rendering it.
 	 */
-	private Square[][] board;
+	private volatile Square[][] board;
 
 	/**
 	 * The width of one map.
@@ -31,6 +36,28 @@ public class Board {
 	 */
 	private Random random = new Random();
 
+	/**
+	 * The listeners observing changes to this board.
+	 */
+	private final List<BoardListener> listeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Counts the changes to which squares can be occupied by whom.
+	 */
+	private final AtomicLong version = new AtomicLong();
+
+	/**
+	 * Creates a new board that does not keep its squares in a grid. Subclasses
+	 * must override every method using the grid.
+	 *
+	 * @param widthOfOneMap  The width of one map.
+	 * @param heightOfOneMap The height of one map.
+	 */
+	Board(int widthOfOneMap, int heightOfOneMap) {
+		this.widthOfOneMap = widthOfOneMap;
+		this.heightOfOneMap = heightOfOneMap;
+	}
+
 	/**
 	 * Creates a new board.
 	 *
@@ -112,6 +139,33 @@ public class Board {
 		return result;
 	}
 
+	/**
+	 * Determines whether a unit is allowed to occupy the square at the given
+	 * <code>x,y</code> position. Unlike asking the square itself, this creates
+	 * no objects on boards that do not keep their squares.
+	 *
+	 * @param x The <code>x</code> position (column) of the square.
+	 * @param y The <code>y</code> position (row) of the square.
+	 * @param unit The unit to grant or deny access.
+	 * @return <code>true</code> iff the unit is allowed to occupy the square.
+	 */
+	public boolean isAccessibleAt(int x, int y, Unit unit) {
+		return squareAt(x, y).isAccessibleTo(unit);
+	}
+
+	/**
+	 * Returns the units occupying the square at the given <code>x,y</code>
+	 * position. Unlike asking the square itself, this creates no objects for
+	 * empty squares on boards that do not keep their squares.
+	 *
+	 * @param x The <code>x</code> position (column) of the square.
+	 * @param y The <code>y</code> position (row) of the square.
+	 * @return An immutable list of the units occupying the square, oldest first.
+	 */
+	public List<Unit> occupantsAt(int x, int y) {
+		return squareAt(x, y).getOccupants();
+	}
+
 	/**
 	 * Determines whether the given <code>x,y</code> position is on this board.
 	 *
@@ -123,12 +177,57 @@ public class Board {
 		return x >= 0 && x < getWidth() && y >= 0 && y < getHeight();
 	}
 
+	/**
+	 * Adds a listener that will be notified when a square of this board
+	 * changes or when this board is extended.
+	 *
+	 * @param listener The listener to add.
+	 */
+	public void addListener(BoardListener listener) {
+		assert listener != null;
+		listeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener from this board.
+	 *
+	 * @param listener The listener to remove.
+	 */
+	public void removeListener(BoardListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Returns the version of the terrain of this board, which changes
+	 * whenever a square may have become accessible or inaccessible to a unit.
+	 * Occupants never block one another, so only extending the board changes
+	 * it.
+	 *
+	 * @return The version of the terrain of this board.
+	 */
+	public long getVersion() {
+		return version.get();
+	}
+
+	/**
+	 * Notifies the listeners of this board that the occupants of a square
+	 * have changed.
+	 *
+	 * @param square The square that has changed.
+	 */
+	public void notifySquareChanged(Square square) {
+		assert square != null;
+		for (BoardListener listener : listeners) {
+			listener.squareChanged(square);
+		}
+	}
+
 	/**
 	 * Option de création du nouveau Level
 	 *
 	 * @return Le nouveau level
 	 */
-	private Level setOptions() {
+	Level setOptions() {
 		final Launcher launcher = Launcher.getLauncher();
 		final int nbr = random.nextInt(3);
 		launcher.setBoardToUse("/boardExtendedAdd" + (nbr + 1) + ".txt");
@@ -172,6 +271,19 @@ public class Board {
 			default:
 				break;
 		}
+		fireBoardExtended(direction);
+	}
+
+	/**
+	 * Notifies the listeners that this board has been extended.
+	 *
+	 * @param direction The direction the board was extended in.
+	 */
+	void fireBoardExtended(Direction direction) {
+		version.incrementAndGet();
+		for (BoardListener listener : listeners) {
+			listener.boardExtended(direction);
+		}
 	}
 
 	/**
@@ -195,11 +307,13 @@ public class Board {
 	 * @param grid La grille de square
 	 */
 	public void setPositions(Square[][] grid) {
-		for (int i = 0; i < grid.length; i++) {
-			for (int j = 0; j < grid[0].length; j++) {
-				grid[i][j].setCoord(i, j);
+		GridBands.forEach(grid.length, grid[0].length, (fromX, toX) -> {
+			for (int i = fromX; i < toX; i++) {
+				for (int j = 0; j < grid[0].length; j++) {
+					grid[i][j].setCoord(i, j);
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -274,16 +388,16 @@ public class Board {
 	public Square getMiddleOfTheMap() {
 		Square result = null;
 		if (((getHeight() / 2) % 2 != 0) && ((getWidth() / 2) % 2 != 0)) {
-			result = board[getWidth()/2][getHeight()/2];
+			result = squareAt(getWidth()/2, getHeight()/2);
 		}
 		if (((getHeight() / 2) % 2 == 0) && ((getWidth() / 2) % 2 != 0)) {
-			result = board[getWidth()/2][getHeight()/2 - 1];
+			result = squareAt(getWidth()/2, getHeight()/2 - 1);
 		}
 		if (((getHeight() / 2) % 2 != 0) && ((getWidth() / 2) % 2 == 0)) {
-			result = board[getWidth()/2 - 1][getHeight()/2];
+			result = squareAt(getWidth()/2 - 1, getHeight()/2);
 		}
 		if (((getHeight() / 2) % 2 == 0) && ((getWidth() / 2) % 2 == 0)) {
-			result = board[getWidth()/2 - 1][getHeight()/2 - 1];
+			result = squareAt(getWidth()/2 - 1, getHeight()/2 - 1);
 		}
 		assert result != null : "Follows from invariant.";
 		return result;
@@ -16,6 +16,34 @@ public class BoardFactory {
 	 */
 	private final PacManSprites sprites;
 
+	/**
+	 * How the boards created keep their squares.
+	 */
+	private final Storage storage;
+
+	/**
+	 * How a board keeps its squares.
+	 */
+	public enum Storage {
+
+		/**
+		 * A grid of linked squares.
+		 */
+		GRID,
+
+		/**
+		 * A {@link CompactBoard}, which needs much less memory for large
+		 * boards.
+		 */
+		COMPACT,
+
+		/**
+		 * A {@link CompactBoard} with the terrain off the heap, for boards of
+		 * tens of millions of squares.
+		 */
+		OFF_HEAP
+	}
+
 	/**
 	 * Creates a new BoardFactory that will create a board with the provided
 	 * background sprites.
@@ -24,11 +52,28 @@ public class BoardFactory {
 	 *            The sprite store providing the sprites for the background.
 	 */
 	public BoardFactory(PacManSprites spriteStore) {
+		this(spriteStore, Storage.GRID);
+	}
+
+	/**
+	 * Creates a new BoardFactory that will create a board with the provided
+	 * background sprites.
+	 * 
+	 * @param spriteStore
+	 *            The sprite store providing the sprites for the background.
+	 * @param storage
+	 *            How the boards created keep their squares.
+	 */
+	public BoardFactory(PacManSprites spriteStore, Storage storage) {
 		this.sprites = spriteStore;
+		this.storage = storage;
 	}
 
 	/**
-	 * Creates a new board from a grid of cells and connects it.
+	 * Creates a new board from a grid of cells and connects it. Large grids
+	 * are connected in parallel bands of columns. A compact board takes over
+	 * the occupants of the cells instead, and the cells only keep their
+	 * positions on it.
 	 * 
 	 * @param grid
 	 *            The square grid of cells, in which grid[x][y] corresponds to
@@ -37,20 +82,26 @@ public class BoardFactory {
 	 */
 	public Board createBoard(Square[][] grid) {
 		assert grid != null;
+		if (storage != Storage.GRID) {
+			return new CompactBoard(grid, storage == Storage.OFF_HEAP);
+		}
 		Board board = new Board(grid);
 		int width = board.getWidth();
 		int height = board.getHeight();
-		for (int x = 0; x < width; x++) {
-			for (int y = 0; y < height; y++) {
-				Square square = grid[x][y];
-				for (Direction dir : Direction.values()) {
-					int dirX = (width + x + dir.getDeltaX()) % width;
-					int dirY = (height + y + dir.getDeltaY()) % height;
-					Square neighbour = grid[dirX][dirY];
-					square.link(neighbour, dir);
+		// every square only writes its own links, so bands need no locking.
+		GridBands.forEach(width, height, (fromX, toX) -> {
+			for (int x = fromX; x < toX; x++) {
+				for (int y = 0; y < height; y++) {
+					Square square = grid[x][y];
+					for (Direction dir : Direction.values()) {
+						int dirX = (width + x + dir.getDeltaX()) % width;
+						int dirY = (height + y + dir.getDeltaY()) % height;
+						Square neighbour = grid[dirX][dirY];
+						square.link(neighbour, dir);
+					}
 				}
 			}
-		}
+		});
 		return board;
 	}
 
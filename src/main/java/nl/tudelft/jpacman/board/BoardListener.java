@@ -0,0 +1,24 @@
+package nl.tudelft.jpacman.board;
+
+/**
+ * An observer that will be notified when the contents or the size of a
+ * board change.
+ */
+public interface BoardListener {
+
+	/**
+	 * The occupants of a square have changed, e.g. because a unit entered or
+	 * left it.
+	 *
+	 * @param square The square that has changed.
+	 */
+	void squareChanged(Square square);
+
+	/**
+	 * The board has been extended. The positions of all squares may have
+	 * changed.
+	 *
+	 * @param direction The direction the board has been extended in.
+	 */
+	void boardExtended(Direction direction);
+}
@@ -0,0 +1,676 @@
+package nl.tudelft.jpacman.board;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntUnaryOperator;
+
+import com.google.common.collect.ImmutableList;
+
+import nl.tudelft.jpacman.sprite.Sprite;
+
+/**
+ * A board that keeps one byte of terrain and one occupant reference per
+ * square instead of a {@link Square} object per square. Boards of tens of
+ * millions of squares can keep the terrain off the heap instead, with only the
+ * occupied squares on it. The kinds of terrain
+ * are represented by the first square of each kind found, to which the
+ * squares of that kind delegate. Squares are created when asked for, compare
+ * equal when they are at the same position of the same board and find their
+ * neighbours by wrapping around the edges of the board, like a
+ * {@link BoardFactory} links them.
+ */
+public class CompactBoard extends Board {
+
+	/**
+	 * The largest amount of kinds of terrain.
+	 */
+	private static final int MAX_KINDS = 256;
+
+	/**
+	 * The first square found of each kind of terrain, indexed by its code.
+	 */
+	private volatile Square[] kinds = new Square[0];
+
+	/**
+	 * The terrain and occupants. Replaced when the board is extended.
+	 */
+	private volatile Terrain terrain;
+
+	/**
+	 * <code>true</code> iff the terrain is kept off the heap and only the
+	 * occupied squares on it.
+	 */
+	private final boolean offHeap;
+
+	/**
+	 * Creates a compact board from a grid of squares, with the terrain and
+	 * the occupants on the heap.
+	 *
+	 * @param grid
+	 *            The grid of squares with grid[x][y] being the square at
+	 *            column x, row y.
+	 */
+	CompactBoard(Square[][] grid) {
+		this(grid, false);
+	}
+
+	/**
+	 * Creates a compact board from a grid of squares. The occupants of the
+	 * squares are moved onto the board and the squares get their positions,
+	 * so that they can be looked up on this board.
+	 *
+	 * @param grid
+	 *            The grid of squares with grid[x][y] being the square at
+	 *            column x, row y.
+	 * @param offHeap
+	 *            <code>true</code> to keep the terrain in a direct buffer
+	 *            and the occupants in a map of the occupied squares only.
+	 */
+	CompactBoard(Square[][] grid, boolean offHeap) {
+		super(grid.length, grid[0].length);
+		this.offHeap = offHeap;
+		int width = grid.length;
+		int height = grid[0].length;
+		Terrain t = new Terrain(width, height, 0, 0, offHeap);
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				grid[x][y].setCoord(x, y);
+				t.kinds.set(t.index(x, y), kindOf(grid[x][y]));
+			}
+		}
+		this.terrain = t;
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				moveOccupants(grid[x][y], x, y);
+			}
+		}
+	}
+
+	@Override
+	public boolean invariant() {
+		return true;
+	}
+
+	@Override
+	public int getWidth() {
+		return terrain.width;
+	}
+
+	@Override
+	public int getHeight() {
+		return terrain.height;
+	}
+
+	@Override
+	public Square squareAt(int x, int y) {
+		assert withinBorders(x, y);
+		return cellAt(terrain, x, y);
+	}
+
+	@Override
+	public boolean isAccessibleAt(int x, int y, Unit unit) {
+		assert withinBorders(x, y);
+		Terrain t = terrain;
+		return kinds[t.kinds.get(t.index(x, y)) & 0xFF].isAccessibleTo(unit);
+	}
+
+	@Override
+	public List<Unit> occupantsAt(int x, int y) {
+		assert withinBorders(x, y);
+		Terrain t = terrain;
+		return asList(t.occupants.get(t.index(x, y)));
+	}
+
+	/**
+	 * @param occupants
+	 *            Nothing, a unit or an array of units.
+	 * @return The units as an immutable list.
+	 */
+	private static List<Unit> asList(Object occupants) {
+		if (occupants == null) {
+			return ImmutableList.of();
+		}
+		if (occupants instanceof Unit) {
+			return ImmutableList.of((Unit) occupants);
+		}
+		return ImmutableList.copyOf((Unit[]) occupants);
+	}
+
+	/**
+	 * @param t
+	 *            The terrain the position is on.
+	 * @param x
+	 *            The x position.
+	 * @param y
+	 *            The y position.
+	 * @return The square at the position.
+	 */
+	private Cell cellAt(Terrain t, int x, int y) {
+		return new Cell(this, x - t.originX, y - t.originY);
+	}
+
+	/**
+	 * Returns a grid of all squares of this board, which defeats the purpose
+	 * of this board and is only meant for small boards.
+	 *
+	 * @return A new grid of the squares of this board.
+	 */
+	@Override
+	public Square[][] getBoard() {
+		Square[][] grid = new Square[getWidth()][getHeight()];
+		for (int x = 0; x < grid.length; x++) {
+			for (int y = 0; y < grid[x].length; y++) {
+				grid[x][y] = squareAt(x, y);
+			}
+		}
+		return grid;
+	}
+
+	/**
+	 * Not supported, the squares of this board are not kept in a grid.
+	 *
+	 * @param board Ignored.
+	 */
+	@Override
+	public void setBoard(Square[][] board) {
+		throw new UnsupportedOperationException("A compact board has no grid of squares.");
+	}
+
+	@Override
+	public void extend(Direction direction) {
+		Terrain old = terrain;
+		boolean horizontal = direction.getDeltaX() != 0;
+		int width = old.width;
+		int height = old.height;
+		int startX = direction == Direction.EAST ? width : 0;
+		int startY = direction == Direction.SOUTH ? height : 0;
+		int offsetX = direction == Direction.WEST ? width : 0;
+		int offsetY = direction == Direction.NORTH ? height : 0;
+
+		int tilesX = width / getWidthOfOneMap();
+		int tilesY = height / getHeightOfOneMap();
+		Board[] tiles = new Board[tilesX * tilesY];
+		for (int i = 0; i < tiles.length; i++) {
+			tiles[i] = nextTile();
+		}
+
+		synchronized (this) {
+			Terrain grown = new Terrain(horizontal ? 2 * width : width,
+					horizontal ? height : 2 * height, old.originX + offsetX, old.originY + offsetY,
+					offHeap);
+			for (int x = 0; x < width; x++) {
+				old.kinds.copy(old.index(x, 0), grown.kinds, grown.index(x + offsetX, offsetY), height);
+			}
+			old.occupants.copyTo(grown.occupants,
+					i -> grown.index(i / height + offsetX, i % height + offsetY));
+			forEachTileSquare(tiles, tilesX, startX, startY, (x, y, square) ->
+					grown.kinds.set(grown.index(x, y), kindOf(square)));
+			terrain = grown;
+		}
+		forEachTileSquare(tiles, tilesX, startX, startY, (x, y, square) ->
+				moveOccupants(square, x, y));
+		fireBoardExtended(direction);
+	}
+
+	/**
+	 * @return The board of a new map to extend this board with.
+	 */
+	Board nextTile() {
+		return setOptions().getBoard();
+	}
+
+	/**
+	 * Visits the squares of the tiles added by an extension.
+	 *
+	 * @param tiles
+	 *            The tiles, column by column.
+	 * @param tilesX
+	 *            The amount of tiles per row.
+	 * @param startX
+	 *            The x position of the first tile on this board.
+	 * @param startY
+	 *            The y position of the first tile on this board.
+	 * @param visitor
+	 *            The visitor of the squares.
+	 */
+	private void forEachTileSquare(Board[] tiles, int tilesX, int startX, int startY,
+			TileVisitor visitor) {
+		int mapWidth = getWidthOfOneMap();
+		int mapHeight = getHeightOfOneMap();
+		for (int i = 0; i < tiles.length; i++) {
+			int tileX = startX + (i % tilesX) * mapWidth;
+			int tileY = startY + (i / tilesX) * mapHeight;
+			for (int x = 0; x < mapWidth; x++) {
+				for (int y = 0; y < mapHeight; y++) {
+					visitor.visit(tileX + x, tileY + y, tiles[i].squareAt(x, y));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Visits one square of a tile.
+	 */
+	@FunctionalInterface
+	private interface TileVisitor {
+
+		/**
+		 * @param x
+		 *            The x position of the square on this board.
+		 * @param y
+		 *            The y position of the square on this board.
+		 * @param square
+		 *            The square of the tile.
+		 */
+		void visit(int x, int y, Square square);
+	}
+
+	/**
+	 * Moves all occupants of a square to the square at a position of this
+	 * board.
+	 *
+	 * @param square
+	 *            The square to empty.
+	 * @param x
+	 *            The x position on this board.
+	 * @param y
+	 *            The y position on this board.
+	 */
+	private void moveOccupants(Square square, int x, int y) {
+		List<Unit> units = square.getOccupants();
+		if (!units.isEmpty()) {
+			Square target = squareAt(x, y);
+			for (Unit unit : units) {
+				unit.occupy(target);
+			}
+		}
+	}
+
+	/**
+	 * Returns the code of the kind of terrain of a square, adding the square
+	 * as a new kind if there is no square of the same class with the same
+	 * sprite yet.
+	 *
+	 * @param square
+	 *            The square, of any board.
+	 * @return The code of its kind of terrain.
+	 */
+	private synchronized byte kindOf(Square square) {
+		Square kind = square instanceof Cell ? ((Cell) square).kind() : square;
+		Square[] known = kinds;
+		for (int i = 0; i < known.length; i++) {
+			if (known[i].getClass() == kind.getClass() && known[i].getSprite() == kind.getSprite()) {
+				return (byte) i;
+			}
+		}
+		if (known.length == MAX_KINDS) {
+			throw new IllegalStateException("Too many kinds of terrain for a compact board.");
+		}
+		Square[] added = Arrays.copyOf(known, known.length + 1);
+		added[known.length] = kind;
+		kinds = added;
+		return (byte) known.length;
+	}
+
+	/**
+	 * Adds a unit to the occupants of a square.
+	 *
+	 * @param cell
+	 *            The square.
+	 * @param unit
+	 *            The unit.
+	 * @return <code>true</code> iff the unit was not an occupant yet.
+	 */
+	private synchronized boolean put(Cell cell, Unit unit) {
+		Terrain t = terrain;
+		int index = t.index(cell);
+		Object current = t.occupants.get(index);
+		if (current == null) {
+			t.occupants.set(index, unit);
+			return true;
+		}
+		if (current instanceof Unit) {
+			if (current == unit) {
+				return false;
+			}
+			t.occupants.set(index, new Unit[] {(Unit) current, unit});
+			return true;
+		}
+		Unit[] units = (Unit[]) current;
+		for (Unit u : units) {
+			if (u == unit) {
+				return false;
+			}
+		}
+		Unit[] added = Arrays.copyOf(units, units.length + 1);
+		added[units.length] = unit;
+		t.occupants.set(index, added);
+		return true;
+	}
+
+	/**
+	 * Removes a unit from the occupants of a square.
+	 *
+	 * @param cell
+	 *            The square.
+	 * @param unit
+	 *            The unit.
+	 */
+	private synchronized void remove(Cell cell, Unit unit) {
+		Terrain t = terrain;
+		int index = t.index(cell);
+		Object current = t.occupants.get(index);
+		if (current == unit) {
+			t.occupants.set(index, null);
+		} else if (current instanceof Unit[]) {
+			Unit[] units = (Unit[]) current;
+			for (int i = 0; i < units.length; i++) {
+				if (units[i] == unit) {
+					t.occupants.set(index, units.length == 2 ? units[1 - i] : without(units, i));
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param units
+	 *            Some units.
+	 * @param i
+	 *            The index of the unit to leave out.
+	 * @return A copy of the units without the one at the index.
+	 */
+	private static Unit[] without(Unit[] units, int i) {
+		Unit[] result = new Unit[units.length - 1];
+		System.arraycopy(units, 0, result, 0, i);
+		System.arraycopy(units, i + 1, result, i, result.length - i);
+		return result;
+	}
+
+	/**
+	 * The terrain and occupants of all squares, column by column, and the
+	 * position of the first square created on the board. Squares keep the
+	 * position relative to that square, so that they stay valid when the
+	 * board is extended to the west or north.
+	 */
+	private static final class Terrain {
+
+		/**
+		 * The amount of columns.
+		 */
+		private final int width;
+
+		/**
+		 * The amount of rows.
+		 */
+		private final int height;
+
+		/**
+		 * The x position of the first square created.
+		 */
+		private final int originX;
+
+		/**
+		 * The y position of the first square created.
+		 */
+		private final int originY;
+
+		/**
+		 * The code of the kind of terrain of each square.
+		 */
+		private final TerrainStore kinds;
+
+		/**
+		 * Nothing, a unit or an array of units for each square.
+		 */
+		private final Slots occupants;
+
+		private Terrain(int width, int height, int originX, int originY, boolean offHeap) {
+			this.width = width;
+			this.height = height;
+			this.originX = originX;
+			this.originY = originY;
+			if (offHeap) {
+				this.kinds = TerrainStore.offHeap(width * height);
+				this.occupants = new SparseSlots();
+			} else {
+				this.kinds = TerrainStore.onHeap(width * height);
+				this.occupants = new DenseSlots(width * height);
+			}
+		}
+
+		private int index(int x, int y) {
+			return x * height + y;
+		}
+
+		private int index(Cell cell) {
+			return index(cell.relativeX() + originX, cell.relativeY() + originY);
+		}
+	}
+
+	/**
+	 * The occupants of the squares by index: nothing, a unit or an array of
+	 * units.
+	 */
+	private abstract static class Slots {
+
+		/**
+		 * @param index
+		 *            The index of a square.
+		 * @return The occupants of the square.
+		 */
+		abstract Object get(int index);
+
+		/**
+		 * @param index
+		 *            The index of a square.
+		 * @param occupants
+		 *            The new occupants of the square.
+		 */
+		abstract void set(int index, Object occupants);
+
+		/**
+		 * Copies the occupants of all squares into other slots.
+		 *
+		 * @param target
+		 *            The slots to copy to.
+		 * @param indices
+		 *            The index in the target of each index.
+		 */
+		abstract void copyTo(Slots target, IntUnaryOperator indices);
+	}
+
+	/**
+	 * A slot for every square.
+	 */
+	private static final class DenseSlots extends Slots {
+
+		/**
+		 * The occupants by index.
+		 */
+		private final AtomicReferenceArray<Object> slots;
+
+		private DenseSlots(int size) {
+			this.slots = new AtomicReferenceArray<>(size);
+		}
+
+		@Override
+		Object get(int index) {
+			return slots.get(index);
+		}
+
+		@Override
+		void set(int index, Object occupants) {
+			slots.set(index, occupants);
+		}
+
+		@Override
+		void copyTo(Slots target, IntUnaryOperator indices) {
+			for (int i = 0; i < slots.length(); i++) {
+				Object occupants = slots.get(i);
+				if (occupants != null) {
+					target.set(indices.applyAsInt(i), occupants);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Slots for the occupied squares only.
+	 */
+	private static final class SparseSlots extends Slots {
+
+		/**
+		 * The occupants by index.
+		 */
+		private final Map<Integer, Object> slots = new ConcurrentHashMap<>();
+
+		@Override
+		Object get(int index) {
+			return slots.get(index);
+		}
+
+		@Override
+		void set(int index, Object occupants) {
+			if (occupants == null) {
+				slots.remove(index);
+			} else {
+				slots.put(index, occupants);
+			}
+		}
+
+		@Override
+		void copyTo(Slots target, IntUnaryOperator indices) {
+			for (Map.Entry<Integer, Object> entry : slots.entrySet()) {
+				target.set(indices.applyAsInt(entry.getKey()), entry.getValue());
+			}
+		}
+	}
+
+	/**
+	 * A square of a compact board, created when asked for.
+	 */
+	private static final class Cell extends Square {
+
+		/**
+		 * The board of this square.
+		 */
+		private final CompactBoard board;
+
+		/**
+		 * Creates a square.
+		 *
+		 * @param board
+		 *            The board of the square.
+		 * @param x
+		 *            The x position relative to the first square created.
+		 * @param y
+		 *            The y position relative to the first square created.
+		 */
+		private Cell(CompactBoard board, int x, int y) {
+			super(x, y);
+			this.board = board;
+		}
+
+		@Override
+		public int getCoordX() {
+			return super.getCoordX() + board.terrain.originX;
+		}
+
+		@Override
+		public int getCoordY() {
+			return super.getCoordY() + board.terrain.originY;
+		}
+
+		@Override
+		public void setCoord(int x, int y) {
+			throw new UnsupportedOperationException("Squares of a compact board cannot move.");
+		}
+
+		/**
+		 * @return The square this square takes its kind of terrain from.
+		 */
+		private Square kind() {
+			Terrain t = board.terrain;
+			return board.kinds[t.kinds.get(t.index(this)) & 0xFF];
+		}
+
+		@Override
+		public Square getSquareAt(Direction direction) {
+			Terrain t = board.terrain;
+			int x = (t.width + relativeX() + t.originX + direction.getDeltaX()) % t.width;
+			int y = (t.height + relativeY() + t.originY + direction.getDeltaY()) % t.height;
+			return board.cellAt(t, x, y);
+		}
+
+		@Override
+		public void link(Square neighbour, Direction direction) {
+			throw new UnsupportedOperationException(
+					"Squares of a compact board find their neighbours themselves.");
+		}
+
+		@Override
+		public List<Unit> getOccupants() {
+			Terrain t = board.terrain;
+			return asList(t.occupants.get(t.index(this)));
+		}
+
+		@Override
+		public boolean put(Unit occupant) {
+			assert occupant != null;
+			return board.put(this, occupant);
+		}
+
+		@Override
+		public void remove(Unit occupant) {
+			assert occupant != null;
+			board.remove(this, occupant);
+		}
+
+		@Override
+		protected boolean invariant() {
+			for (Unit occupant : getOccupants()) {
+				if (!this.equals(occupant.getSquare())) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public boolean isAccessibleTo(Unit unit) {
+			return kind().isAccessibleTo(unit);
+		}
+
+		@Override
+		public Sprite getSprite() {
+			return kind().getSprite();
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Cell)) {
+				return false;
+			}
+			Cell cell = (Cell) other;
+			return cell.board == board && cell.relativeX() == relativeX()
+					&& cell.relativeY() == relativeY();
+		}
+
+		@Override
+		public int hashCode() {
+			return relativeX() * 31 + relativeY();
+		}
+
+		private int relativeX() {
+			return super.getCoordX();
+		}
+
+		private int relativeY() {
+			return super.getCoordY();
+		}
+	}
+}
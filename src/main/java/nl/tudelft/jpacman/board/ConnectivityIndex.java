@@ -0,0 +1,476 @@
+package nl.tudelft.jpacman.board;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Divides the squares a unit can occupy into the groups of squares that can
+ * reach each other, so that a random square reachable from a given square can
+ * be picked without searching paths. The squares of each map the board is
+ * made of are kept grouped by their component, so that picking a square near
+ * a given square only looks at the few maps around it.
+ * <p>
+ * Like {@link nl.tudelft.jpacman.npc.ghost.Navigation}, squares are connected
+ * to their neighbours only, wrapping around the edges of the board. The index
+ * is rebuilt on the first pick after the board is extended; since the board
+ * doubles each time, this costs a constant amount of work per added square.
+ */
+public class ConnectivityIndex implements BoardListener {
+
+	/**
+	 * The label of squares the unit cannot occupy.
+	 */
+	private static final int BLOCKED = -1;
+
+	/**
+	 * The amount of random picks tried before looking through all candidates.
+	 */
+	private static final int ATTEMPTS = 32;
+
+	/**
+	 * The board indexed.
+	 */
+	private final Board board;
+
+	/**
+	 * The unit whose access to squares decides which are connected.
+	 */
+	private final Unit traveller;
+
+	/**
+	 * <code>true</code> iff the board changed since the index was built.
+	 */
+	private volatile boolean stale = true;
+
+	/**
+	 * The amount of columns when the index was built.
+	 */
+	private int width;
+
+	/**
+	 * The amount of rows when the index was built.
+	 */
+	private int height;
+
+	/**
+	 * The component of each square, column by column, or {@link #BLOCKED}.
+	 */
+	private int[] labels;
+
+	/**
+	 * The squares of each map, by map column and row.
+	 */
+	private Chunk[][] chunks;
+
+	/**
+	 * Creates an index that is kept up to date with the board.
+	 *
+	 * @param board
+	 *            The board to index.
+	 * @param traveller
+	 *            The unit whose access to squares decides which are
+	 *            connected.
+	 */
+	public ConnectivityIndex(Board board, Unit traveller) {
+		assert board != null;
+		assert traveller != null;
+		this.board = board;
+		this.traveller = traveller;
+		board.addListener(this);
+	}
+
+	@Override
+	public void squareChanged(Square square) {
+		// occupants do not change whether a square can be occupied.
+	}
+
+	@Override
+	public void boardExtended(Direction direction) {
+		stale = true;
+	}
+
+	/**
+	 * Determines whether two squares can reach each other.
+	 *
+	 * @param from
+	 *            The first square.
+	 * @param to
+	 *            The second square.
+	 * @return <code>true</code> iff both squares can be occupied and a path
+	 *         between them exists.
+	 */
+	public synchronized boolean connected(Square from, Square to) {
+		refresh();
+		int label = labelOf(from);
+		return label != BLOCKED && label == labelOf(to);
+	}
+
+	/**
+	 * Picks a random square that can be reached from the origin, at least a
+	 * given distance away from it and within the map-sized window centred on
+	 * it, which wraps around the edges of the board. All squares meeting these
+	 * conditions are equally likely.
+	 *
+	 * @param origin
+	 *            The square to reach the picked square from.
+	 * @param minDistance
+	 *            The least amount of columns or rows between the origin and
+	 *            the picked square.
+	 * @param random
+	 *            The source of randomness.
+	 * @return A square meeting the conditions, or <code>null</code> if there
+	 *         is none.
+	 */
+	public synchronized Square sample(Square origin, int minDistance, Random random) {
+		refresh();
+		int label = labelOf(origin);
+		if (label == BLOCKED) {
+			return null;
+		}
+		Window window = new Window(origin, minDistance);
+		Chunk[] near = window.chunks();
+		int total = 0;
+		for (Chunk chunk : near) {
+			total += chunk.count(label);
+		}
+		for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+			int index = member(near, label, random.nextInt(total));
+			if (window.contains(index)) {
+				return board.squareAt(index / height, index % height);
+			}
+		}
+		return scan(near, window, label, random);
+	}
+
+	/**
+	 * @param near
+	 *            Some maps.
+	 * @param label
+	 *            A component present in the maps.
+	 * @param pick
+	 *            The number of a square of the component in the maps.
+	 * @return The index of the square on the board.
+	 */
+	private static int member(Chunk[] near, int label, int pick) {
+		int rest = pick;
+		for (Chunk chunk : near) {
+			int count = chunk.count(label);
+			if (rest < count) {
+				return chunk.member(label, rest);
+			}
+			rest -= count;
+		}
+		throw new IllegalArgumentException("No square " + pick + " in component " + label);
+	}
+
+	/**
+	 * Picks a square uniformly by looking at all candidates, for when random
+	 * picks keep missing the window.
+	 *
+	 * @param near
+	 *            The maps overlapping the window.
+	 * @param window
+	 *            The squares that can be picked.
+	 * @param label
+	 *            The component to pick from.
+	 * @param random
+	 *            The source of randomness.
+	 * @return The square picked, or <code>null</code> if there is none.
+	 */
+	private Square scan(Chunk[] near, Window window, int label, Random random) {
+		int found = 0;
+		int chosen = -1;
+		for (Chunk chunk : near) {
+			for (int i = 0; i < chunk.count(label); i++) {
+				int index = chunk.member(label, i);
+				if (window.contains(index)) {
+					found++;
+					if (random.nextInt(found) == 0) {
+						chosen = index;
+					}
+				}
+			}
+		}
+		if (chosen < 0) {
+			return null;
+		}
+		return board.squareAt(chosen / height, chosen % height);
+	}
+
+	/**
+	 * @param square
+	 *            A square of the board.
+	 * @return Its component.
+	 */
+	private int labelOf(Square square) {
+		int x = square.getCoordX();
+		int y = square.getCoordY();
+		if (x < 0 || x >= width || y < 0 || y >= height) {
+			return BLOCKED;
+		}
+		return labels[x * height + y];
+	}
+
+	/**
+	 * Rebuilds the index if the board changed.
+	 */
+	private void refresh() {
+		if (!stale) {
+			return;
+		}
+		stale = false;
+		width = board.getWidth();
+		height = board.getHeight();
+		labels = new int[width * height];
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				labels[x * height + y] = board.isAccessibleAt(x, y, traveller) ? 0 : BLOCKED;
+			}
+		}
+		label();
+
+		int mapWidth = board.getWidthOfOneMap();
+		int mapHeight = board.getHeightOfOneMap();
+		chunks = new Chunk[(width + mapWidth - 1) / mapWidth][(height + mapHeight - 1) / mapHeight];
+		for (int cx = 0; cx < chunks.length; cx++) {
+			for (int cy = 0; cy < chunks[cx].length; cy++) {
+				chunks[cx][cy] = new Chunk(cx * mapWidth, cy * mapHeight,
+						Math.min(width, (cx + 1) * mapWidth), Math.min(height, (cy + 1) * mapHeight));
+			}
+		}
+	}
+
+	/**
+	 * Gives every accessible square the number of its component, by a
+	 * breadth first search from each square not labelled yet.
+	 */
+	private void label() {
+		int[] queue = new int[labels.length];
+		int next = 1;
+		for (int start = 0; start < labels.length; start++) {
+			if (labels[start] != 0) {
+				continue;
+			}
+			int head = 0;
+			int tail = 0;
+			queue[tail++] = start;
+			labels[start] = next;
+			while (head < tail) {
+				int index = queue[head++];
+				int x = index / height;
+				int y = index % height;
+				for (Direction d : Direction.values()) {
+					int nx = (width + x + d.getDeltaX()) % width;
+					int ny = (height + y + d.getDeltaY()) % height;
+					int neighbour = nx * height + ny;
+					if (labels[neighbour] == 0) {
+						labels[neighbour] = next;
+						queue[tail++] = neighbour;
+					}
+				}
+			}
+			next++;
+		}
+	}
+
+	/**
+	 * The accessible squares of one map, grouped by component.
+	 */
+	private final class Chunk {
+
+		/**
+		 * The indices of the squares, grouped by component.
+		 */
+		private final int[] members;
+
+		/**
+		 * The components present, in the order of their groups.
+		 */
+		private final int[] components;
+
+		/**
+		 * The start of the group of each present component.
+		 */
+		private final int[] starts;
+
+		/**
+		 * Groups the squares of a map.
+		 *
+		 * @param x0
+		 *            The first column, inclusive.
+		 * @param y0
+		 *            The first row, inclusive.
+		 * @param x1
+		 *            The last column, exclusive.
+		 * @param y1
+		 *            The last row, exclusive.
+		 */
+		private Chunk(int x0, int y0, int x1, int y1) {
+			int size = 0;
+			int[] present = new int[0];
+			for (int x = x0; x < x1; x++) {
+				for (int y = y0; y < y1; y++) {
+					int label = labels[x * height + y];
+					if (label != BLOCKED) {
+						size++;
+						if (Arrays.binarySearch(present, label) < 0) {
+							present = Arrays.copyOf(present, present.length + 1);
+							present[present.length - 1] = label;
+							Arrays.sort(present);
+						}
+					}
+				}
+			}
+			this.components = present;
+			this.starts = new int[present.length + 1];
+			int[] counts = new int[present.length];
+			for (int x = x0; x < x1; x++) {
+				for (int y = y0; y < y1; y++) {
+					int label = labels[x * height + y];
+					if (label != BLOCKED) {
+						counts[Arrays.binarySearch(present, label)]++;
+					}
+				}
+			}
+			for (int i = 0; i < present.length; i++) {
+				starts[i + 1] = starts[i] + counts[i];
+			}
+			this.members = new int[size];
+			int[] fill = Arrays.copyOf(starts, present.length);
+			for (int x = x0; x < x1; x++) {
+				for (int y = y0; y < y1; y++) {
+					int label = labels[x * height + y];
+					if (label != BLOCKED) {
+						members[fill[Arrays.binarySearch(present, label)]++] = x * height + y;
+					}
+				}
+			}
+		}
+
+		/**
+		 * @param label
+		 *            A component.
+		 * @return The amount of squares of the component in this map.
+		 */
+		private int count(int label) {
+			int i = Arrays.binarySearch(components, label);
+			return i < 0 ? 0 : starts[i + 1] - starts[i];
+		}
+
+		/**
+		 * @param label
+		 *            A component present in this map.
+		 * @param i
+		 *            The number of a square of the component in this map.
+		 * @return The index of the square on the board.
+		 */
+		private int member(int label, int i) {
+			return members[starts[Arrays.binarySearch(components, label)] + i];
+		}
+	}
+
+	/**
+	 * The squares around an origin that can be picked, wrapping around the
+	 * edges of the board like the components do.
+	 */
+	private final class Window {
+
+		/**
+		 * The origin's column.
+		 */
+		private final int originX;
+
+		/**
+		 * The origin's row.
+		 */
+		private final int originY;
+
+		/**
+		 * The most columns from the origin.
+		 */
+		private final int halfWidth;
+
+		/**
+		 * The most rows from the origin.
+		 */
+		private final int halfHeight;
+
+		/**
+		 * The least amount of columns or rows from the origin.
+		 */
+		private final int minDistance;
+
+		private Window(Square origin, int minDistance) {
+			this.originX = origin.getCoordX();
+			this.originY = origin.getCoordY();
+			this.minDistance = minDistance;
+			this.halfWidth = (board.getWidthOfOneMap() - 1) / 2;
+			this.halfHeight = (board.getHeightOfOneMap() - 1) / 2;
+		}
+
+		/**
+		 * @return The maps overlapping this window, each once.
+		 */
+		private Chunk[] chunks() {
+			boolean[] columns = overlapped(originX, halfWidth, width, board.getWidthOfOneMap());
+			boolean[] rows = overlapped(originY, halfHeight, height, board.getHeightOfOneMap());
+			List<Chunk> result = new ArrayList<>();
+			for (int cx = 0; cx < columns.length; cx++) {
+				for (int cy = 0; cy < rows.length; cy++) {
+					if (columns[cx] && rows[cy]) {
+						result.add(ConnectivityIndex.this.chunks[cx][cy]);
+					}
+				}
+			}
+			return result.toArray(new Chunk[result.size()]);
+		}
+
+		/**
+		 * @param origin
+		 *            The origin's column or row.
+		 * @param half
+		 *            The most columns or rows from the origin.
+		 * @param size
+		 *            The amount of columns or rows of the board.
+		 * @param mapSize
+		 *            The amount of columns or rows of a map.
+		 * @return For each column or row of maps, whether the window
+		 *         overlaps it.
+		 */
+		private boolean[] overlapped(int origin, int half, int size, int mapSize) {
+			boolean[] result = new boolean[(size + mapSize - 1) / mapSize];
+			for (int d = -Math.min(half, size); d <= Math.min(half, size); d++) {
+				result[Math.floorMod(origin + d, size) / mapSize] = true;
+			}
+			return result;
+		}
+
+		/**
+		 * @param index
+		 *            The index of a square on the board.
+		 * @return <code>true</code> iff the square can be picked.
+		 */
+		private boolean contains(int index) {
+			int dx = offset(originX, index / height, width);
+			int dy = offset(originY, index % height, height);
+			return dx <= halfWidth && dy <= halfHeight && Math.max(dx, dy) >= minDistance;
+		}
+
+		/**
+		 * @param from
+		 *            A column or row.
+		 * @param to
+		 *            Another column or row.
+		 * @param size
+		 *            The amount of columns or rows of the board.
+		 * @return The least amount of columns or rows between the two, going
+		 *         either way around the board.
+		 */
+		private int offset(int from, int to, int size) {
+			int d = Math.floorMod(to - from, size);
+			return Math.min(d, size - d);
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package nl.tudelft.jpacman.board;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits the work on a grid of squares into bands of adjacent columns that
+ * are handled in parallel on a fork-join pool. Columns are used rather than
+ * rows because grids are stored with grid[x] holding one column, so every
+ * band writes its own arrays.
+ * <p>
+ * Small grids are handled on the calling thread. When called from a task of a
+ * fork-join pool the bands run in that pool, otherwise in the common pool.
+ */
+public final class GridBands {
+
+	/**
+	 * The amount of squares below which a grid is not worth splitting.
+	 */
+	static final int PARALLEL_THRESHOLD = 1 << 16;
+
+	/**
+	 * The amount of squares a band is split into at most.
+	 */
+	private static final int BAND_SIZE = 1 << 14;
+
+	private GridBands() {
+	}
+
+	/**
+	 * The work done on one band of columns.
+	 */
+	@FunctionalInterface
+	public interface Band {
+
+		/**
+		 * Handles the squares of a band of columns.
+		 *
+		 * @param fromX
+		 *            The first column of the band, inclusive.
+		 * @param toX
+		 *            The last column of the band, exclusive.
+		 */
+		void run(int fromX, int toX);
+	}
+
+	/**
+	 * Runs work on all columns of a grid, in parallel bands if the grid is
+	 * large enough. Returns once all bands are done.
+	 *
+	 * @param width
+	 *            The amount of columns of the grid.
+	 * @param height
+	 *            The amount of rows of the grid.
+	 * @param band
+	 *            The work for a band of columns, which must not touch the
+	 *            columns of other bands.
+	 */
+	public static void forEach(int width, int height, Band band) {
+		if ((long) width * height < PARALLEL_THRESHOLD || width < 2) {
+			band.run(0, width);
+			return;
+		}
+		int columns = Math.max(1, BAND_SIZE / Math.max(1, height));
+		BandTask task = new BandTask(band, 0, width, columns);
+		if (ForkJoinTask.inForkJoinPool()) {
+			task.invoke();
+		} else {
+			ForkJoinPool.commonPool().invoke(task);
+		}
+	}
+
+	/**
+	 * Halves a range of columns until it is small enough to handle.
+	 */
+	private static final class BandTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The work for a band.
+		 */
+		private final transient Band band;
+
+		/**
+		 * The first column, inclusive.
+		 */
+		private final int fromX;
+
+		/**
+		 * The last column, exclusive.
+		 */
+		private final int toX;
+
+		/**
+		 * The largest amount of columns handled without splitting.
+		 */
+		private final int columns;
+
+		BandTask(Band band, int fromX, int toX, int columns) {
+			this.band = band;
+			this.fromX = fromX;
+			this.toX = toX;
+			this.columns = columns;
+		}
+
+		@Override
+		protected void compute() {
+			if (toX - fromX <= columns) {
+				band.run(fromX, toX);
+				return;
+			}
+			int middle = (fromX + toX) >>> 1;
+			invokeAll(new BandTask(band, fromX, middle, columns),
+					new BandTask(band, middle, toX, columns));
+		}
+	}
+}
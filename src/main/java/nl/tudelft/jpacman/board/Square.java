@@ -1,6 +1,7 @@
 package nl.tudelft.jpacman.board;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.google.common.collect.ImmutableList;
 
@@ -15,9 +16,11 @@ import nl.tudelft.jpacman.sprite.Sprite;
 public abstract class Square {
 
 	/**
-	 * The units occupying this square, in order of appearance.
+	 * The units occupying this square, in order of appearance. Units in
+	 * different regions of the board move at the same time, so the occupants
+	 * may be read while they change.
 	 */
-	private final List<Unit> occupants;
+	private final CopyOnWriteArrayList<Unit> occupants;
 
 	/**
 	 * The collection of squares adjacent to this square.
@@ -38,10 +41,27 @@ public abstract class Square {
 	 * Creates a new, empty square.
 	 */
 	protected Square() {
-		this.occupants = new ArrayList<>();
+		this.occupants = new CopyOnWriteArrayList<>();
 		this.neighbours = new EnumMap<>(Direction.class);
 	}
 
+	/**
+	 * Creates a square at a fixed position that keeps neither its occupants
+	 * nor its neighbours, for boards that store those themselves. Such
+	 * squares must override every method using them.
+	 *
+	 * @param x
+	 *            The x position of the square.
+	 * @param y
+	 *            The y position of the square.
+	 */
+	Square(int x, int y) {
+		this.occupants = null;
+		this.neighbours = null;
+		this.coordX = x;
+		this.coordY = y;
+	}
+
 	/**
 	 * Returns the square adjacent to this square.
 	 * 
@@ -84,11 +104,7 @@ public abstract class Square {
 	 */
 	public boolean put(Unit occupant) {
 		assert occupant != null;
-		if (!occupants.contains(occupant)) {
-			occupants.add(occupant);
-			return true;
-		}
-		return false;
+		return occupants.addIfAbsent(occupant);
 	}
 
 	/**
@@ -0,0 +1,133 @@
+package nl.tudelft.jpacman.board;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The terrain codes of the squares of a {@link CompactBoard}, kept either in
+ * an array on the heap or in a direct buffer outside of it. Boards of tens of
+ * millions of squares keep their terrain off the heap, so that the garbage
+ * collector does not have to copy it around.
+ */
+abstract class TerrainStore {
+
+	/**
+	 * @param size
+	 *            The amount of squares.
+	 * @return A new store on the heap, with all codes 0.
+	 */
+	static TerrainStore onHeap(int size) {
+		return new Heap(new byte[size]);
+	}
+
+	/**
+	 * @param size
+	 *            The amount of squares.
+	 * @return A new store in a direct buffer, with all codes 0.
+	 */
+	static TerrainStore offHeap(int size) {
+		return new Direct(ByteBuffer.allocateDirect(size));
+	}
+
+	/**
+	 * @param index
+	 *            The index of a square.
+	 * @return The terrain code of the square.
+	 */
+	abstract byte get(int index);
+
+	/**
+	 * @param index
+	 *            The index of a square.
+	 * @param code
+	 *            The new terrain code of the square.
+	 */
+	abstract void set(int index, byte code);
+
+	/**
+	 * Copies a range of codes into another store.
+	 *
+	 * @param from
+	 *            The first index to copy.
+	 * @param target
+	 *            The store to copy to.
+	 * @param to
+	 *            The first index in the target.
+	 * @param length
+	 *            The amount of codes to copy.
+	 */
+	abstract void copy(int from, TerrainStore target, int to, int length);
+
+	/**
+	 * The codes in an array.
+	 */
+	private static final class Heap extends TerrainStore {
+
+		/**
+		 * The codes.
+		 */
+		private final byte[] codes;
+
+		private Heap(byte[] codes) {
+			this.codes = codes;
+		}
+
+		@Override
+		byte get(int index) {
+			return codes[index];
+		}
+
+		@Override
+		void set(int index, byte code) {
+			codes[index] = code;
+		}
+
+		@Override
+		void copy(int from, TerrainStore target, int to, int length) {
+			if (target instanceof Heap) {
+				System.arraycopy(codes, from, ((Heap) target).codes, to, length);
+			} else {
+				ByteBuffer dst = ((Direct) target).codes.duplicate();
+				dst.position(to);
+				dst.put(codes, from, length);
+			}
+		}
+	}
+
+	/**
+	 * The codes in a direct buffer.
+	 */
+	private static final class Direct extends TerrainStore {
+
+		/**
+		 * The codes.
+		 */
+		private final ByteBuffer codes;
+
+		private Direct(ByteBuffer codes) {
+			this.codes = codes;
+		}
+
+		@Override
+		byte get(int index) {
+			return codes.get(index);
+		}
+
+		@Override
+		void set(int index, byte code) {
+			codes.put(index, code);
+		}
+
+		@Override
+		void copy(int from, TerrainStore target, int to, int length) {
+			ByteBuffer src = codes.duplicate();
+			src.position(from).limit(from + length);
+			if (target instanceof Direct) {
+				ByteBuffer dst = ((Direct) target).codes.duplicate();
+				dst.position(to);
+				dst.put(src);
+			} else {
+				src.get(((Heap) target).codes, to, length);
+			}
+		}
+	}
+}
@@ -1,6 +1,5 @@
 package nl.tudelft.jpacman.fruit;
 
-import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 
@@ -40,21 +39,16 @@ public class Pomgranate extends Fruit {
      */
 	@Override
 	public void fruitEffect(Player p) {
-		Set<Ghost> ghosts = level.getGhosts().keySet();
 		Timer timer;
 		TimerTask timerTask;
 		PassThroughWall ptw = new PassThroughWall();
-		for(Ghost ghost: ghosts){
-			if(ghost.getSquare() != null &&
-					Navigation.shortestPath(p.getSquare(),
-							ghost.getSquare(),
-							ptw).size() <= 4 &&
-					!(ghost.hasExploded())){
+		for(Ghost ghost: Navigation.findAllWithin(Ghost.class, p.getSquare(), 4, ptw)){
+			if(!ghost.hasExploded()){
 				ghost.setExplode(true);
 				timerTask = new TimerTask() {
 					public void run() {
-						ghost.leaveSquare();
-						Level.getLevel().respawnParticularGhost(ghost);
+						level.removeUnit(ghost);
+						level.respawnParticularGhost(ghost);
 					}
 				};
 				final int deadGhostAnimationTime = 5 * 200;
@@ -104,6 +104,22 @@ public abstract class Game implements LevelObserver {
 		}
 	}
 
+	/**
+	 * Requests the specified player to turn in the given direction at the
+	 * start of its next move. Unlike {@link #move(Player, Direction)}, this
+	 * returns immediately, so it is safe to call from the user interface.
+	 * 
+	 * @param player
+	 *            The player to turn.
+	 * @param direction
+	 *            The direction to move in.
+	 */
+	public void queueMove(Player player, Direction direction) {
+		if (isInProgress()) {
+			player.queueDirection(direction);
+		}
+	}
+
 	/**
 	 * Respawn the ghost
 	 */
@@ -82,7 +82,7 @@ public class SinglePlayerGame extends Game {
 		if(shootLock){
 			shootLock = false;
 			final Bullet b = new Bullet(new PacManSprites().getBulletSprite(), player);
-			b.occupy(player.getSquare());
+			level.placeUnit(b, player.getSquare());
 			level.animateBullet(b);
 			TimerTask timerTask = new TimerTask() {
 		        public void run() {
@@ -104,7 +104,7 @@ public class SinglePlayerGame extends Game {
 		for(MovableCharacter npc : deadNPCs) {
 			TimerTask timerTask = new TimerTask() {
 			    public void run() {
-			    	npc.leaveSquare();
+			    	level.removeUnit(npc);
 			    	npcs.remove(npc);
 			    }
 			};
@@ -121,9 +121,11 @@ public class SinglePlayerGame extends Game {
      */
 	public void bulletCleanEvent(List<Bullet> deadBullets, Map<Bullet, ScheduledExecutorService> bullets) {
 		for(MovableCharacter bullet : deadBullets) {
-		    bullets.get(bullet).shutdownNow();
-		    bullet.leaveSquare();
-		    bullets.remove(bullet);
+		    ScheduledExecutorService service = bullets.remove(bullet);
+		    if (service != null) {
+		        service.shutdownNow();
+		    }
+		    level.removeUnit(bullet);
 		}
 	}
 }
@@ -0,0 +1,345 @@
+package nl.tudelft.jpacman.level;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+
+/**
+ * The binary representation of a map. All numbers are big-endian.
+ * <ul>
+ * <li>The header: the magic bytes <code>JPMB</code>, the format version (a
+ * short), a reserved short, then the width, the height, the amount of
+ * teleport references and the amount of bridge references (ints).
+ * <li>The grid: row by row, two squares per byte, the first in the high
+ * nibble. Squares are encoded as 0 ' ', 1 '#', 2 '.', 3 'P', 4 'G', 5 'H',
+ * 6 'T', 7 'B' and 8 'o'.
+ * <li>The teleport references: the x and y coordinate (ints) of each.
+ * <li>The bridge references: the orientation and content character (bytes)
+ * of each.
+ * </ul>
+ * The grid is loaded as it is, without decoding, so that loading a map
+ * takes little more than reading the file.
+ */
+final class BinaryMapFormat {
+
+	/**
+	 * The bytes every binary map starts with.
+	 */
+	static final byte[] MAGIC = {'J', 'P', 'M', 'B'};
+
+	/**
+	 * The version of the format written.
+	 */
+	static final short VERSION = 1;
+
+	/**
+	 * The size of the header in bytes.
+	 */
+	private static final int HEADER_SIZE = 24;
+
+	/**
+	 * The most bytes read from a channel before more of the map has arrived,
+	 * so that a header claiming more than there is cannot allocate it all.
+	 */
+	private static final int CHUNK_SIZE = 1 << 16;
+
+	/**
+	 * The characters of the squares, indexed by their code.
+	 */
+	private static final char[] CHARACTERS = {' ', '#', '.', 'P', 'G', 'H', 'T', 'B', 'o'};
+
+	/**
+	 * The character returned for codes that do not represent a square.
+	 */
+	private static final char INVALID = '?';
+
+	/**
+	 * The codes of the squares, indexed by their character.
+	 */
+	private static final byte[] CODES = new byte[128];
+
+	static {
+		Arrays.fill(CODES, (byte) -1);
+		for (int i = 0; i < CHARACTERS.length; i++) {
+			CODES[CHARACTERS[i]] = (byte) i;
+		}
+	}
+
+	private BinaryMapFormat() {
+	}
+
+	/**
+	 * @param code
+	 *            The code of a square.
+	 * @return The character of the square in the text format.
+	 */
+	static char decode(int code) {
+		if (code < CHARACTERS.length) {
+			return CHARACTERS[code];
+		}
+		return INVALID;
+	}
+
+	/**
+	 * @param c
+	 *            The character of a square in the text format.
+	 * @return The code of the square.
+	 * @throws PacmanConfigurationException
+	 *             If the character does not represent a square.
+	 */
+	private static int encode(char c) {
+		if (c < CODES.length && CODES[c] >= 0) {
+			return CODES[c];
+		}
+		throw new PacmanConfigurationException("Invalid character for a binary map: " + c);
+	}
+
+	/**
+	 * Determines whether a buffer starts with a binary map.
+	 *
+	 * @param buffer
+	 *            The buffer to test, from its position.
+	 * @return <code>true</code> iff the buffer starts with the magic bytes.
+	 */
+	static boolean isBinary(ByteBuffer buffer) {
+		if (buffer.remaining() < MAGIC.length) {
+			return false;
+		}
+		for (int i = 0; i < MAGIC.length; i++) {
+			if (buffer.get(buffer.position() + i) != MAGIC[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Writes a map in the binary format.
+	 *
+	 * @param map
+	 *            The map to write.
+	 * @param out
+	 *            The channel to write to.
+	 * @throws IOException
+	 *             when the channel could not be written.
+	 * @throws PacmanConfigurationException
+	 *             If the map contains squares the format cannot represent.
+	 */
+	static void write(MapData map, WritableByteChannel out) throws IOException {
+		int width = map.getWidth();
+		int height = map.getHeight();
+		List<int[]> teleports = map.getTeleportRefs();
+		List<char[]> bridges = map.getBridgeRefs();
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + packedSize(width, height)
+				+ teleports.size() * 2 * Integer.BYTES + bridges.size() * 2);
+
+		buffer.put(MAGIC).putShort(VERSION).putShort((short) 0)
+			.putInt(width).putInt(height).putInt(teleports.size()).putInt(bridges.size());
+		int pending = -1;
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				int code = encode(map.cellAt(x, y));
+				if (pending < 0) {
+					pending = code;
+				} else {
+					buffer.put((byte) (pending << 4 | code));
+					pending = -1;
+				}
+			}
+		}
+		if (pending >= 0) {
+			buffer.put((byte) (pending << 4));
+		}
+		for (int[] ref : teleports) {
+			buffer.putInt(ref[0]).putInt(ref[1]);
+		}
+		for (char[] ref : bridges) {
+			buffer.put((byte) ref[0]).put((byte) ref[1]);
+		}
+
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			out.write(buffer);
+		}
+	}
+
+	/**
+	 * Reads a binary map from a channel.
+	 *
+	 * @param in
+	 *            The channel to read.
+	 * @return The map read.
+	 * @throws IOException
+	 *             when the channel could not be read.
+	 * @throws PacmanConfigurationException
+	 *             If the channel does not contain a valid binary map.
+	 */
+	static MapData read(ReadableByteChannel in) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		readFully(in, header);
+		header.flip();
+		Header h = new Header(header);
+
+		int size = h.bodySize();
+		ByteBuffer body = ByteBuffer.allocate(Math.min(size, CHUNK_SIZE));
+		readFully(in, body);
+		while (body.capacity() < size) {
+			ByteBuffer grown = ByteBuffer.allocate((int) Math.min(size, 2L * body.capacity()));
+			body.flip();
+			grown.put(body);
+			readFully(in, grown);
+			body = grown;
+		}
+		body.flip();
+		return h.read(body, HEADER_SIZE + size);
+	}
+
+	/**
+	 * Reads a binary map from a buffer holding all of it, e.g. a memory
+	 * mapped file.
+	 *
+	 * @param buffer
+	 *            The buffer to read, from its position.
+	 * @return The map read.
+	 * @throws PacmanConfigurationException
+	 *             If the buffer does not contain a valid binary map.
+	 */
+	static MapData read(ByteBuffer buffer) {
+		long size = buffer.remaining();
+		try {
+			Header h = new Header(buffer);
+			if (h.bodySize() > buffer.remaining()) {
+				throw new PacmanConfigurationException("The binary map is truncated.");
+			}
+			return h.read(buffer, size);
+		} catch (BufferUnderflowException e) {
+			throw new PacmanConfigurationException("The binary map is truncated.");
+		}
+	}
+
+	/**
+	 * @param width
+	 *            The amount of columns.
+	 * @param height
+	 *            The amount of rows.
+	 * @return The amount of bytes of the packed grid.
+	 */
+	private static int packedSize(int width, int height) {
+		return (int) (((long) width * height + 1) / 2);
+	}
+
+	/**
+	 * Fills a buffer from a channel.
+	 *
+	 * @param in
+	 *            The channel to read.
+	 * @param buffer
+	 *            The buffer to fill.
+	 * @throws IOException
+	 *             when the channel could not be read.
+	 */
+	private static void readFully(ReadableByteChannel in, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (in.read(buffer) < 0) {
+				throw new PacmanConfigurationException("The binary map is truncated.");
+			}
+		}
+	}
+
+	/**
+	 * The header of a binary map.
+	 */
+	private static final class Header {
+
+		/**
+		 * The amount of columns.
+		 */
+		private final int width;
+
+		/**
+		 * The amount of rows.
+		 */
+		private final int height;
+
+		/**
+		 * The amount of teleport references.
+		 */
+		private final int teleports;
+
+		/**
+		 * The amount of bridge references.
+		 */
+		private final int bridges;
+
+		/**
+		 * Reads and validates a header.
+		 *
+		 * @param buffer
+		 *            The buffer to read the header from.
+		 */
+		private Header(ByteBuffer buffer) {
+			for (byte b : MAGIC) {
+				if (buffer.get() != b) {
+					throw new PacmanConfigurationException("Not a binary map.");
+				}
+			}
+			short version = buffer.getShort();
+			if (version < 1 || version > VERSION) {
+				throw new PacmanConfigurationException(
+						"Unsupported binary map version: " + version);
+			}
+			buffer.getShort();
+			width = buffer.getInt();
+			height = buffer.getInt();
+			teleports = buffer.getInt();
+			bridges = buffer.getInt();
+			if (width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE
+					|| teleports < 0 || bridges < 0) {
+				throw new PacmanConfigurationException("Invalid binary map header.");
+			}
+		}
+
+		/**
+		 * @return The amount of bytes following the header.
+		 */
+		private int bodySize() {
+			long size = packedSize(width, height) + (long) teleports * 2 * Integer.BYTES
+					+ bridges * 2L;
+			if (size > Integer.MAX_VALUE) {
+				throw new PacmanConfigurationException("Invalid binary map header.");
+			}
+			return (int) size;
+		}
+
+		/**
+		 * Reads the grid and the references following this header.
+		 *
+		 * @param buffer
+		 *            The buffer positioned after the header, holding at
+		 *            least {@link #bodySize()} bytes.
+		 * @param size
+		 *            The size of the whole map in bytes.
+		 * @return The map read.
+		 */
+		private MapData read(ByteBuffer buffer, long size) {
+			byte[] cells = new byte[packedSize(width, height)];
+			buffer.get(cells);
+			List<int[]> teleportRefs = new ArrayList<>(teleports);
+			for (int i = 0; i < teleports; i++) {
+				teleportRefs.add(new int[] {buffer.getInt(), buffer.getInt()});
+			}
+			List<char[]> bridgeRefs = new ArrayList<>(bridges);
+			for (int i = 0; i < bridges; i++) {
+				bridgeRefs.add(new char[] {(char) buffer.get(), (char) buffer.get()});
+			}
+			return MapData.packed(width, height, cells, teleportRefs, bridgeRefs, size);
+		}
+	}
+}
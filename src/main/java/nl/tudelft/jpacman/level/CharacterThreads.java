@@ -0,0 +1,82 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+
+/**
+ * The threads that move the characters of a level. By default every unit gets
+ * a service with a platform thread of its own, which reschedules its moves.
+ * <p>
+ * When built on Java 21 or later, which activates the
+ * <code>virtual-threads</code> profile, the services run on virtual threads
+ * instead, and a character's moves loop on its thread, sleeping in between.
+ * Such a build uses virtual threads unless the
+ * <code>jpacman.virtualThreads</code> system property is
+ * <code>false</code>; setting it to <code>true</code> in any other build is a
+ * configuration error.
+ */
+public class CharacterThreads {
+
+	/**
+	 * The threads of the virtual-threads build.
+	 */
+	private static final String VIRTUAL = "nl.tudelft.jpacman.level.VirtualCharacterThreads";
+
+	/**
+	 * The threads all levels use.
+	 */
+	private static final CharacterThreads THREADS = create(System.getProperty("jpacman.virtualThreads"));
+
+	/**
+	 * Creates platform threads.
+	 */
+	protected CharacterThreads() {
+	}
+
+	/**
+	 * @return The threads that move the characters.
+	 */
+	public static CharacterThreads get() {
+		return THREADS;
+	}
+
+	/**
+	 * @param virtual
+	 *            Whether to use virtual threads, or <code>null</code> to use
+	 *            them when the build has them.
+	 * @return The threads to use.
+	 */
+	static CharacterThreads create(String virtual) {
+		if ("false".equals(virtual)) {
+			return new CharacterThreads();
+		}
+		try {
+			return (CharacterThreads) Class.forName(VIRTUAL).getDeclaredConstructor().newInstance();
+		} catch (ClassNotFoundException e) {
+			if ("true".equals(virtual)) {
+				throw new PacmanConfigurationException(
+						"Virtual threads need the virtual-threads build on Java 21", e);
+			}
+			return new CharacterThreads();
+		} catch (ReflectiveOperationException e) {
+			throw new PacmanConfigurationException(e);
+		}
+	}
+
+	/**
+	 * @return A service for the moves of one unit, or of all ghosts.
+	 */
+	public ScheduledExecutorService newService() {
+		return Executors.newSingleThreadScheduledExecutor();
+	}
+
+	/**
+	 * @return <code>true</code> iff characters keep their thread and sleep
+	 *         between moves, rather than being rescheduled after every move.
+	 */
+	public boolean sleeps() {
+		return false;
+	}
+}
@@ -0,0 +1,193 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import nl.tudelft.jpacman.board.Direction;
+
+/**
+ * A bounded, lock-free queue of directions requested for a character, with
+ * a single producer (the user interface) and a single consumer (the
+ * simulation thread moving the character). Directions that do not fit in the
+ * queue are dropped.
+ * <p>
+ * The queue measures the latency between a direction being offered and it
+ * being drained, so that the responsiveness of the controls can be
+ * monitored.
+ */
+public class DirectionQueue {
+
+	/**
+	 * The default capacity of a queue.
+	 */
+	public static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * The queued directions.
+	 */
+	private final Direction[] directions;
+
+	/**
+	 * The {@link System#nanoTime()} at which each direction was queued.
+	 */
+	private final long[] stamps;
+
+	/**
+	 * The mask to turn a sequence number into an index, the capacity being a
+	 * power of two.
+	 */
+	private final int mask;
+
+	/**
+	 * The sequence number of the next direction to drain. Only advanced by
+	 * the consumer.
+	 */
+	private final AtomicLong head = new AtomicLong();
+
+	/**
+	 * The sequence number of the next direction to offer. Only advanced by
+	 * the producer.
+	 */
+	private final AtomicLong tail = new AtomicLong();
+
+	/**
+	 * The amount of directions that were dropped because the queue was full.
+	 */
+	private final AtomicLong dropped = new AtomicLong();
+
+	/**
+	 * The amount of directions drained.
+	 */
+	private volatile long drained;
+
+	/**
+	 * The sum of the latencies of all drained directions, in nanoseconds.
+	 */
+	private volatile long totalLatency;
+
+	/**
+	 * The largest latency of a drained direction, in nanoseconds.
+	 */
+	private volatile long maxLatency;
+
+	/**
+	 * Creates a new queue with the default capacity.
+	 */
+	public DirectionQueue() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a new queue.
+	 *
+	 * @param capacity
+	 *            The minimal amount of directions the queue can hold, rounded
+	 *            up to a power of two.
+	 */
+	public DirectionQueue(int capacity) {
+		assert capacity > 0;
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+		this.directions = new Direction[size];
+		this.stamps = new long[size];
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Queues a direction. May only be called by the producing thread.
+	 *
+	 * @param direction
+	 *            The direction to queue.
+	 * @return <code>true</code> iff the direction was queued,
+	 *         <code>false</code> if it was dropped because the queue is full.
+	 */
+	public boolean offer(Direction direction) {
+		assert direction != null;
+		long t = tail.get();
+		if (t - head.get() >= directions.length) {
+			dropped.incrementAndGet();
+			return false;
+		}
+		int index = (int) t & mask;
+		directions[index] = direction;
+		stamps[index] = System.nanoTime();
+		tail.lazySet(t + 1);
+		return true;
+	}
+
+	/**
+	 * Hands all queued directions, oldest first, to a consumer. May only be
+	 * called by the consuming thread.
+	 *
+	 * @param consumer
+	 *            The consumer of the directions.
+	 * @return The amount of directions drained.
+	 */
+	public int drain(Consumer<Direction> consumer) {
+		long h = head.get();
+		long t = tail.get();
+		if (h == t) {
+			return 0;
+		}
+		long now = System.nanoTime();
+		long total = totalLatency;
+		long max = maxLatency;
+		for (long i = h; i < t; i++) {
+			int index = (int) i & mask;
+			Direction direction = directions[index];
+			long latency = now - stamps[index];
+			directions[index] = null;
+			consumer.accept(direction);
+			total += latency;
+			max = Math.max(max, latency);
+		}
+		head.lazySet(t);
+		totalLatency = total;
+		maxLatency = max;
+		drained += t - h;
+		return (int) (t - h);
+	}
+
+	/**
+	 * @return The amount of directions currently queued.
+	 */
+	public int size() {
+		return (int) (tail.get() - head.get());
+	}
+
+	/**
+	 * @return The amount of directions drained so far.
+	 */
+	public long getDrainedCount() {
+		return drained;
+	}
+
+	/**
+	 * @return The amount of directions dropped because the queue was full.
+	 */
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	/**
+	 * @return The average time between a direction being queued and it being
+	 *         drained, in nanoseconds, or 0 if nothing was drained yet.
+	 */
+	public long getAverageLatency() {
+		long count = drained;
+		if (count == 0) {
+			return 0;
+		}
+		return totalLatency / count;
+	}
+
+	/**
+	 * @return The largest time between a direction being queued and it being
+	 *         drained, in nanoseconds.
+	 */
+	public long getMaxLatency() {
+		return maxLatency;
+	}
+}
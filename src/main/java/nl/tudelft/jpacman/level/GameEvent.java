@@ -0,0 +1,127 @@
+package nl.tudelft.jpacman.level;
+
+/**
+ * Something that happened on a level, as published on a {@link GameEventBus}.
+ * Events are pre-allocated and reused: the bus copies each event into one
+ * owned by the subscriber, which must copy out what it wants to keep.
+ */
+public final class GameEvent {
+
+	/**
+	 * The kinds of events.
+	 */
+	public enum Type {
+
+		/**
+		 * All pellets were eaten.
+		 */
+		LEVEL_WON,
+
+		/**
+		 * No player is alive anymore.
+		 */
+		LEVEL_LOST,
+
+		/**
+		 * A player ate a super pellet and asks to hunt the ghosts, which it
+		 * does for every update until the hunter mode is started.
+		 */
+		HUNTER_MODE_STARTED,
+
+		/**
+		 * A ghost was eaten or shot and waits to respawn.
+		 */
+		GHOST_EATEN,
+
+		/**
+		 * A player started being able to shoot, while no other player could.
+		 */
+		PLAYER_SHOOTING,
+
+		/**
+		 * No player can shoot anymore.
+		 */
+		PLAYER_STOPPED_SHOOTING,
+
+		/**
+		 * A bullet died and is to be cleaned from the board.
+		 */
+		BULLET_DIED
+	}
+
+	/**
+	 * The number of this event on its bus.
+	 */
+	private long sequence;
+
+	/**
+	 * The kind of event.
+	 */
+	private Type type;
+
+	/**
+	 * The time of the event.
+	 */
+	private long time;
+
+	/**
+	 * The unit the event is about, or <code>null</code>.
+	 */
+	private Object subject;
+
+	/**
+	 * @return The number of this event on its bus, counting from 0.
+	 */
+	public long getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * @return The kind of event.
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * @return The time of the event, in milliseconds.
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * @return The unit the event is about, or <code>null</code> if it is
+	 *         about the level.
+	 */
+	public Object getSubject() {
+		return subject;
+	}
+
+	/**
+	 * Fills in this event.
+	 *
+	 * @param sequence
+	 *            The number of the event on its bus.
+	 * @param type
+	 *            The kind of event.
+	 * @param time
+	 *            The time of the event.
+	 * @param subject
+	 *            The unit the event is about, or <code>null</code>.
+	 */
+	void set(long sequence, Type type, long time, Object subject) {
+		this.sequence = sequence;
+		this.type = type;
+		this.time = time;
+		this.subject = subject;
+	}
+
+	/**
+	 * @param target
+	 *            The event to fill in with this one.
+	 */
+	void copyTo(GameEvent target) {
+		target.set(sequence, type, time, subject);
+	}
+}
@@ -0,0 +1,257 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Delivers the events of a level to any amount of subscribers, each reading
+ * at its own pace from its own thread.
+ * <p>
+ * Events are published by one thread at a time into the pre-allocated
+ * entries of a ring buffer, without locks and without waiting for the
+ * subscribers. A subscriber that falls more than the capacity of the buffer
+ * behind misses the oldest events it did not read, which are counted, so that
+ * a slow subscriber can never hold up the game. Subscribers only see the
+ * kinds of events they subscribed to.
+ */
+public class GameEventBus {
+
+	/**
+	 * The default amount of events a subscriber can fall behind.
+	 */
+	public static final int DEFAULT_CAPACITY = 256;
+
+	/**
+	 * The pre-allocated entries.
+	 */
+	private final Entry[] entries;
+
+	/**
+	 * The mask to turn a sequence number into an index, the capacity being a
+	 * power of two.
+	 */
+	private final int mask;
+
+	/**
+	 * The subscribers.
+	 */
+	private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+	/**
+	 * The sequence number of the next event, only written by the publishing
+	 * thread.
+	 */
+	private volatile long next;
+
+	/**
+	 * Creates a bus of the default capacity.
+	 */
+	public GameEventBus() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a new bus.
+	 *
+	 * @param capacity
+	 *            The minimal amount of events a subscriber can fall behind,
+	 *            rounded up to a power of two.
+	 */
+	public GameEventBus(int capacity) {
+		assert capacity > 0;
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+		this.entries = new Entry[size];
+		for (int i = 0; i < size; i++) {
+			entries[i] = new Entry();
+		}
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Subscribes to the events of the given kinds published from now on.
+	 *
+	 * @param types
+	 *            The kinds of events to receive.
+	 * @return The subscription to read the events from.
+	 */
+	public Subscription subscribe(Set<GameEvent.Type> types) {
+		assert types != null;
+		Subscription subscription = new Subscription(types);
+		subscriptions.add(subscription);
+		return subscription;
+	}
+
+	/**
+	 * Subscribes to all events published from now on.
+	 *
+	 * @return The subscription to read the events from.
+	 */
+	public Subscription subscribe() {
+		return subscribe(EnumSet.allOf(GameEvent.Type.class));
+	}
+
+	/**
+	 * Publishes an event. Never blocks; must not be called by two threads at
+	 * the same time.
+	 *
+	 * @param type
+	 *            The kind of event.
+	 * @param subject
+	 *            The unit the event is about, or <code>null</code>.
+	 */
+	public void publish(GameEvent.Type type, Object subject) {
+		assert type != null;
+		long sequence = next;
+		long oldest = sequence - entries.length + 1;
+		for (Subscription subscription : subscriptions) {
+			subscription.skipTo(oldest);
+		}
+		Entry entry = entries[(int) sequence & mask];
+		entry.event.set(sequence, type, System.currentTimeMillis(), subject);
+		entry.published = sequence;
+		next = sequence + 1;
+	}
+
+	/**
+	 * @return The amount of events published so far.
+	 */
+	public long getPublishedCount() {
+		return next;
+	}
+
+	/**
+	 * The events of some kinds, read in the order they were published by a
+	 * single thread.
+	 */
+	public final class Subscription {
+
+		/**
+		 * The kinds of events to receive.
+		 */
+		private final Set<GameEvent.Type> types;
+
+		/**
+		 * The sequence number of the next event to read. Moved on by the
+		 * publisher when it is about to overwrite that event.
+		 */
+		private final AtomicLong cursor;
+
+		/**
+		 * The amount of events missed for falling behind.
+		 */
+		private final AtomicLong missed = new AtomicLong();
+
+		/**
+		 * @param types
+		 *            The kinds of events to receive.
+		 */
+		private Subscription(Set<GameEvent.Type> types) {
+			this.types = EnumSet.noneOf(GameEvent.Type.class);
+			this.types.addAll(types);
+			this.cursor = new AtomicLong(next);
+		}
+
+		/**
+		 * Reads the next event of the subscribed kinds, if there is one.
+		 *
+		 * @param into
+		 *            The event to fill in.
+		 * @return <code>true</code> iff an event was read.
+		 */
+		public boolean poll(GameEvent into) {
+			assert into != null;
+			while (true) {
+				long sequence = cursor.get();
+				Entry entry = entries[(int) sequence & mask];
+				long published = entry.published;
+				if (published < sequence) {
+					return false;
+				}
+				if (published != sequence) {
+					continue;
+				}
+				entry.event.copyTo(into);
+				if (cursor.compareAndSet(sequence, sequence + 1) && types.contains(into.getType())) {
+					return true;
+				}
+			}
+		}
+
+		/**
+		 * Reads all events of the subscribed kinds published so far.
+		 *
+		 * @param consumer
+		 *            What to do with each event, which is reused.
+		 * @param into
+		 *            The event to read into.
+		 * @return The amount of events read.
+		 */
+		public int drain(Consumer<GameEvent> consumer, GameEvent into) {
+			int count = 0;
+			while (poll(into)) {
+				consumer.accept(into);
+				count++;
+			}
+			return count;
+		}
+
+		/**
+		 * @return The amount of events this subscriber missed for falling
+		 *         behind.
+		 */
+		public long getMissedCount() {
+			return missed.get();
+		}
+
+		/**
+		 * Stops receiving events.
+		 */
+		public void close() {
+			subscriptions.remove(this);
+		}
+
+		/**
+		 * Moves the next event to read on to the given one, if it is before
+		 * it, counting the events missed. As this happens before the events
+		 * are overwritten, a subscriber that still read them is told so by
+		 * its cursor having moved.
+		 *
+		 * @param oldest
+		 *            The oldest event that will still be kept.
+		 */
+		private void skipTo(long oldest) {
+			long sequence = cursor.get();
+			while (sequence < oldest) {
+				if (cursor.compareAndSet(sequence, oldest)) {
+					missed.addAndGet(oldest - sequence);
+					return;
+				}
+				sequence = cursor.get();
+			}
+		}
+	}
+
+	/**
+	 * A pre-allocated event in the ring buffer.
+	 */
+	private static final class Entry {
+
+		/**
+		 * The sequence number of the event currently in this entry, set last
+		 * when the entry has been filled in.
+		 */
+		private volatile long published = -1;
+
+		/**
+		 * The event.
+		 */
+		private final GameEvent event = new GameEvent();
+	}
+}
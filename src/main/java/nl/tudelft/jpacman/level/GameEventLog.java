@@ -0,0 +1,382 @@
+package nl.tudelft.jpacman.level;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.board.Square;
+
+/**
+ * A structured log of what happens in a game: moves, collisions, mode
+ * changes and spawns.
+ * <p>
+ * Recording an event only fills in a pre-allocated entry of a ring buffer;
+ * formatting and printing is done by a background thread, so that the game
+ * threads never wait for the console. Events below the current severity are
+ * ignored after a single comparison, and when the buffer is full new events
+ * are dropped and counted rather than blocking the game.
+ * <p>
+ * The log starts at {@link Severity#OFF}; the launcher sets the severity
+ * named by the <code>jpacman.log</code> system property (e.g.
+ * <code>-Djpacman.log=debug</code>), if any.
+ */
+public class GameEventLog {
+
+	/**
+	 * The importance of an event.
+	 */
+	public enum Severity {
+		/**
+		 * Very frequent events, e.g. every move.
+		 */
+		TRACE,
+
+		/**
+		 * Frequent events, e.g. collisions.
+		 */
+		DEBUG,
+
+		/**
+		 * Events that change the course of the game.
+		 */
+		INFO,
+
+		/**
+		 * No event is logged.
+		 */
+		OFF
+	}
+
+	/**
+	 * The kinds of events that can be logged.
+	 */
+	public enum Event {
+		/**
+		 * A unit moved onto a square.
+		 */
+		MOVE(Severity.TRACE),
+
+		/**
+		 * A unit collided with another unit.
+		 */
+		COLLISION(Severity.DEBUG),
+
+		/**
+		 * The hunter mode started.
+		 */
+		HUNTER_MODE_STARTED(Severity.INFO),
+
+		/**
+		 * The hunter mode stopped.
+		 */
+		HUNTER_MODE_STOPPED(Severity.INFO),
+
+		/**
+		 * A unit was put on the board.
+		 */
+		SPAWN(Severity.INFO);
+
+		/**
+		 * The severity of this kind of event.
+		 */
+		private final Severity severity;
+
+		/**
+		 * @param severity The severity of this kind of event.
+		 */
+		Event(Severity severity) {
+			this.severity = severity;
+		}
+
+		/**
+		 * @return The severity of this kind of event.
+		 */
+		public Severity getSeverity() {
+			return severity;
+		}
+	}
+
+	/**
+	 * The default amount of events that can be waiting to be written.
+	 */
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	/**
+	 * The time the writer sleeps when there is nothing to write.
+	 */
+	private static final long IDLE_NANOS = 10_000_000L;
+
+	/**
+	 * The log of the game.
+	 */
+	private static final GameEventLog LOG = new GameEventLog(DEFAULT_CAPACITY, System.out,
+			Severity.OFF);
+
+	/**
+	 * The pre-allocated entries.
+	 */
+	private final Entry[] entries;
+
+	/**
+	 * The mask to turn a sequence number into an index, the capacity being a
+	 * power of two.
+	 */
+	private final int mask;
+
+	/**
+	 * The sequence number of the next entry to claim.
+	 */
+	private final AtomicLong claimed = new AtomicLong();
+
+	/**
+	 * The sequence number of the next entry to write.
+	 */
+	private final AtomicLong written = new AtomicLong();
+
+	/**
+	 * The amount of events dropped because the buffer was full.
+	 */
+	private final AtomicLong dropped = new AtomicLong();
+
+	/**
+	 * <code>true</code> iff the writer has been started.
+	 */
+	private final AtomicBoolean started = new AtomicBoolean();
+
+	/**
+	 * The stream events are written to.
+	 */
+	private final PrintStream out;
+
+	/**
+	 * The thread writing events.
+	 */
+	private final Thread writer;
+
+	/**
+	 * The lowest severity that is logged.
+	 */
+	private volatile Severity threshold;
+
+	/**
+	 * Creates a new log.
+	 *
+	 * @param capacity
+	 *            The minimal amount of events that can be waiting to be
+	 *            written, rounded up to a power of two.
+	 * @param out
+	 *            The stream to write events to.
+	 * @param threshold
+	 *            The lowest severity that is logged.
+	 */
+	public GameEventLog(int capacity, PrintStream out, Severity threshold) {
+		assert capacity > 0;
+		assert out != null;
+		assert threshold != null;
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+		this.entries = new Entry[size];
+		for (int i = 0; i < size; i++) {
+			entries[i] = new Entry();
+		}
+		this.mask = size - 1;
+		this.out = out;
+		this.threshold = threshold;
+		this.writer = new Thread(this::write, "game-event-log");
+		writer.setDaemon(true);
+	}
+
+	/**
+	 * @param name
+	 *            The name of a severity in any case, or <code>null</code>.
+	 * @return The severity, or {@link Severity#OFF} if no name is given.
+	 * @throws PacmanConfigurationException
+	 *             if there is no severity by that name.
+	 */
+	public static Severity severityOf(String name) {
+		if (name == null) {
+			return Severity.OFF;
+		}
+		try {
+			return Severity.valueOf(name.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new PacmanConfigurationException("Unknown log severity: " + name, e);
+		}
+	}
+
+	/**
+	 * @return The log of the game.
+	 */
+	public static GameEventLog getLog() {
+		return LOG;
+	}
+
+	/**
+	 * @param severity The lowest severity to log from now on.
+	 */
+	public void setSeverity(Severity severity) {
+		assert severity != null;
+		this.threshold = severity;
+	}
+
+	/**
+	 * @param event The kind of event.
+	 * @return <code>true</code> iff events of this kind are logged.
+	 */
+	public boolean isEnabled(Event event) {
+		return event.severity.compareTo(threshold) >= 0;
+	}
+
+	/**
+	 * @return The amount of events dropped because the buffer was full.
+	 */
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	/**
+	 * Records an event, if events of its kind are logged. Never blocks.
+	 *
+	 * @param event
+	 *            The kind of event.
+	 * @param subject
+	 *            The unit the event is about.
+	 * @param square
+	 *            The square where the event happened, or <code>null</code>.
+	 * @param other
+	 *            The other unit involved, or <code>null</code>.
+	 */
+	public void record(Event event, Object subject, Square square, Object other) {
+		if (!isEnabled(event)) {
+			return;
+		}
+		long sequence;
+		do {
+			sequence = claimed.get();
+			if (sequence - written.get() >= entries.length) {
+				dropped.incrementAndGet();
+				return;
+			}
+		} while (!claimed.compareAndSet(sequence, sequence + 1));
+
+		Entry entry = entries[(int) sequence & mask];
+		entry.time = System.currentTimeMillis();
+		entry.event = event;
+		entry.subject = subject;
+		entry.other = other;
+		entry.hasSquare = square != null;
+		if (square != null) {
+			entry.x = square.getCoordX();
+			entry.y = square.getCoordY();
+		}
+		entry.published = sequence;
+
+		if (!started.get() && started.compareAndSet(false, true)) {
+			writer.start();
+		}
+	}
+
+	/**
+	 * Writes published entries in order, sleeping while there are none.
+	 */
+	private void write() {
+		StringBuilder line = new StringBuilder();
+		long next = written.get();
+		while (!Thread.currentThread().isInterrupted()) {
+			Entry entry = entries[(int) next & mask];
+			if (entry.published != next) {
+				out.flush();
+				LockSupport.parkNanos(IDLE_NANOS);
+				continue;
+			}
+			line.setLength(0);
+			entry.format(line);
+			entry.subject = null;
+			entry.other = null;
+			next++;
+			written.lazySet(next);
+			out.println(line);
+		}
+	}
+
+	/**
+	 * A pre-allocated event in the ring buffer.
+	 */
+	private static final class Entry {
+
+		/**
+		 * The sequence number of the event currently in this entry, set last
+		 * when the entry has been filled in.
+		 */
+		private volatile long published = -1;
+
+		/**
+		 * The time of the event.
+		 */
+		private long time;
+
+		/**
+		 * The kind of event.
+		 */
+		private Event event;
+
+		/**
+		 * The unit the event is about.
+		 */
+		private Object subject;
+
+		/**
+		 * The other unit involved, if any.
+		 */
+		private Object other;
+
+		/**
+		 * <code>true</code> iff the event happened at a square.
+		 */
+		private boolean hasSquare;
+
+		/**
+		 * The column of the square of the event.
+		 */
+		private int x;
+
+		/**
+		 * The row of the square of the event.
+		 */
+		private int y;
+
+		/**
+		 * Appends this event as <code>key=value</code> pairs.
+		 *
+		 * @param line The line to append to.
+		 */
+		private void format(StringBuilder line) {
+			line.append("time=").append(time)
+				.append(" level=").append(event.severity)
+				.append(" event=").append(event)
+				.append(" unit=").append(name(subject));
+			if (hasSquare) {
+				line.append(" x=").append(x).append(" y=").append(y);
+			}
+			if (other != null) {
+				line.append(" other=").append(name(other));
+			}
+		}
+
+		/**
+		 * @param unit A unit, or <code>null</code>.
+		 * @return The name of the class of the unit.
+		 */
+		private static String name(Object unit) {
+			if (unit == null) {
+				return "-";
+			}
+			return unit.getClass().getSimpleName();
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The time the ghosts of a level may take to decide on their moves every
+ * tick, and how often they took longer. A ghost whose decision is late keeps
+ * going the way it last decided on, while its decision goes on in the
+ * background to be used in a later tick.
+ * <p>
+ * The initial budget is read from the <code>jpacman.ghostBudget</code> system
+ * property in milliseconds (e.g. <code>-Djpacman.ghostBudget=5</code>), and is
+ * {@value #DEFAULT_MILLIS} ms by default.
+ */
+public class GhostBudget {
+
+	/**
+	 * The budget in milliseconds unless configured otherwise.
+	 */
+	public static final long DEFAULT_MILLIS = 10;
+
+	/**
+	 * The time the ghosts may take every tick, in nanoseconds.
+	 */
+	private volatile long nanos;
+
+	/**
+	 * The amount of ticks in which ghosts decided.
+	 */
+	private final AtomicLong ticks = new AtomicLong();
+
+	/**
+	 * The amount of ticks in which a ghost was late.
+	 */
+	private final AtomicLong overruns = new AtomicLong();
+
+	/**
+	 * The amount of decisions that were late.
+	 */
+	private final AtomicLong lateDecisions = new AtomicLong();
+
+	/**
+	 * The amount of decisions made for a square the ghost had left, or on a
+	 * board that was extended since.
+	 */
+	private final AtomicLong staleDecisions = new AtomicLong();
+
+	/**
+	 * The amount of decisions that failed.
+	 */
+	private final AtomicLong failedDecisions = new AtomicLong();
+
+	/**
+	 * Creates a budget as configured by the <code>jpacman.ghostBudget</code>
+	 * system property.
+	 */
+	public GhostBudget() {
+		this(TimeUnit.MILLISECONDS.toNanos(Long.getLong("jpacman.ghostBudget", DEFAULT_MILLIS)));
+	}
+
+	/**
+	 * Creates a new budget.
+	 *
+	 * @param nanos
+	 *            The time the ghosts may take every tick, in nanoseconds.
+	 */
+	public GhostBudget(long nanos) {
+		setNanos(nanos);
+	}
+
+	/**
+	 * @return The time the ghosts may take every tick, in nanoseconds.
+	 */
+	public long getNanos() {
+		return nanos;
+	}
+
+	/**
+	 * Changes the time the ghosts may take from the next tick on.
+	 *
+	 * @param nanos
+	 *            The time the ghosts may take every tick, in nanoseconds.
+	 */
+	public void setNanos(long nanos) {
+		assert nanos >= 0;
+		this.nanos = nanos;
+	}
+
+	/**
+	 * @return The amount of ticks in which ghosts decided so far.
+	 */
+	public long getTicks() {
+		return ticks.get();
+	}
+
+	/**
+	 * @return The amount of ticks so far in which at least one ghost did not
+	 *         decide in time.
+	 */
+	public long getOverruns() {
+		return overruns.get();
+	}
+
+	/**
+	 * @return The amount of decisions so far that were not made in time.
+	 */
+	public long getLateDecisions() {
+		return lateDecisions.get();
+	}
+
+	/**
+	 * @return The amount of decisions so far that were no longer of use when
+	 *         they were made, as the ghost had left the square they were for
+	 *         or the board was extended since.
+	 */
+	public long getStaleDecisions() {
+		return staleDecisions.get();
+	}
+
+	/**
+	 * @return The amount of decisions so far that failed, after which the
+	 *         ghost did not move that turn.
+	 */
+	public long getFailedDecisions() {
+		return failedDecisions.get();
+	}
+
+	/**
+	 * Counts a tick.
+	 *
+	 * @param late
+	 *            The amount of ghosts that did not decide in time.
+	 * @param stale
+	 *            The amount of decisions that were stale when made.
+	 * @param failed
+	 *            The amount of ghosts whose decision failed.
+	 */
+	void record(int late, int stale, int failed) {
+		ticks.incrementAndGet();
+		staleDecisions.addAndGet(stale);
+		failedDecisions.addAndGet(failed);
+		if (late > 0) {
+			overruns.incrementAndGet();
+			lateDecisions.addAndGet(late);
+		}
+	}
+}
@@ -0,0 +1,304 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.npc.ghost.Ghost;
+
+/**
+ * Moves all ghosts of a level in ticks. Every tick, the ghosts whose turn it
+ * is decide on their next moves at the same time, on a fork-join pool, while
+ * the level holds the board still. The moves are then made one by one, in the
+ * order the ghosts joined the level, so the outcome does not depend on which
+ * decision was ready first. How long the level waits for the decisions is
+ * limited by a {@link GhostBudget}.
+ */
+final class GhostTick implements Runnable {
+
+	/**
+	 * The pool the ghosts decide on, shared by all levels.
+	 */
+	private static final ForkJoinPool DECISIONS = new ForkJoinPool(
+			Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * The level to move the ghosts on.
+	 */
+	private final Level level;
+
+	/**
+	 * The board the ghosts decide on.
+	 */
+	private final Board board;
+
+	/**
+	 * The lock a decision holds, which keeps the board from being extended
+	 * while it is made.
+	 */
+	private final Lock shared;
+
+	/**
+	 * The service executing the ticks.
+	 */
+	private final ScheduledExecutorService service;
+
+	/**
+	 * The ghosts, in the order they move, with the time of their next turn.
+	 */
+	private final Map<Ghost, Long> turns = new LinkedHashMap<>();
+
+	/**
+	 * The time the ghosts may take to decide every tick.
+	 */
+	private final GhostBudget budget;
+
+	/**
+	 * The decisions that were not made in time, by ghost.
+	 */
+	private final Map<Ghost, Decision> pending = new HashMap<>();
+
+	/**
+	 * The direction each ghost last decided on.
+	 */
+	private final Map<Ghost, Direction> plans = new HashMap<>();
+
+	/**
+	 * Creates the ticks for the ghosts of a level. Like any character, a ghost
+	 * takes its first turn after half its interval.
+	 *
+	 * @param level
+	 *            The level to move the ghosts on.
+	 * @param service
+	 *            The service that executes the ticks.
+	 * @param ghosts
+	 *            The ghosts, in the order they move.
+	 * @param budget
+	 *            The time the ghosts may take to decide every tick.
+	 */
+	GhostTick(Level level, ScheduledExecutorService service, Collection<Ghost> ghosts,
+			GhostBudget budget) {
+		this.level = level;
+		this.board = level.getBoard();
+		this.shared = level.getSharedLock();
+		this.service = service;
+		this.budget = budget;
+		long now = System.currentTimeMillis();
+		for (Ghost ghost : ghosts) {
+			turns.put(ghost, now + ghost.getInterval() / 2);
+		}
+	}
+
+	/**
+	 * Schedules the first tick.
+	 */
+	void start() {
+		schedule();
+	}
+
+	@Override
+	public void run() {
+		long now = System.currentTimeMillis();
+		List<Ghost> due = new ArrayList<>();
+		for (Map.Entry<Ghost, Long> turn : turns.entrySet()) {
+			if (turn.getValue() <= now) {
+				due.add(turn.getKey());
+			}
+		}
+		long[] intervals = new long[due.size()];
+		for (int i = 0; i < intervals.length; i++) {
+			intervals[i] = due.get(i).getInterval();
+		}
+		try {
+			if (!due.isEmpty()) {
+				level.moveGhosts(this, due, intervals);
+			}
+		} finally {
+			for (int i = 0; i < intervals.length; i++) {
+				turns.put(due.get(i), now + intervals[i]);
+			}
+			schedule();
+		}
+	}
+
+	/**
+	 * Schedules the next tick at the first turn of any ghost.
+	 */
+	private void schedule() {
+		long next = Long.MAX_VALUE;
+		for (long turn : turns.values()) {
+			next = Math.min(next, turn);
+		}
+		if (next == Long.MAX_VALUE) {
+			return;
+		}
+		service.schedule(this, Math.max(0L, next - System.currentTimeMillis()),
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Lets ghosts decide on their next moves in parallel, for as long as the
+	 * budget allows. Every decision holds the shared lock of the level while
+	 * it is made, so the board is not extended meanwhile, even by a decision
+	 * that outlasts the tick. A ghost that is not done in time goes on the
+	 * way it last decided on if it can, while its decision goes on to be
+	 * used in its next turn, provided the ghost is still on the same square
+	 * and the board was not extended since; otherwise the decision is stale
+	 * and made anew. A ghost whose decision fails does not move this turn.
+	 *
+	 * @param ghosts
+	 *            The ghosts to decide for.
+	 * @return The next move of each ghost, at the index of the ghost, or
+	 *         <code>null</code> where a ghost does not move.
+	 */
+	Direction[] decide(List<Ghost> ghosts) {
+		long deadline = System.nanoTime() + budget.getNanos();
+		int stale = 0;
+		for (Ghost ghost : ghosts) {
+			Decision decision = pending.get(ghost);
+			if (decision != null && decision.task.isDone() && decision.isStale()) {
+				decision = null;
+				stale++;
+			}
+			if (decision == null) {
+				pending.put(ghost, new Decision(ghost));
+			}
+		}
+		Direction[] moves = new Direction[ghosts.size()];
+		int late = 0;
+		int failed = 0;
+		for (int i = 0; i < moves.length; i++) {
+			Ghost ghost = ghosts.get(i);
+			Decision decision = pending.get(ghost);
+			if (!decision.await(deadline)) {
+				late++;
+			} else {
+				pending.remove(ghost);
+				if (decision.task.isCompletedAbnormally()) {
+					plans.remove(ghost);
+					failed++;
+					continue;
+				}
+				if (!decision.isStale()) {
+					moves[i] = decision.task.join();
+					plans.put(ghost, moves[i]);
+					continue;
+				}
+				stale++;
+			}
+			moves[i] = lastPlan(ghost);
+		}
+		budget.record(late, stale, failed);
+		return moves;
+	}
+
+	/**
+	 * @param ghost
+	 *            A ghost.
+	 * @return The direction the ghost last decided on, or <code>null</code>
+	 *         if there is none or it cannot go that way.
+	 */
+	private Direction lastPlan(Ghost ghost) {
+		Direction plan = plans.get(ghost);
+		Square square = ghost.getSquare();
+		if (plan == null || square == null
+				|| !square.getSquareAt(plan).isAccessibleTo(ghost)) {
+			return null;
+		}
+		return plan;
+	}
+
+	/**
+	 * A ghost deciding on its next move on the pool.
+	 */
+	private final class Decision {
+
+		/**
+		 * The ghost deciding.
+		 */
+		private final Ghost ghost;
+
+		/**
+		 * The square the ghost decides for.
+		 */
+		private final Square square;
+
+		/**
+		 * The version of the board the ghost decides on.
+		 */
+		private final long version;
+
+		/**
+		 * The decision being made.
+		 */
+		private final ForkJoinTask<Direction> task;
+
+		/**
+		 * Starts a decision.
+		 *
+		 * @param ghost
+		 *            The ghost to decide for.
+		 */
+		private Decision(Ghost ghost) {
+			this.ghost = ghost;
+			this.square = ghost.getSquare();
+			this.version = board.getVersion();
+			this.task = DECISIONS.submit(() -> {
+				shared.lock();
+				try {
+					return ghost.nextMove();
+				} finally {
+					shared.unlock();
+				}
+			});
+		}
+
+		/**
+		 * @return <code>true</code> iff the ghost has left the square this
+		 *         decision is for, or the board was extended since it was
+		 *         started.
+		 */
+		private boolean isStale() {
+			Square now = ghost.getSquare();
+			if (board.getVersion() != version) {
+				return true;
+			}
+			return square == null ? now != null : !square.equals(now);
+		}
+
+		/**
+		 * Waits for the decision to be made.
+		 *
+		 * @param deadline
+		 *            The {@link System#nanoTime()} to wait until at most.
+		 * @return <code>true</code> iff the decision has been made.
+		 */
+		private boolean await(long deadline) {
+			try {
+				task.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+				return true;
+			} catch (TimeoutException e) {
+				return false;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return task.isDone();
+			} catch (ExecutionException e) {
+				// the ghost is left where it is, see isCompletedAbnormally.
+				return true;
+			}
+		}
+	}
+}
@@ -2,11 +2,18 @@ package nl.tudelft.jpacman.level;
 
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.ConnectivityIndex;
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
@@ -16,7 +23,10 @@ import nl.tudelft.jpacman.npc.Bullet;
 import nl.tudelft.jpacman.npc.NPC;
 import nl.tudelft.jpacman.npc.ghost.Ghost;
 import nl.tudelft.jpacman.npc.ghost.GhostFactory;
-import nl.tudelft.jpacman.npc.ghost.Navigation;
+import nl.tudelft.jpacman.npc.ghost.JunctionGraph;
+import nl.tudelft.jpacman.npc.ghost.ModeSchedule;
+import nl.tudelft.jpacman.npc.ghost.PathCache;
+import nl.tudelft.jpacman.npc.ghost.PatrolRoutes;
 import nl.tudelft.jpacman.sprite.PacManSprites;
 
 /**
@@ -33,9 +43,73 @@ public class Level {
 	private Board board;
 
 	/**
-	 * The lock that ensures moves are executed sequential.
+	 * The threads that move the characters of this level.
 	 */
-	private final Object moveLock = new Object();
+	private final CharacterThreads threads = CharacterThreads.get();
+
+	/**
+	 * The lock that keeps moves off the board while the whole of it changes.
+	 * Moves share the read lock and order themselves by {@link #regions};
+	 * extending the board and spawning units take the write lock.
+	 */
+	private final ReentrantReadWriteLock boardLock = new ReentrantReadWriteLock();
+
+	/**
+	 * The locks that ensure moves within a region of the board are executed
+	 * sequential.
+	 */
+	private final RegionLocks regions = new RegionLocks(REGION_SIZE, REGION_LOCKS);
+
+	/**
+	 * The lock of the thread telling the observers what changed. Other
+	 * threads leave their changes to it rather than waiting.
+	 */
+	private final ReentrantLock observerLock = new ReentrantLock();
+
+	/**
+	 * Whether the state of this level may have changed since the observers
+	 * were last told.
+	 */
+	private final AtomicBoolean observersDue = new AtomicBoolean();
+
+	/**
+	 * The tick telling the observers what changed while this level is in
+	 * progress, or <code>null</code> if it is not.
+	 */
+	private ScheduledExecutorService observerTick;
+
+	/**
+	 * Whether the observers were told the level was won.
+	 */
+	private boolean toldWon;
+
+	/**
+	 * Whether the observers were told the level was lost.
+	 */
+	private boolean toldLost;
+
+	/**
+	 * Whether the bus was told a player can shoot, and no player has stopped
+	 * being able to since.
+	 */
+	private boolean toldShooting;
+
+	/**
+	 * The amount of eaten ghosts the observers were told about and have not
+	 * respawned yet.
+	 */
+	private int toldMissingGhosts;
+
+	/**
+	 * The dead bullets the observers were told about.
+	 */
+	private final Set<Bullet> toldDeadBullets = new HashSet<>();
+
+	/**
+	 * The events told to the observers, for anything else to subscribe to.
+	 * Published by the thread holding {@link #observerLock}.
+	 */
+	private final GameEventBus events = new GameEventBus();
 
 	/**
 	 * The lock that ensures starting and stopping can't interfere with each
@@ -44,10 +118,16 @@ public class Level {
 	private final Object startStopLock = new Object();
 
 	/**
-	 * The NPCs of this level and, if they are running, their schedules.
+	 * The NPCs of this level and, if they are running, the schedule of their
+	 * ticks.
 	 */
 	private final Map<Ghost, ScheduledExecutorService> ghosts;
 
+	/**
+	 * The NPCs of this level, in the order they joined it.
+	 */
+	private final List<Ghost> ghostOrder = new CopyOnWriteArrayList<>();
+
 	/**
 	 * The NPCs of this level and, if they are running, their schedules.
 	 */
@@ -145,6 +225,79 @@ public class Level {
 	 */
 	private Random random;
 
+	/**
+	 * The squares reachable by the players, to spawn fruits and ghosts on.
+	 * Created when first needed, since it needs a player.
+	 */
+	private ConnectivityIndex spawnIndex;
+
+	/**
+	 * The corridors of the board, shared by all ghosts to find their way.
+	 * Created with the first ghost, since it needs one.
+	 */
+	private JunctionGraph junctions;
+
+	/**
+	 * The way all ghosts find the shortest path to their targets.
+	 */
+	private PathCache pathFinder;
+
+	/**
+	 * The loops the ghosts patrol in the corners of the board. Created with
+	 * the first ghost, since it needs one.
+	 */
+	private PatrolRoutes patrolRoutes;
+
+	/**
+	 * When the ghosts scatter to their corners and when they chase.
+	 */
+	private final ModeSchedule modes = new ModeSchedule();
+
+	/**
+	 * The time the ghosts may take to decide on their moves every tick.
+	 */
+	private final GhostBudget ghostBudget = new GhostBudget();
+
+	/**
+	 * The factory of the ghosts of this level.
+	 */
+	private final GhostFactory ghostFactory;
+
+	/**
+	 * The least amount of columns or rows between a player and a new ghost.
+	 */
+	private static final int GHOST_SPAWN_DISTANCE = 4;
+
+	/**
+	 * The amount of columns and rows of a region of the board.
+	 */
+	private static final int REGION_SIZE = 8;
+
+	/**
+	 * The amount of locks the regions of the board share.
+	 */
+	private static final int REGION_LOCKS = 64;
+
+	/**
+	 * The amount of ghosts that should be on a board that is not infinite.
+	 */
+	private static final int GHOSTS_IN_PLAY = 4;
+
+	/**
+	 * The schedule of units that are not running, which never runs anything.
+	 */
+	private static final ScheduledExecutorService NO_SERVICE = Executors.newSingleThreadScheduledExecutor();
+
+	static {
+		NO_SERVICE.shutdown();
+	}
+
+	/**
+	 * The time between two ticks telling the observers what changed, in
+	 * milliseconds.
+	 */
+	private static final long OBSERVER_INTERVAL = 20;
+
 	/**
 	 * Creates a new level for the board.
 	 * @param b The board for the level.
@@ -154,23 +307,41 @@ public class Level {
 	 */
 	public Level(Board b, List<NPC> ghosts, List<Square> startPositions,
 				 CollisionMap collisionMap) {
+		this(b, ghosts, startPositions, collisionMap, new GhostFactory(SPRITE_STORE));
+	}
+
+	/**
+	 * Creates a new level for the board.
+	 * @param b The board for the level.
+	 * @param ghosts The ghosts on the board.
+	 * @param startPositions The squares on which players start on this board.
+	 * @param collisionMap The collection of collisions that should be handled.
+	 * @param ghostFactory The factory of the ghosts, which decides how they
+	 *                     find their way and creates the ghosts added later.
+	 */
+	public Level(Board b, List<NPC> ghosts, List<Square> startPositions,
+				 CollisionMap collisionMap, GhostFactory ghostFactory) {
 		assert b != null;
 		assert ghosts != null;
 		assert startPositions != null;
+		assert ghostFactory != null;
 
+		this.ghostFactory = ghostFactory;
 		this.fruitFactory = new FruitFactory(SPRITE_STORE, this);
 		this.board = b;
 		this.inProgress = false;
-		this.ghosts = new HashMap<>();
+		this.ghosts = new ConcurrentHashMap<>();
 		for (NPC g : ghosts) {
 			Ghost ghost = (Ghost) g;
-			this.ghosts.put(ghost, null);
+			guide(ghost);
+			this.ghosts.put(ghost, NO_SERVICE);
+			ghostOrder.add(ghost);
 			Ghost.ghostLeft++;
 		}
-		this.bullets = new HashMap<>();
+		this.bullets = new ConcurrentHashMap<>();
 		this.startSquares = startPositions;
 		this.startSquareIndex = 0;
-		this.players = new HashMap<>();
+		this.players = new ConcurrentHashMap<>();
 		this.collisions = collisionMap;
 		this.observers = new ArrayList<>();
 		random = new Random();
@@ -179,6 +350,21 @@ public class Level {
 		}
 	}
 
+	/**
+	 * Lets a ghost find its way the way the ghost factory decides.
+	 * @param ghost The ghost.
+	 */
+	private void guide(Ghost ghost) {
+		if (junctions == null) {
+			junctions = new JunctionGraph(board, ghost);
+			pathFinder = ghostFactory.createPathFinder(board, ghost, junctions);
+			patrolRoutes = new PatrolRoutes(board, ghost);
+		}
+		ghost.setJunctions(junctions);
+		ghost.setPathFinder(pathFinder);
+		ghost.setPatrol(patrolRoutes, modes);
+	}
+
 	/**
 	 * Adds an observer that will be notified when the level is won or lost
 	 * or change his state (Hunter mode).
@@ -207,9 +393,10 @@ public class Level {
 		if (players.containsKey(p)) {
 			return;
 		}
-		players.put(p, null);
+		players.put(p, NO_SERVICE);
 		Square square = startSquares.get(startSquareIndex);
 		p.occupy(square);
+		board.notifySquareChanged(square);
 		startSquareIndex++;
 		startSquareIndex %= startSquares.size();
 	}
@@ -223,34 +410,232 @@ public class Level {
 		return board;
 	}
 
+	/**
+	 * Extends the board of this level in the given direction. Moves are
+	 * blocked while the board is being extended, so that no unit moves
+	 * between squares that are being relinked.
+	 * @param direction The direction to extend the board in.
+	 */
+	public void extendBoard(Direction direction) {
+		assert direction != null;
+		if (!isInProgress()) {
+			return;
+		}
+		Lock lock = boardLock.writeLock();
+		lock.lock();
+		try {
+			board.extend(direction);
+		} finally {
+			lock.unlock();
+		}
+	}
+
 	/**
 	 * Moves the unit into the given direction if possible and handles all
-	 * collisions.
+	 * collisions. Only the regions of the squares the unit leaves and enters
+	 * are locked, together with the region a teleport on the square it enters
+	 * leads to, so units in other regions move at the same time. The
+	 * observers are told about the move on the next tick.
 	 * @param unit The unit to move.
 	 * @param direction The direction to move the unit in.
 	 */
 	public void move(Unit unit, Direction direction) {
+		long interval = 0;
+		if (unit instanceof MovableCharacter) {
+			interval = ((MovableCharacter) unit).getInterval();
+		}
+		move(unit, direction, interval);
+	}
+
+	/**
+	 * Moves the unit into the given direction if possible and handles all
+	 * collisions, like {@link #move(Unit, Direction)}, for a unit that moves
+	 * again after the given time.
+	 * @param unit The unit to move.
+	 * @param direction The direction to move the unit in.
+	 * @param interval The time until the unit moves again, in milliseconds,
+	 *                 over which the move is displayed.
+	 */
+	public void move(Unit unit, Direction direction, long interval) {
+		if (moveUnit(unit, direction, interval)) {
+			observersDue.set(true);
+		}
+	}
+
+	/**
+	 * Moves the unit into the given direction if possible and handles all
+	 * collisions, without updating the observers.
+	 * @param unit The unit to move.
+	 * @param direction The direction to move the unit in.
+	 * @param interval The time until the unit moves again, in milliseconds.
+	 * @return <code>true</code> iff the level is in progress and the unit
+	 *         could try to move.
+	 */
+	private boolean moveUnit(Unit unit, Direction direction, long interval) {
 		assert unit != null;
 		assert direction != null;
 
 		if (!isInProgress() || (unit instanceof MovableCharacter && !((MovableCharacter) unit).isMovable())) {
-			return;
+			return false;
 		}
 
-		synchronized (moveLock) {
-			unit.setDirection(direction);
-			Square location = unit.getSquare();
-			Square destination = location.getSquareAt(direction);
+		Lock shared = boardLock.readLock();
+		shared.lock();
+		try {
+			Square location;
+			Square destination;
+			int[] held;
+			while (true) {
+				location = unit.getSquare();
+				destination = location.getSquareAt(direction);
+				held = regions.lock(location, destination, teleportTarget(destination));
+				if (location.equals(unit.getSquare())) {
+					break;
+				}
+				regions.unlock(held);
+			}
+			try {
+				unit.setDirection(direction);
+				if (destination.isAccessibleTo(unit) && !(Bridge.blockedBybridge(unit, direction))) {
+					unit.setOnBridge(false);
+					final List<Unit> occupants = destination.getOccupants();
+					unit.occupy(destination);
+					if (unit instanceof MovableCharacter) {
+						((MovableCharacter) unit).recordMove(location, System.currentTimeMillis(),
+								interval);
+					}
+					for (Unit occupant : occupants) {
+						collisions.collide(unit, occupant);
+					}
+					board.notifySquareChanged(location);
+					board.notifySquareChanged(destination);
+					GameEventLog.getLog().record(GameEventLog.Event.MOVE, unit, destination, null);
+				}
+			} finally {
+				regions.unlock(held);
+			}
+		} finally {
+			shared.unlock();
+		}
+		return true;
+	}
 
-			if (destination.isAccessibleTo(unit) && !(Bridge.blockedBybridge(unit, direction))) {
-				unit.setOnBridge(false);
-				final List<Unit> occupants = destination.getOccupants();
-				unit.occupy(destination);
-				for (Unit occupant : occupants) {
-					collisions.collide(unit, occupant);
+	/**
+	 * Puts a unit on a square of the board, or moves it there at once,
+	 * while no unit moves in the regions of the squares it leaves and
+	 * enters.
+	 * @param unit The unit to put on the board.
+	 * @param square The square to put it on.
+	 */
+	public void placeUnit(Unit unit, Square square) {
+		assert unit != null;
+		assert square != null;
+		Lock shared = boardLock.readLock();
+		shared.lock();
+		try {
+			Square left;
+			int[] held;
+			while (true) {
+				left = unit.getSquare();
+				held = regions.lock(left, square);
+				if (Objects.equals(left, unit.getSquare())) {
+					break;
 				}
+				regions.unlock(held);
 			}
-			updateObservers();
+			try {
+				unit.occupy(square);
+				if (left != null) {
+					board.notifySquareChanged(left);
+				}
+				board.notifySquareChanged(square);
+			} finally {
+				regions.unlock(held);
+			}
+		} finally {
+			shared.unlock();
+		}
+	}
+
+	/**
+	 * Takes a unit off the board, while no unit moves in the region of the
+	 * square it leaves.
+	 * @param unit The unit to take off the board.
+	 */
+	public void removeUnit(Unit unit) {
+		assert unit != null;
+		Lock shared = boardLock.readLock();
+		shared.lock();
+		try {
+			Square left;
+			int[] held;
+			while (true) {
+				left = unit.getSquare();
+				if (left == null) {
+					return;
+				}
+				held = regions.lock(left);
+				if (left.equals(unit.getSquare())) {
+					break;
+				}
+				regions.unlock(held);
+			}
+			try {
+				unit.leaveSquare();
+				board.notifySquareChanged(left);
+			} finally {
+				regions.unlock(held);
+			}
+		} finally {
+			shared.unlock();
+		}
+	}
+
+	/**
+	 * @param square The square a unit moves to.
+	 * @return The square a teleport on it leads to, or <code>null</code> if
+	 *         there is no teleport on it.
+	 */
+	private static Square teleportTarget(Square square) {
+		for (Unit occupant : square.getOccupants()) {
+			if (occupant instanceof Teleport) {
+				return ((Teleport) occupant).getReference();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Moves ghosts that decide on their moves at the same time: all of them
+	 * decide first, in parallel against the same board, after which they are
+	 * moved one by one in the given order. The observers are told about
+	 * their moves on the next tick.
+	 * <p>
+	 * The ghosts decide and move holding only the read lock of the board,
+	 * so the board is not extended in between, and each move only locks its
+	 * own regions, as any other move does. Other units keep moving while
+	 * the ghosts decide and move.
+	 * @param tick The ticks of the ghosts, which decides for them.
+	 * @param due The ghosts to move.
+	 * @param intervals The time until each ghost moves again, in
+	 *                  milliseconds.
+	 */
+	void moveGhosts(GhostTick tick, List<Ghost> due, long[] intervals) {
+		boolean moved = false;
+		Lock shared = boardLock.readLock();
+		shared.lock();
+		try {
+			Direction[] moves = tick.decide(due);
+			for (int i = 0; i < moves.length; i++) {
+				if (moves[i] != null) {
+					moved |= moveUnit(due.get(i), moves[i], intervals[i]);
+				}
+			}
+		} finally {
+			shared.unlock();
+		}
+		if (moved) {
+			observersDue.set(true);
 		}
 	}
 
@@ -263,9 +648,13 @@ public class Level {
 			if (isInProgress()) {
 				return;
 			}
+			modes.start();
 			startCharacters();
 			inProgress = true;
 			updateObservers();
+			observerTick = threads.newService();
+			observerTick.scheduleWithFixedDelay(this::tellObservers,
+					OBSERVER_INTERVAL, OBSERVER_INTERVAL, TimeUnit.MILLISECONDS);
 		}
 		int nbr = random.nextInt(11);
 		timerRespawn = new Timer();
@@ -291,6 +680,9 @@ public class Level {
 				return;
 			}
 			stopCharacters();
+			observerTick.shutdown();
+			observerTick = null;
+			modes.stop();
 			addGhostTask.cancel();
 			addFruitTask.cancel();
 			speedUpTask.cancel();
@@ -304,26 +696,23 @@ public class Level {
 	public void startCharacters() {
 		MovableCharacter mc;
 		ScheduledExecutorService service;
-		for (Ghost ghost : ghosts.keySet()) {
-			mc = ghost;
-			service = Executors
-					.newSingleThreadScheduledExecutor();
-			service.schedule(tks.createCharacterMoveTask(service, mc),
-					mc.getInterval() / 2, TimeUnit.MILLISECONDS);
-			ghosts.put(ghost, service);
+		if (!ghosts.isEmpty()) {
+			service = threads.newService();
+			new GhostTick(this, service, ghostOrder, ghostBudget).start();
+			for (Ghost ghost : ghosts.keySet()) {
+				ghosts.put(ghost, service);
+			}
 		}
 		for (Player player : players.keySet()) {
 			mc = player;
-			service = Executors
-					.newSingleThreadScheduledExecutor();
+			service = threads.newService();
 			service.schedule(tks.createCharacterMoveTask(service, mc),
 					mc.getInterval() / 2, TimeUnit.MILLISECONDS);
 			players.put(player, service);
 		}
 		for (Bullet bullet : bullets.keySet()) {
 			mc = bullet;
-			service = Executors
-					.newSingleThreadScheduledExecutor();
+			service = threads.newService();
 			service.schedule(tks.createCharacterMoveTask(service, mc),
 					mc.getInterval() / 2, TimeUnit.MILLISECONDS);
 			bullets.put(bullet, service);
@@ -352,26 +741,30 @@ public class Level {
 	public void addGhostTask()
 	{
 		if(this.ghosts.size() < 10) {
-			ScheduledExecutorService service = Executors
-					.newSingleThreadScheduledExecutor();
-			final GhostFactory ghostFact = new GhostFactory(SPRITE_STORE);
+			ScheduledExecutorService service = threads.newService();
 			int nbr = random.nextInt(6);
 			int ghostIndex = random.nextInt(4);
 			addGhostTask.cancel();
 			addGhostTask = new Timer();
 			addGhostTask.schedule(tks.createAddGhostTask(), ((nbr + 4) + this.ghosts.size()) * 1000);
-			Ghost g = Ghost.addGhost(ghostFact, ghostIndex);
-			ghosts.put(g, service);
-			Square squareGhost = null;
-			while(squareGhost  == null) {
-				squareGhost = addUnitOnSquare(board.getWidthOfOneMap(), 4);
-				if (squareGhost.isAccessibleTo(g)) {
-					g.occupy(squareGhost);
-				}
-				else{
-					squareGhost = null;
+			Ghost g = Ghost.addGhost(ghostFactory, ghostIndex);
+			Lock lock = boardLock.writeLock();
+			lock.lock();
+			try {
+				Square squareGhost = spawnSquare(GHOST_SPAWN_DISTANCE);
+				if (squareGhost == null) {
+					service.shutdown();
+					return;
 				}
+				guide(g);
+				ghosts.put(g, service);
+				ghostOrder.add(g);
+				g.occupy(squareGhost);
+				board.notifySquareChanged(squareGhost);
+			} finally {
+				lock.unlock();
 			}
+			GameEventLog.getLog().record(GameEventLog.Event.SPAWN, g, g.getSquare(), null);
 			stopCharacters();
 			startCharacters();
 		}
@@ -389,60 +782,43 @@ public class Level {
 		addFruitTask = new Timer();
 		addFruitTask.schedule(tks.createAddFruitTask(), (nbr+10)*1000);
 		Fruit fruit = fruitFactory.getRandomFruit();
-		Square squareFruit = null;
-		Player p = players.keySet().iterator().next();
-		Square posPlayer = p.getSquare();
-		while(squareFruit == null) {
-			squareFruit = addUnitOnSquare(board.getWidthOfOneMap()-2, board.getHeightOfOneMap()-2);
-			if (Navigation.shortestPath(posPlayer, squareFruit, p) != null) {
-				fruit.occupy(squareFruit);
-				timerTask = new TimerTask() {
-					public void run() {
-						fruit.leaveSquare();
-					}
-				};
-				timer.schedule(timerTask, fruit.getLifetime() * 1000);
-			}
-			else {
-				squareFruit = null;
+		Square squareFruit;
+		Lock lock = boardLock.writeLock();
+		lock.lock();
+		try {
+			squareFruit = spawnSquare(1);
+			if (squareFruit == null) {
+				return;
 			}
+			fruit.occupy(squareFruit);
+			board.notifySquareChanged(squareFruit);
+		} finally {
+			lock.unlock();
 		}
+		GameEventLog.getLog().record(GameEventLog.Event.SPAWN, fruit, squareFruit, null);
+		timerTask = new TimerTask() {
+			public void run() {
+				removeUnit(fruit);
+			}
+		};
+		timer.schedule(timerTask, fruit.getLifetime() * 1000);
 	}
 
 	/**
-	 * Permet de mettre une unit sur le plateau
-	 * @param random1 L'abscisse
-	 * @param random2 L'ordonnée
-     * @return Le square sur lequel mettre l'unit
-     */
-	public Square addUnitOnSquare(int random1, int random2) {
-		Random random = new Random();
-		int X;
-		int Y;
-		int i;
-		int j;
-		Square posPlayer = players.keySet().iterator().next().getSquare();
-		X = posPlayer.getCoordX();
-		Y = posPlayer.getCoordY();
-
-		i = Math.max(1+random.nextInt(random1), (X-(board.getWidthOfOneMap()-1)/2)+random.nextInt(random1));
-		j = Math.max(1+random.nextInt(random2), (Y-(board.getHeightOfOneMap()-1)/2)+random.nextInt(random2));
-
-		/*if (X - (board.getWidthOfOneMap()-1)/2 < 0) {
-			i = random.nextInt(random1);
-		} else {
-			i = ((board.getWidthOfOneMap()-1)/2) + random.nextInt(random1);
+	 * Picks a random square the first player can reach, in the map-sized
+	 * window around the player.
+	 * @param minDistance The least amount of columns or rows between the
+	 *                    player and the square.
+	 * @return The square, or <code>null</code> if there is none.
+	 */
+	private Square spawnSquare(int minDistance) {
+		Player p = players.keySet().iterator().next();
+		if (spawnIndex == null) {
+			spawnIndex = new ConnectivityIndex(board, p);
 		}
-		if (Y - (board.getHeightOfOneMap()-1)/2 < 0) {
-			j = random.nextInt(random2);
-		} else {
-			j = ((board.getHeightOfOneMap()-1)/2) + random.nextInt(random2);
-		}*/
-		return board.squareAt(i, j);
+		return spawnIndex.sample(p.getSquare(), minDistance, random);
 	}
 
-
-
 	/**
 	 * Permet d'augmenter la vitesse des fantomes
 	 */
@@ -465,38 +841,94 @@ public class Level {
 	}
 
 	/**
-	 * Updates the observers about the state of this level.
+	 * Updates the observers about the state of this level now, rather than
+	 * on the next tick.
 	 */
 	private void updateObservers() {
-		if(!infiniteMode) {
-			if (Ghost.ghostLeft != 4) {
+		observersDue.set(true);
+		tellObservers();
+	}
+
+	/**
+	 * Tells the observers what changed, if anything did since they were last
+	 * told. If another thread is telling them, it is left to tell them about
+	 * these changes too, so that changes made at the same time are told at
+	 * once.
+	 */
+	private void tellObservers() {
+		while (observersDue.get() && observerLock.tryLock()) {
+			try {
+				if (observersDue.getAndSet(false)) {
+					notifyObservers();
+				}
+			} finally {
+				observerLock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Tells the observers what changed in the state of this level since they
+	 * were last told. Each change is told once: winning, losing, every ghost
+	 * eaten and every bullet that died. The bus is told when the players
+	 * start and stop being able to shoot, but the observers are told about a
+	 * shooting player for as long as it shoots, as they fire the bullets.
+	 * Likewise, a player that ate a super pellet asks for the hunter mode
+	 * until {@link #startHunterMode()} starts it, so they are told about it
+	 * every time they are updated until then.
+	 */
+	private void notifyObservers() {
+		if (!infiniteMode) {
+			int missing = Math.max(0, GHOSTS_IN_PLAY - Ghost.ghostLeft);
+			for (int i = Math.min(toldMissingGhosts, missing); i < missing; i++) {
+				events.publish(GameEvent.Type.GHOST_EATEN, null);
 				for (LevelObserver o : observers) {
 					o.respawnGhost();
 				}
 			}
-			if (remainingPellets() == 0) {
+			toldMissingGhosts = Math.max(0, GHOSTS_IN_PLAY - Ghost.ghostLeft);
+			boolean won = remainingPellets() == 0;
+			if (won && !toldWon) {
+				events.publish(GameEvent.Type.LEVEL_WON, null);
 				for (LevelObserver o : observers) {
 					o.levelWon();
 				}
 			}
+			toldWon = won;
 		}
-		if (!isAnyPlayerAlive()) {
+		boolean lost = !isAnyPlayerAlive();
+		if (lost && !toldLost) {
+			events.publish(GameEvent.Type.LEVEL_LOST, null);
 			for (LevelObserver o : observers) {
 				o.levelLost();
 			}
 		}
+		toldLost = lost;
 		if (isAnyPlayerInHunterMode()) {
+			events.publish(GameEvent.Type.HUNTER_MODE_STARTED, null);
 			for (LevelObserver o : observers) {
 				o.startHunterMode();
 			}
 		}
-		if (isAnyPlayerShooting()) {
+		boolean shooting = isAnyPlayerShooting();
+		if (shooting != toldShooting) {
+			events.publish(shooting ? GameEvent.Type.PLAYER_SHOOTING
+					: GameEvent.Type.PLAYER_STOPPED_SHOOTING, null);
+			toldShooting = shooting;
+		}
+		if (shooting) {
 			for (LevelObserver o : observers) {
 				o.ShootingEvent();
 			}
 		}
-		List<Bullet> deadBullets = BulletToClean() ;
-		if(deadBullets.size() > 0) {
+		List<Bullet> deadBullets = BulletToClean();
+		toldDeadBullets.retainAll(deadBullets);
+		deadBullets.removeAll(toldDeadBullets);
+		if (!deadBullets.isEmpty()) {
+			toldDeadBullets.addAll(deadBullets);
+			for (Bullet bullet : deadBullets) {
+				events.publish(GameEvent.Type.BULLET_DIED, bullet);
+			}
 			for (LevelObserver o : observers) {
 				o.bulletCleanEvent(deadBullets, bullets);
 			}
@@ -593,6 +1025,7 @@ public class Level {
 			p.setHunterMode(false);
 			Ghost.ghostAte = 0;
 		}
+		GameEventLog.getLog().record(GameEventLog.Event.HUNTER_MODE_STARTED, null, null, null);
 	}
 
 	/**
@@ -602,6 +1035,7 @@ public class Level {
 	public void stopHunterMode() {
 		Board b = getBoard();
 		timerWarning.cancel();
+		GameEventLog.getLog().record(GameEventLog.Event.HUNTER_MODE_STOPPED, null, null, null);
 		for (int x = 0; x < b.getWidth(); x++) {
 			for (int y = 0; y < b.getHeight(); y++) {
 				for (Unit u : b.squareAt(x, y).getOccupants()) {
@@ -679,6 +1113,52 @@ public class Level {
 		return ghosts;
 	}
 
+	/**
+	 * Returns the remembered shortest paths of the ghosts, or
+	 * <code>null</code> if there are no ghosts yet.
+	 * @return The paths of the ghosts of this level.
+	 */
+	public PathCache getGhostPaths() {
+		return pathFinder;
+	}
+
+	/**
+	 * Returns the time the ghosts may take to decide on their moves every
+	 * tick, and how often they took longer.
+	 * @return The budget of the ghosts of this level.
+	 */
+	public GhostBudget getGhostBudget() {
+		return ghostBudget;
+	}
+
+	/**
+	 * @return The lock units share while moving on the board, ghosts while
+	 *         deciding how to and the UI while painting it, which keeps the
+	 *         board from being extended meanwhile.
+	 */
+	public Lock getSharedLock() {
+		return boardLock.readLock();
+	}
+
+	/**
+	 * Returns the locks of the regions of the board, and how often moves
+	 * waited for one another.
+	 * @return The region locks of this level.
+	 */
+	public RegionLocks getRegionLocks() {
+		return regions;
+	}
+
+	/**
+	 * Returns the bus the events of this level are published on, the same
+	 * ones its observers are told about, to subscribe to without being an
+	 * observer.
+	 * @return The events of this level.
+	 */
+	public GameEventBus getEvents() {
+		return events;
+	}
+
 	/**
 	 * Return the level
 	 * @return The level
@@ -693,8 +1173,7 @@ public class Level {
 	 */
 	public void animateBullet(Bullet b) {
 		MovableCharacter mc = b;
-		ScheduledExecutorService service = Executors
-				.newSingleThreadScheduledExecutor();
+		ScheduledExecutorService service = threads.newService();
 		service.schedule(tks.createCharacterMoveTask(service, mc),
 				mc.getInterval() / 2, TimeUnit.MILLISECONDS);
 		bullets.put(b, service);
@@ -85,9 +85,9 @@ public class LevelFactory {
 			List<Square> startPositions) {
 
 		// We'll adopt the simple collision map for now.
-		CollisionMap collisionMap = new PlayerCollisions();
+		CollisionMap collisionMap = new PlayerCollisions(board);
 		
-		return new Level(board, ghosts, startPositions, collisionMap);
+		return new Level(board, ghosts, startPositions, collisionMap, ghostFact);
 	}
 
 	/**
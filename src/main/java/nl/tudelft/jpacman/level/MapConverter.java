@@ -0,0 +1,62 @@
+package nl.tudelft.jpacman.level;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+
+/**
+ * Converts maps from the text representation to the binary format, which
+ * loads much faster. Usage:
+ * <pre>
+ * java nl.tudelft.jpacman.level.MapConverter board.txt board.jpmb
+ * </pre>
+ */
+public final class MapConverter {
+
+	private MapConverter() {
+	}
+
+	/**
+	 * Converts a text map file into a binary map file.
+	 *
+	 * @param text
+	 *            The text map to read.
+	 * @param binary
+	 *            The binary map to write, replaced if it exists.
+	 * @throws IOException
+	 *             when one of the files could not be read or written.
+	 * @throws PacmanConfigurationException
+	 *             If the text map is not properly formatted.
+	 */
+	public static void convert(Path text, Path binary) throws IOException {
+		MapData map;
+		try (FileChannel in = FileChannel.open(text, StandardOpenOption.READ)) {
+			map = MapScanner.scan(in.map(FileChannel.MapMode.READ_ONLY, 0, in.size()));
+		}
+		try (FileChannel out = FileChannel.open(binary, StandardOpenOption.WRITE,
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			BinaryMapFormat.write(map, out);
+		}
+	}
+
+	/**
+	 * Converts the text map given as first argument into the binary map
+	 * given as second argument.
+	 *
+	 * @param args
+	 *            The text map and the binary map.
+	 * @throws IOException
+	 *             when one of the files could not be read or written.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.err.println("Usage: MapConverter <text map> <binary map>");
+			System.exit(1);
+		}
+		convert(Paths.get(args[0]), Paths.get(args[1]));
+	}
+}
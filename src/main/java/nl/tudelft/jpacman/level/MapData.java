@@ -0,0 +1,248 @@
+package nl.tudelft.jpacman.level;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * The contents of a map file before any square or unit has been created: a
+ * grid of cell characters, either one byte per cell, packed as two
+ * {@link BinaryMapFormat} codes per byte or left in place in the text of the
+ * map, and the teleport and bridge references.
+ */
+final class MapData {
+
+	/**
+	 * The amount of columns.
+	 */
+	private final int width;
+
+	/**
+	 * The amount of rows.
+	 */
+	private final int height;
+
+	/**
+	 * The cell characters or codes, row by row, or <code>null</code> if they
+	 * are left in {@link #text}.
+	 */
+	private final byte[] cells;
+
+	/**
+	 * The text of the map holding the cell characters, or <code>null</code>.
+	 */
+	private final ByteBuffer text;
+
+	/**
+	 * Where each row starts in {@link #text}.
+	 */
+	private final int[] rowStarts;
+
+	/**
+	 * <code>true</code> iff the cells hold two codes per byte.
+	 */
+	private final boolean packed;
+
+	/**
+	 * The coordinates referenced by the teleports.
+	 */
+	private final List<int[]> teleportRefs;
+
+	/**
+	 * The orientation and content of the bridges.
+	 */
+	private final List<char[]> bridgeRefs;
+
+	/**
+	 * The amount of bytes the map was read from.
+	 */
+	private final long size;
+
+	/**
+	 * Creates new map data.
+	 *
+	 * @param width
+	 *            The amount of columns.
+	 * @param height
+	 *            The amount of rows.
+	 * @param cells
+	 *            The cell characters, row by row. May be longer than
+	 *            <code>width * height</code>.
+	 * @param teleportRefs
+	 *            The coordinates referenced by the teleports.
+	 * @param bridgeRefs
+	 *            The orientation and content of the bridges.
+	 * @param size
+	 *            The amount of bytes the map was read from.
+	 */
+	MapData(int width, int height, byte[] cells, List<int[]> teleportRefs,
+			List<char[]> bridgeRefs, long size) {
+		this(width, height, cells, false, teleportRefs, bridgeRefs, size);
+		assert cells.length >= width * height;
+	}
+
+	/**
+	 * Creates new map data.
+	 *
+	 * @param width
+	 *            The amount of columns.
+	 * @param height
+	 *            The amount of rows.
+	 * @param cells
+	 *            The cell characters or codes, row by row.
+	 * @param packed
+	 *            <code>true</code> iff the cells hold two codes per byte.
+	 * @param teleportRefs
+	 *            The coordinates referenced by the teleports.
+	 * @param bridgeRefs
+	 *            The orientation and content of the bridges.
+	 * @param size
+	 *            The amount of bytes the map was read from.
+	 */
+	private MapData(int width, int height, byte[] cells, boolean packed,
+			List<int[]> teleportRefs, List<char[]> bridgeRefs, long size) {
+		this(width, height, cells, packed, null, null, teleportRefs, bridgeRefs, size);
+	}
+
+	/**
+	 * Creates new map data.
+	 *
+	 * @param width
+	 *            The amount of columns.
+	 * @param height
+	 *            The amount of rows.
+	 * @param cells
+	 *            The cell characters or codes, row by row, or
+	 *            <code>null</code>.
+	 * @param packed
+	 *            <code>true</code> iff the cells hold two codes per byte.
+	 * @param text
+	 *            The text holding the cell characters if there are no cells,
+	 *            or <code>null</code>.
+	 * @param rowStarts
+	 *            Where each row starts in the text, or <code>null</code>.
+	 * @param teleportRefs
+	 *            The coordinates referenced by the teleports.
+	 * @param bridgeRefs
+	 *            The orientation and content of the bridges.
+	 * @param size
+	 *            The amount of bytes the map was read from.
+	 */
+	private MapData(int width, int height, byte[] cells, boolean packed, ByteBuffer text,
+			int[] rowStarts, List<int[]> teleportRefs, List<char[]> bridgeRefs, long size) {
+		this.width = width;
+		this.height = height;
+		this.cells = cells;
+		this.packed = packed;
+		this.text = text;
+		this.rowStarts = rowStarts;
+		this.teleportRefs = teleportRefs;
+		this.bridgeRefs = bridgeRefs;
+		this.size = size;
+	}
+
+	/**
+	 * Creates new map data from packed codes.
+	 *
+	 * @param width
+	 *            The amount of columns.
+	 * @param height
+	 *            The amount of rows.
+	 * @param codes
+	 *            The {@link BinaryMapFormat} codes of the cells, row by row,
+	 *            two per byte with the first in the high nibble.
+	 * @param teleportRefs
+	 *            The coordinates referenced by the teleports.
+	 * @param bridgeRefs
+	 *            The orientation and content of the bridges.
+	 * @param size
+	 *            The amount of bytes the map was read from.
+	 * @return The map data.
+	 */
+	static MapData packed(int width, int height, byte[] codes, List<int[]> teleportRefs,
+			List<char[]> bridgeRefs, long size) {
+		assert codes.length >= ((long) width * height + 1) / 2;
+		return new MapData(width, height, codes, true, teleportRefs, bridgeRefs, size);
+	}
+
+	/**
+	 * Creates new map data whose cells are left in the text of the map.
+	 *
+	 * @param width
+	 *            The amount of columns.
+	 * @param height
+	 *            The amount of rows.
+	 * @param text
+	 *            The text of the map, which must not change while the map
+	 *            data is used.
+	 * @param rowStarts
+	 *            Where each row starts in the text. May be longer than
+	 *            <code>height</code>.
+	 * @param teleportRefs
+	 *            The coordinates referenced by the teleports.
+	 * @param bridgeRefs
+	 *            The orientation and content of the bridges.
+	 * @param size
+	 *            The amount of bytes the map was read from.
+	 * @return The map data.
+	 */
+	static MapData inPlace(int width, int height, ByteBuffer text, int[] rowStarts,
+			List<int[]> teleportRefs, List<char[]> bridgeRefs, long size) {
+		assert rowStarts.length >= height;
+		return new MapData(width, height, null, false, text, rowStarts, teleportRefs,
+				bridgeRefs, size);
+	}
+
+	/**
+	 * @return The amount of columns.
+	 */
+	int getWidth() {
+		return width;
+	}
+
+	/**
+	 * @return The amount of rows.
+	 */
+	int getHeight() {
+		return height;
+	}
+
+	/**
+	 * @param x
+	 *            The column of the cell.
+	 * @param y
+	 *            The row of the cell.
+	 * @return The character of the cell.
+	 */
+	char cellAt(int x, int y) {
+		if (text != null) {
+			return (char) (text.get(rowStarts[y] + x) & 0xFF);
+		}
+		int index = y * width + x;
+		if (packed) {
+			int b = cells[index >> 1];
+			return BinaryMapFormat.decode((index & 1) == 0 ? (b >> 4) & 0xF : b & 0xF);
+		}
+		return (char) (cells[index] & 0xFF);
+	}
+
+	/**
+	 * @return The coordinates referenced by the teleports.
+	 */
+	List<int[]> getTeleportRefs() {
+		return teleportRefs;
+	}
+
+	/**
+	 * @return The orientation and content of the bridges.
+	 */
+	List<char[]> getBridgeRefs() {
+		return bridgeRefs;
+	}
+
+	/**
+	 * @return The amount of bytes the map was read from.
+	 */
+	long getSize() {
+		return size;
+	}
+}
@@ -1,9 +1,13 @@
 package nl.tudelft.jpacman.level;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -12,6 +16,7 @@ import nl.tudelft.jpacman.PacmanConfigurationException;
 import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.BoardFactory;
 import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.GridBands;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.npc.NPC;
@@ -38,6 +43,11 @@ public class MapParser {
 	 */
 	private final BoardFactory boardCreator;
 
+	/**
+	 * The speed at which the last map was read, in MB per second.
+	 */
+	private volatile double lastThroughput;
+
 	/**
 	 * Creates a new map parser.
 	 * 
@@ -118,6 +128,7 @@ public class MapParser {
 
 		makeGrid(map, width, height, grid, ghosts, startPositions, teleportList, bridgeList);
 		Board board = boardCreator.createBoard(grid);
+		onBoard(startPositions, board);
 		setTeleports(teleportList, teleportrefs, board);
 		setBridges(bridgeList, bridgeRefs);
 		return  levelCreator.createLevel(board, ghosts, startPositions);
@@ -188,6 +199,7 @@ public class MapParser {
 
 		makeGrid(map, width, height, grid, ghosts, startPositions, null, null);
 		Board board = boardCreator.createBoard(grid);
+		onBoard(startPositions, board);
 		return levelCreator.createLevel(board, ghosts, startPositions);
 	}
 	
@@ -234,16 +246,86 @@ public class MapParser {
 		}
 	}
 
+	/**
+	 * Replaces squares of the grid by the squares at the same position on
+	 * the board created from it, which differ for compact boards.
+	 *
+	 * @param squares
+	 *            The squares of the grid.
+	 * @param board
+	 *            The board created from the grid.
+	 */
+	private static void onBoard(List<Square> squares, Board board) {
+		squares.replaceAll(s -> board.squareAt(s.getCoordX(), s.getCoordY()));
+	}
+
+	private void makeGrid(MapData map, Square[][] grid, List<NPC> ghosts,
+			List<Square> startPositions, List<Teleport> teleportList, List<Bridge> bridgeList) {
+		makeGrid(map::cellAt, map.getWidth(), map.getHeight(), grid, ghosts, startPositions,
+				teleportList, bridgeList);
+	}
+
 	private void makeGrid(char[][] map, int width, int height, Square[][] grid, List<NPC> ghosts,
 	        List<Square> startPositions, List<Teleport> teleportList, List<Bridge> bridgeList) {
+		makeGrid((x, y) -> map[x][y], width, height, grid, ghosts, startPositions,
+				teleportList, bridgeList);
+	}
+
+	/**
+	 * Creates the squares of a grid. Squares without state shared between
+	 * them are created first, in parallel bands of columns for large maps.
+	 * The others are then created in column order on this thread, so ghosts
+	 * are handed out in the same round-robin order and teleports and bridges
+	 * match their references as when the whole grid is created serially.
+	 */
+	private void makeGrid(Cells map, int width, int height, Square[][] grid, List<NPC> ghosts,
+			List<Square> startPositions, List<Teleport> teleportList, List<Bridge> bridgeList) {
+		GridBands.forEach(width, height, (fromX, toX) -> {
+			for (int x = fromX; x < toX; x++) {
+				for (int y = 0; y < height; y++) {
+					char c = map.cellAt(x, y);
+					if (isIndependent(c)) {
+						addSquare(grid, null, null, x, y, c, null, null);
+					}
+				}
+			}
+		});
 		for (int x = 0; x < width; x++) {
 			for (int y = 0; y < height; y++) {
-				char c = map[x][y];
-				addSquare(grid, ghosts, startPositions, x, y, c, teleportList, bridgeList);
+				char c = map.cellAt(x, y);
+				if (!isIndependent(c)) {
+					addSquare(grid, ghosts, startPositions, x, y, c, teleportList, bridgeList);
+				}
 			}
 		}
 	}
 
+	/**
+	 * @param c
+	 *            The character of a square.
+	 * @return <code>true</code> iff the square can be created without
+	 *         touching the lists or counters shared by all squares.
+	 */
+	private static boolean isIndependent(char c) {
+		return c == ' ' || c == '#' || c == '.' || c == 'H';
+	}
+
+	/**
+	 * The characters of a map, by position.
+	 */
+	@FunctionalInterface
+	private interface Cells {
+
+		/**
+		 * @param x
+		 *            The column of the cell.
+		 * @param y
+		 *            The row of the cell.
+		 * @return The character of the cell.
+		 */
+		char cellAt(int x, int y);
+	}
+
 	private void addSquare(Square[][] grid, List<NPC> ghosts,
 								   List<Square> startPositions, int x, int y, char c,
 						   List<Teleport> teleportList,
@@ -332,8 +414,7 @@ public class MapParser {
 			}
 		}
 
-		Launcher launcher = Launcher.getLauncher();
-		if(launcher.getBoardToUse().equals("/boardFruit.txt")) {
+		if(usesReferences()) {
 			firstSectionEnd++;
 			int secondSectionEnd = findSectionWidth(text, height, firstSectionEnd);
 			List<int[]> teleportRefs = parseTeleport(text, firstSectionEnd, secondSectionEnd);
@@ -344,6 +425,16 @@ public class MapParser {
 		return parseMap(map);
 	}
 	
+	/**
+	 * Determines whether the teleport and bridge sections of the map are
+	 * used, which is only the case for the board with fruits.
+	 * @return <code>true</code> iff the references should be parsed.
+	 */
+	private boolean usesReferences() {
+		Launcher launcher = Launcher.getLauncher();
+		return launcher.getBoardToUse().equals("/boardFruit.txt");
+	}
+
 	private int findSectionWidth(List<String> text, int height, int start){
 		int result;
 		for (result = start; result < height && (text.get(result).charAt(0) != SEPARATOR); result++){}
@@ -382,26 +473,142 @@ public class MapParser {
 	}
 
 	/**
-	 * Parses the provided input stream as a character stream and passes it
-	 * result to {@link #parseMap(List)}.
+	 * Parses the provided input stream and closes it.
 	 * 
 	 * @param source
 	 *            The input stream that will be read.
 	 * @return The parsed level as represented by the text on the input stream.
 	 * @throws IOException
 	 *             when the source could not be read.
+	 * @see #parseMap(ReadableByteChannel)
 	 */
 	public Level parseMap(InputStream source) throws IOException {
-		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
-				source, "UTF-8"))) {
-			List<String> lines = new ArrayList<>();
-			while (reader.ready()) {
-				lines.add(reader.readLine());
+		try (ReadableByteChannel channel = Channels.newChannel(source)) {
+			return parseMap(channel);
+		}
+	}
+
+	/**
+	 * Parses the text representation of a map, as described in
+	 * {@link #parseMap(char[][], List, List)}, from a channel until its end.
+	 * The channel is read in a single pass through a buffer of constant size
+	 * and the grid is stored with one byte per square, so that large
+	 * generated maps can be loaded without holding their text in memory.
+	 * 
+	 * @param source
+	 *            The channel that will be read.
+	 * @return The parsed level as represented by the text on the channel.
+	 * @throws IOException
+	 *             when the source could not be read.
+	 * @throws PacmanConfigurationException
+	 *             If the text is not properly formatted.
+	 */
+	public Level parseMap(ReadableByteChannel source) throws IOException {
+		long start = System.nanoTime();
+		MapData map = MapScanner.scan(source);
+		recordThroughput(map, start);
+		return parseMap(map);
+	}
+
+	/**
+	 * Parses a map from a file, either in the text representation described
+	 * in {@link #parseMap(char[][], List, List)} or in the binary format
+	 * written by {@link MapConverter}, recognised by its first bytes. The
+	 * file is memory mapped and read in place, which is the fastest way to
+	 * load very large generated maps.
+	 * 
+	 * @param file
+	 *            The file that will be read.
+	 * @return The parsed level as represented by the file.
+	 * @throws IOException
+	 *             when the file could not be read.
+	 * @throws PacmanConfigurationException
+	 *             If the text is not properly formatted or the file is larger
+	 *             than 2 GB.
+	 */
+	public Level parseMap(Path file) throws IOException {
+		long start = System.nanoTime();
+		MapData map;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new PacmanConfigurationException(
+						"Map files cannot be larger than 2 GB: " + file);
+			}
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			if (BinaryMapFormat.isBinary(buffer)) {
+				map = BinaryMapFormat.read(buffer);
+			} else {
+				map = MapScanner.scan(buffer);
 			}
-			return parseMap(lines);
 		}
+		recordThroughput(map, start);
+		return parseMap(map);
 	}
-	
+
+	/**
+	 * Parses a map in the binary format written by {@link MapConverter} from
+	 * a channel.
+	 * 
+	 * @param source
+	 *            The channel that will be read.
+	 * @return The parsed level as represented by the binary map.
+	 * @throws IOException
+	 *             when the source could not be read.
+	 * @throws PacmanConfigurationException
+	 *             If the source does not contain a valid binary map.
+	 */
+	public Level parseBinaryMap(ReadableByteChannel source) throws IOException {
+		long start = System.nanoTime();
+		MapData map = BinaryMapFormat.read(source);
+		recordThroughput(map, start);
+		return parseMap(map);
+	}
+
+	/**
+	 * Returns the speed at which the last map was read by
+	 * {@link #parseMap(ReadableByteChannel)}, {@link #parseMap(Path)} or
+	 * {@link #parseBinaryMap(ReadableByteChannel)}. Creating the squares and units of the level is
+	 * not included.
+	 * 
+	 * @return The throughput in MB (2^20 bytes) per second, or 0 if no map was
+	 *         read yet.
+	 */
+	public double getLastThroughput() {
+		return lastThroughput;
+	}
+
+	private void recordThroughput(MapData map, long start) {
+		long elapsed = Math.max(1L, System.nanoTime() - start);
+		lastThroughput = map.getSize() / (double) (1 << 20) / (elapsed / 1e9);
+	}
+
+	/**
+	 * Creates the level described by scanned map data. The teleport and bridge
+	 * references are only used when {@link #parseMap(List)} would use them.
+	 * 
+	 * @param map
+	 *            The scanned map.
+	 * @return The level as represented by the map.
+	 */
+	Level parseMap(MapData map) {
+		Square[][] grid = new Square[map.getWidth()][map.getHeight()];
+
+		List<NPC> ghosts = new ArrayList<>();
+		List<Square> startPositions = new ArrayList<>();
+		List<Teleport> teleportList = new ArrayList<>();
+		List<Bridge> bridgeList = new ArrayList<>();
+
+		makeGrid(map, grid, ghosts, startPositions, teleportList, bridgeList);
+		Board board = boardCreator.createBoard(grid);
+		onBoard(startPositions, board);
+		if (usesReferences()) {
+			setTeleports(teleportList, map.getTeleportRefs(), board);
+			setBridges(bridgeList, map.getBridgeRefs());
+		}
+		return levelCreator.createLevel(board, ghosts, startPositions);
+	}
+
 	/**
 	 * Parses the list of strings into a list of array containing the coordinates of
 	 * the Square objects referenced a teleport
@@ -0,0 +1,385 @@
+package nl.tudelft.jpacman.level;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+
+/**
+ * Reads the text representation of a map in a single pass, as described in
+ * {@link MapParser#parseMap(char[][], List, List)}. Bytes are read through a
+ * buffer of constant size, and grid cells are stored directly, one byte each,
+ * without building lines or strings. A buffer holding the whole map, e.g. a
+ * memory mapped file, is not copied at all: only where each row of the grid
+ * starts in it is kept.
+ */
+final class MapScanner {
+
+	/**
+	 * The default size of the read buffer.
+	 */
+	static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * The character starting a line that separates sections.
+	 */
+	private static final byte SEPARATOR = '-';
+
+	/**
+	 * The section containing the grid.
+	 */
+	private static final int GRID = 0;
+
+	/**
+	 * The section containing the teleport references.
+	 */
+	private static final int TELEPORTS = 1;
+
+	/**
+	 * The section containing the bridge references.
+	 */
+	private static final int BRIDGES = 2;
+
+	/**
+	 * The grid cells read so far, row by row.
+	 */
+	private byte[] cells;
+
+	/**
+	 * The amount of cells read so far.
+	 */
+	private int cellCount;
+
+	/**
+	 * Where each row of the grid starts in {@link #text}.
+	 */
+	private int[] rowStarts = new int[64];
+
+	/**
+	 * The buffer holding the whole map when it is read in place, or
+	 * <code>null</code>.
+	 */
+	private ByteBuffer text;
+
+	/**
+	 * The width of the grid, or -1 until the first row has been read.
+	 */
+	private int width = -1;
+
+	/**
+	 * The amount of complete rows of the grid.
+	 */
+	private int height;
+
+	/**
+	 * The section currently being read.
+	 */
+	private int section = GRID;
+
+	/**
+	 * The amount of characters read on the current line.
+	 */
+	private int column;
+
+	/**
+	 * <code>true</code> iff the current line separates sections.
+	 */
+	private boolean separatorLine;
+
+	/**
+	 * The characters of the current line of a reference section.
+	 */
+	private byte[] line = new byte[64];
+
+	/**
+	 * The coordinates referenced by the teleports.
+	 */
+	private final List<int[]> teleportRefs = new ArrayList<>();
+
+	/**
+	 * The orientation and content of the bridges.
+	 */
+	private final List<char[]> bridgeRefs = new ArrayList<>();
+
+	/**
+	 * The amount of bytes read.
+	 */
+	private long size;
+
+	/**
+	 * Creates a new scanner.
+	 *
+	 * @param capacity
+	 *            The expected amount of grid cells.
+	 */
+	private MapScanner(int capacity) {
+		this.cells = new byte[Math.max(1, capacity)];
+	}
+
+	/**
+	 * Reads a map from a channel until its end.
+	 *
+	 * @param channel
+	 *            The channel to read.
+	 * @return The map read.
+	 * @throws IOException
+	 *             when the channel could not be read.
+	 * @throws PacmanConfigurationException
+	 *             if the map is not properly formatted.
+	 */
+	static MapData scan(ReadableByteChannel channel) throws IOException {
+		MapScanner scanner = new MapScanner(BUFFER_SIZE);
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		while (channel.read(buffer) >= 0) {
+			buffer.flip();
+			scanner.feed(buffer);
+			buffer.clear();
+		}
+		return scanner.finish();
+	}
+
+	/**
+	 * Reads a map in place from a buffer holding all of it, e.g. a memory
+	 * mapped file. The grid is not copied; the map read looks its cells up
+	 * in the buffer, which must not change while the map is used.
+	 *
+	 * @param buffer
+	 *            The buffer to read, from its position to its limit.
+	 * @return The map read.
+	 * @throws PacmanConfigurationException
+	 *             if the map is not properly formatted.
+	 */
+	static MapData scan(ByteBuffer buffer) {
+		MapScanner scanner = new MapScanner(0);
+		scanner.index(buffer.slice());
+		return scanner.finish();
+	}
+
+	/**
+	 * Finds the rows of the grid in a buffer holding the whole map, then
+	 * processes the reference sections after it.
+	 *
+	 * @param buffer
+	 *            The buffer to read, from its start to its limit.
+	 */
+	private void index(ByteBuffer buffer) {
+		text = buffer;
+		int limit = buffer.limit();
+		int start = 0;
+		while (start < limit && section == GRID) {
+			int end = start;
+			while (end < limit && buffer.get(end) != '\n') {
+				end++;
+			}
+			int lineEnd = end;
+			if (lineEnd > start && buffer.get(lineEnd - 1) == '\r') {
+				lineEnd--;
+			}
+			if (lineEnd > start && buffer.get(start) == SEPARATOR) {
+				section++;
+			} else {
+				column = lineEnd - start;
+				addRow(start);
+				endRow();
+				column = 0;
+			}
+			start = end + 1;
+		}
+		int rest = Math.min(start, limit);
+		buffer.position(rest);
+		size = rest;
+		feed(buffer);
+	}
+
+	/**
+	 * Processes all remaining bytes of a buffer.
+	 *
+	 * @param buffer
+	 *            The buffer to read.
+	 */
+	private void feed(ByteBuffer buffer) {
+		size += buffer.remaining();
+		while (buffer.hasRemaining()) {
+			byte b = buffer.get();
+			if (b == '\n') {
+				endLine();
+			} else if (b != '\r') {
+				accept(b);
+			}
+		}
+	}
+
+	/**
+	 * Processes a character of the current line.
+	 *
+	 * @param b
+	 *            The character.
+	 */
+	private void accept(byte b) {
+		if (column == 0 && b == SEPARATOR) {
+			separatorLine = true;
+		}
+		column++;
+		if (separatorLine) {
+			return;
+		}
+		if (section == GRID) {
+			if (cellCount == cells.length) {
+				cells = Arrays.copyOf(cells, cells.length * 2);
+			}
+			cells[cellCount++] = b;
+		} else {
+			if (column > line.length) {
+				line = Arrays.copyOf(line, line.length * 2);
+			}
+			line[column - 1] = b;
+		}
+	}
+
+	/**
+	 * Records where a row of the grid starts.
+	 *
+	 * @param start
+	 *            The index of the row's first cell.
+	 */
+	private void addRow(int start) {
+		if (height == rowStarts.length) {
+			rowStarts = Arrays.copyOf(rowStarts, rowStarts.length * 2);
+		}
+		rowStarts[height] = start;
+	}
+
+	/**
+	 * Completes the current line.
+	 */
+	private void endLine() {
+		if (separatorLine) {
+			section++;
+			if (section > BRIDGES) {
+				throw new PacmanConfigurationException(
+						"A map cannot have more than three sections.");
+			}
+		} else if (section == GRID) {
+			endRow();
+		} else if (section == TELEPORTS) {
+			parseTeleport();
+		} else {
+			parseBridge();
+		}
+		column = 0;
+		separatorLine = false;
+	}
+
+	/**
+	 * Completes a row of the grid.
+	 */
+	private void endRow() {
+		if (width < 0) {
+			if (column == 0) {
+				throw new PacmanConfigurationException(
+						"Input text lines cannot be empty.");
+			}
+			width = column;
+		} else if (column != width) {
+			throw new PacmanConfigurationException(
+					"Input text lines are not of equal width.");
+		}
+		height++;
+	}
+
+	/**
+	 * Parses the current line as two positive integers separated by spaces.
+	 */
+	private void parseTeleport() {
+		int[] ref = new int[2];
+		int count = 0;
+		boolean inNumber = false;
+		for (int i = 0; i < column; i++) {
+			byte b = line[i];
+			if (b >= '0' && b <= '9') {
+				if (!inNumber) {
+					if (count == ref.length) {
+						throw teleportFormat();
+					}
+					inNumber = true;
+					count++;
+				}
+				ref[count - 1] = ref[count - 1] * 10 + (b - '0');
+				if (ref[count - 1] < 0) {
+					throw teleportFormat();
+				}
+			} else if (b == ' ') {
+				inNumber = false;
+			} else {
+				throw teleportFormat();
+			}
+		}
+		if (count != ref.length) {
+			throw teleportFormat();
+		}
+		teleportRefs.add(ref);
+	}
+
+	/**
+	 * @return The exception for a malformed teleport reference.
+	 */
+	private static PacmanConfigurationException teleportFormat() {
+		return new PacmanConfigurationException(
+				"The teleport refereces section must contain two positive "
+						+ "integer separated by a white space");
+	}
+
+	/**
+	 * Parses the current line as two characters separated by spaces.
+	 */
+	private void parseBridge() {
+		char[] ref = new char[2];
+		int count = 0;
+		boolean inToken = false;
+		for (int i = 0; i < column; i++) {
+			byte b = line[i];
+			if (b == ' ') {
+				inToken = false;
+			} else if (inToken || count == ref.length) {
+				throw new PacmanConfigurationException("Bridge data must contain two character "
+						+ "separated by only one space");
+			} else {
+				inToken = true;
+				ref[count++] = (char) (b & 0xFF);
+			}
+		}
+		if (count != ref.length) {
+			throw new PacmanConfigurationException("Bridge data must contain two character "
+					+ "separated by only one space");
+		}
+		if (ref[0] != 'H' && ref[0] != 'V' || ref[1] != 'P' && ref[1] != 'N' && ref[1] != 'F') {
+			throw new PacmanConfigurationException("Incorrect Bridge data : " + ref[0] + ref[1]);
+		}
+		bridgeRefs.add(ref);
+	}
+
+	/**
+	 * Completes the last line, if it has no line break, and checks a grid
+	 * has been read.
+	 *
+	 * @return The map read.
+	 */
+	private MapData finish() {
+		if (column > 0 || separatorLine) {
+			endLine();
+		}
+		if (height == 0) {
+			throw new PacmanConfigurationException(
+					"Input text must consist of at least 1 row.");
+		}
+		if (text != null) {
+			return MapData.inPlace(width, height, text, rowStarts, teleportRefs, bridgeRefs,
+					size);
+		}
+		return new MapData(width, height, cells, teleportRefs, bridgeRefs, size);
+	}
+}
@@ -3,6 +3,7 @@ package nl.tudelft.jpacman.level;
 import java.util.Map;
 
 import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.sprite.Sprite;
 
@@ -27,6 +28,13 @@ public abstract class MovableCharacter extends Unit {
 	 */
 	private Map<Direction, Sprite> sprites;
 
+	/**
+	 * The last move of this character, or <code>null</code> if it never
+	 * moved. Replaced as a whole on every move, so that other threads always
+	 * see one move complete.
+	 */
+	private volatile Move lastMove;
+
 	/**
 	 * The time that should be taken between moves.
 	 * 
@@ -92,4 +100,93 @@ public abstract class MovableCharacter extends Unit {
 	public boolean isMovable() {
 		return movable;
 	}
+
+	/**
+	 * Records a move of this character, so that it can be displayed
+	 * in between the square it left and the square it now occupies.
+	 * @param from The square this character left.
+	 * @param time The {@link System#currentTimeMillis()} stamp of the move.
+	 * @param duration The time until this character moves again, in
+	 *                 milliseconds, as scheduled by whatever moved it.
+	 */
+	void recordMove(Square from, long time, long duration) {
+		lastMove = new Move(from, getSquare(), time, duration);
+	}
+
+	/**
+	 * Returns the last move of this character.
+	 * @return The last move of this character, or <code>null</code> if it
+	 *         never moved.
+	 */
+	public Move getLastMove() {
+		return lastMove;
+	}
+
+	/**
+	 * A move of a character from one square to another.
+	 */
+	public static final class Move {
+
+		/**
+		 * The square the character left.
+		 */
+		private final Square from;
+
+		/**
+		 * The square the character moved to.
+		 */
+		private final Square to;
+
+		/**
+		 * The {@link System#currentTimeMillis()} stamp of the move.
+		 */
+		private final long time;
+
+		/**
+		 * The time in milliseconds the move is expected to take, i.e. the
+		 * interval until the next move.
+		 */
+		private final long duration;
+
+		/**
+		 * @param from The square the character left.
+		 * @param to The square the character moved to.
+		 * @param time The {@link System#currentTimeMillis()} stamp of the move.
+		 * @param duration The time the move is expected to take.
+		 */
+		public Move(Square from, Square to, long time, long duration) {
+			this.from = from;
+			this.to = to;
+			this.time = time;
+			this.duration = duration;
+		}
+
+		/**
+		 * @return The square the character left.
+		 */
+		public Square getFrom() {
+			return from;
+		}
+
+		/**
+		 * @return The square the character moved to.
+		 */
+		public Square getTo() {
+			return to;
+		}
+
+		/**
+		 * @return The {@link System#currentTimeMillis()} stamp of the move.
+		 */
+		public long getTime() {
+			return time;
+		}
+
+		/**
+		 * @return The time the move is expected to take, in milliseconds.
+		 */
+		public long getDuration() {
+			return duration;
+		}
+	}
 }
@@ -38,7 +38,7 @@ public class Player extends MovableCharacter {
 	/**
 	 * <code>true</code> iff this player is alive.
 	 */
-	private boolean alive;
+	private volatile boolean alive;
 	
 	/**
 	 * <code>true</code> iff this player is invisible.
@@ -48,12 +48,19 @@ public class Player extends MovableCharacter {
 	/**
 	 * <code>true</code> iff this player is firing bullets.
 	 */
-	private boolean shooting;
+	private volatile boolean shooting;
 
 	/**
-	 * <code>true</code> iff this player is under the Hunter Mode.
+	 * <code>true</code> iff this player ate a super pellet and the Hunter Mode
+	 * was not started for it yet.
 	 */
-	private boolean hunterMode;
+	private volatile boolean hunterMode;
+
+	/**
+	 * The directions requested by the user, applied at the start of the next
+	 * move of this player.
+	 */
+	private final DirectionQueue inputQueue = new DirectionQueue();
 
 	/**
 	 * Creates a new player with a score of 0 points.
@@ -193,14 +200,32 @@ public class Player extends MovableCharacter {
      */
 	public void setDirection(Direction direction) {
 		Square square = getSquare();
-		System.out.println(square);
 		if(isMovable() && square.getSquareAt(direction).isAccessibleTo(this)) {
 			super.setDirection(direction);
 		}
 	}
 
+	/**
+	 * Requests this player to change direction at the start of its next
+	 * move. Can be called from any single thread, e.g. the user interface,
+	 * without waiting for the simulation.
+	 * @param direction The requested direction.
+	 * @return <code>true</code> iff the request was queued.
+	 */
+	public boolean queueDirection(Direction direction) {
+		return inputQueue.offer(direction);
+	}
+
+	/**
+	 * @return The queue of requested directions, e.g. to read its latency.
+	 */
+	public DirectionQueue getInputQueue() {
+		return inputQueue;
+	}
+
 	@Override
 	public Direction nextMove() {
+		inputQueue.drain(this::setDirection);
 		return getDirection();
 	}
 }
\ No newline at end of file
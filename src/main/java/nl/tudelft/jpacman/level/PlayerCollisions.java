@@ -5,6 +5,8 @@ import java.util.List;
 import java.util.Timer;
 import java.util.TimerTask;
 
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.fruit.Fruit;
 import nl.tudelft.jpacman.npc.Bullet;
@@ -27,9 +29,34 @@ public class PlayerCollisions implements CollisionMap {
      */
     public static List<Ghost> ateGhost = new ArrayList<>();
 
+    /**
+     * The board told about the squares whose occupants change in a
+     * collision, or <code>null</code> if none is.
+     */
+    private final Board board;
+
+    /**
+     * Creates collisions that tell no board about the squares they change.
+     */
+    public PlayerCollisions() {
+        this(null);
+    }
+
+    /**
+     * Creates collisions on a board.
+     *
+     * @param board The board to tell about the squares whose occupants
+     *              change in a collision.
+     */
+    public PlayerCollisions(Board board) {
+        this.board = board;
+    }
+
     @Override
     public void collide(Unit mover, Unit collidedOn) {
         if(mover.isOnBridge() == collidedOn.isOnBridge()){
+            GameEventLog.getLog().record(GameEventLog.Event.COLLISION, mover, mover.getSquare(),
+                    collidedOn);
             if (mover instanceof Player) {
                 playerColliding((Player) mover, collidedOn);
             }
@@ -112,7 +139,7 @@ public class PlayerCollisions implements CollisionMap {
             TimerTask timerTask = new TimerTask() {
                 public void run() {
                     ateGhost.add(ghost);
-                    ghost.leaveSquare();
+                    leave(ghost);
                     Ghost.ghostLeft--;
                 }
             };
@@ -145,7 +172,7 @@ public class PlayerCollisions implements CollisionMap {
     public void playerVersusEatableGhost(Player player, Ghost ghost)
     {
         ateGhost.add(ghost);
-        ghost.leaveSquare();
+        leave(ghost);
         Ghost.ghostLeft--;
         Ghost.ghostAte++;
         if(Ghost.ghostAte == 1){
@@ -169,7 +196,7 @@ public class PlayerCollisions implements CollisionMap {
      * @param pellet The pellet involved in the collision.
      */
     public void playerVersusPellet(Player player, Pellet pellet) {
-        pellet.leaveSquare();
+        leave(pellet);
         player.addPoints(pellet.getValue());
         if(pellet.getValue() == LevelFactory.getSuperPelletValue()) {
             player.setHunterMode(true);
@@ -184,7 +211,7 @@ public class PlayerCollisions implements CollisionMap {
      */
     public void characterVersusHole(Unit unit, Hole hole) {
         if(unit instanceof MovableCharacter) {
-            hole.leaveSquare();
+            leave(hole);
             hole.effect((MovableCharacter) unit);
         }
     }
@@ -216,7 +243,31 @@ public class PlayerCollisions implements CollisionMap {
      * @param fruit The fruit involved in the collision.
      */
     public void playerVersusFruit(Player player, Fruit fruit) {
-        fruit.leaveSquare();
+        leave(fruit);
         fruit.fruitEffect(player);
     }
-}
\ No newline at end of file
+
+    /**
+     * Removes a unit from the board, telling the board its square changed.
+     *
+     * @param unit The unit to remove.
+     */
+    private void leave(Unit unit) {
+        Square square = unit.getSquare();
+        unit.leaveSquare();
+        if (square != null) {
+            squareChanged(square);
+        }
+    }
+
+    /**
+     * Tells the board the occupants of a square changed in a collision.
+     *
+     * @param square The square that changed.
+     */
+    void squareChanged(Square square) {
+        if (board != null) {
+            board.notifySquareChanged(square);
+        }
+    }
+}
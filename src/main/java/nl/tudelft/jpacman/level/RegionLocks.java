@@ -0,0 +1,146 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import nl.tudelft.jpacman.board.Square;
+
+/**
+ * Locks for the regions of a board, so that units moving in different regions
+ * do not wait for one another. The board is divided into square chunks, and
+ * the chunks share a fixed amount of locks. A move locks the regions of all
+ * squares it involves at once, always in the order of the locks, so that two
+ * moves can never wait for each other.
+ */
+public class RegionLocks {
+
+	/**
+	 * The amount of columns and rows of a chunk.
+	 */
+	private final int chunkSize;
+
+	/**
+	 * The locks, a power of two of them.
+	 */
+	private final ReentrantLock[] stripes;
+
+	/**
+	 * The amount of times regions were locked.
+	 */
+	private final AtomicLong acquisitions = new AtomicLong();
+
+	/**
+	 * The amount of times a lock was held by another move.
+	 */
+	private final AtomicLong contentions = new AtomicLong();
+
+	/**
+	 * The total time spent waiting for locks held by other moves.
+	 */
+	private final AtomicLong waitNanos = new AtomicLong();
+
+	/**
+	 * Creates the locks.
+	 *
+	 * @param chunkSize
+	 *            The amount of columns and rows of a chunk.
+	 * @param stripes
+	 *            The amount of locks, a power of two.
+	 */
+	public RegionLocks(int chunkSize, int stripes) {
+		assert chunkSize > 0;
+		assert stripes > 0 && Integer.bitCount(stripes) == 1;
+		this.chunkSize = chunkSize;
+		this.stripes = new ReentrantLock[stripes];
+		for (int i = 0; i < stripes; i++) {
+			this.stripes[i] = new ReentrantLock();
+		}
+	}
+
+	/**
+	 * @param square
+	 *            A square.
+	 * @return The number of the lock of the region of the square.
+	 */
+	int stripeOf(Square square) {
+		int cx = Math.floorDiv(square.getCoordX(), chunkSize);
+		int cy = Math.floorDiv(square.getCoordY(), chunkSize);
+		int hash = cx * 0x9E3779B1 + cy * 0x85EBCA6B;
+		return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+	}
+
+	/**
+	 * Locks the regions of some squares, waiting for other moves in those
+	 * regions to finish.
+	 *
+	 * @param squares
+	 *            The squares, of which some may be <code>null</code>.
+	 * @return The numbers of the locks held, to pass to
+	 *         {@link #unlock(int[])}.
+	 */
+	int[] lock(Square... squares) {
+		int[] held = new int[squares.length];
+		int count = 0;
+		for (Square square : squares) {
+			if (square != null) {
+				held[count++] = stripeOf(square);
+			}
+		}
+		Arrays.sort(held, 0, count);
+		int distinct = 0;
+		for (int i = 0; i < count; i++) {
+			if (distinct == 0 || held[distinct - 1] != held[i]) {
+				held[distinct++] = held[i];
+			}
+		}
+		held = Arrays.copyOf(held, distinct);
+		for (int stripe : held) {
+			ReentrantLock lock = stripes[stripe];
+			if (!lock.tryLock()) {
+				contentions.incrementAndGet();
+				long start = System.nanoTime();
+				lock.lock();
+				waitNanos.addAndGet(System.nanoTime() - start);
+			}
+		}
+		acquisitions.incrementAndGet();
+		return held;
+	}
+
+	/**
+	 * Unlocks regions locked by {@link #lock(Square...)}.
+	 *
+	 * @param held
+	 *            The numbers of the locks held.
+	 */
+	void unlock(int[] held) {
+		for (int i = held.length - 1; i >= 0; i--) {
+			stripes[held[i]].unlock();
+		}
+	}
+
+	/**
+	 * @return The amount of times regions were locked so far.
+	 */
+	public long getAcquisitions() {
+		return acquisitions.get();
+	}
+
+	/**
+	 * @return The amount of times so far a move found a region locked by
+	 *         another move.
+	 */
+	public long getContentions() {
+		return contentions.get();
+	}
+
+	/**
+	 * @return The total time in milliseconds moves waited for regions locked
+	 *         by other moves so far.
+	 */
+	public long getWaitMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(waitNanos.get());
+	}
+}
@@ -67,6 +67,7 @@ public class Teleport extends Unit {
 		if(reference.isAccessibleTo(p))
 		{
 			p.occupy(reference);
+			pc.squareChanged(reference);
 			List<Unit> occupants = reference.getOccupants();
 			for (Unit occupant : occupants) {
 				if(!(occupant instanceof Teleport))
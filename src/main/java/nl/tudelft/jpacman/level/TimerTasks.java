@@ -40,7 +40,9 @@ public class TimerTasks {
     }
 
     /**
-     * A task that moves an NPC and reschedules itself after it finished.
+     * A task that moves an NPC and reschedules itself after it finished, or,
+     * if the characters keep their threads, keeps moving it and sleeping in
+     * between until its service is shut down.
      *
      * @author Jeroen Roosen
      */
@@ -71,14 +73,34 @@ public class TimerTasks {
 
         @Override
         public void run() {
+            if (!CharacterThreads.get().sleeps()) {
+                long interval = character.getInterval();
+                step(interval);
+                service.schedule(this, interval, TimeUnit.MILLISECONDS);
+                return;
+            }
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    long interval = character.getInterval();
+                    step(interval);
+                    Thread.sleep(interval);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Moves the NPC once.
+         *
+         * @param interval
+         *            The time until the NPC moves again, in milliseconds.
+         */
+        private void step(long interval) {
             Direction nextMove = character.nextMove();
-            Level level = Level.getLevel();
-            long interval;
             if (nextMove != null) {
-                level.move(character, nextMove);
+                Level.getLevel().move(character, nextMove, interval);
             }
-            interval = character.getInterval();
-            service.schedule(this, interval, TimeUnit.MILLISECONDS);
         }
     }
 
@@ -115,7 +137,8 @@ public class TimerTasks {
             Level level = Level.getLevel();
             Board b = level.getBoard();
             ghost.setExplode(false);
-            ghost.occupy(b.getMiddleOfTheMap());
+            level.placeUnit(ghost, b.getMiddleOfTheMap());
+            GameEventLog.getLog().record(GameEventLog.Event.SPAWN, ghost, ghost.getSquare(), null);
             ghost.stopFearedMode();
             level.stopCharacters();
             level.startCharacters();
@@ -0,0 +1,330 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+
+/**
+ * Finds shortest paths with A*, guided by the Manhattan distance. Since the
+ * board wraps around its edges, the distance along each axis is the shorter
+ * of the way straight across and the way around, which never overestimates
+ * the real distance and keeps the search optimal.
+ * <p>
+ * Squares are numbered column by column. The distances, the way each square
+ * was reached and the queue of squares to visit are kept in primitive arrays
+ * that each thread reuses between searches; a search number marks which
+ * entries belong to the current search, so nothing has to be cleared.
+ */
+public class AStar implements PathFinder {
+
+	/**
+	 * The directions, by their ordinal.
+	 */
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	/**
+	 * The arrays of a search, per thread.
+	 */
+	private static final ThreadLocal<Workspace> WORKSPACE = new ThreadLocal<Workspace>() {
+		@Override
+		protected Workspace initialValue() {
+			return new Workspace();
+		}
+	};
+
+	/**
+	 * The board searched.
+	 */
+	private final Board board;
+
+	/**
+	 * Creates a path finder for a board.
+	 *
+	 * @param board
+	 *            The board to find paths on.
+	 */
+	public AStar(Board board) {
+		assert board != null;
+		this.board = board;
+	}
+
+	@Override
+	public List<Direction> shortestPath(Square from, Square to, Unit traveller) {
+		if (from.equals(to)) {
+			return new ArrayList<>();
+		}
+		int width = board.getWidth();
+		int height = board.getHeight();
+		int tx = to.getCoordX();
+		int ty = to.getCoordY();
+		if (!inside(from, width, height) || tx < 0 || tx >= width || ty < 0 || ty >= height) {
+			return Navigation.shortestPath(from, to, traveller);
+		}
+		if (traveller != null && !board.isAccessibleAt(tx, ty, traveller)) {
+			return null;
+		}
+
+		Workspace w = WORKSPACE.get();
+		int search = w.start(width * height);
+		int source = from.getCoordX() * height + from.getCoordY();
+		int target = tx * height + ty;
+		w.reach(source, 0, -1, search);
+		w.heap.push(heuristic(source, target, width, height), source);
+		while (!w.heap.isEmpty()) {
+			int cell = w.heap.pop();
+			if (w.closed[cell] == search) {
+				continue;
+			}
+			if (cell == target) {
+				return path(w, source, target, width, height);
+			}
+			w.closed[cell] = search;
+			int x = cell / height;
+			int y = cell % height;
+			int g = w.distance[cell] + 1;
+			for (int d = 0; d < DIRECTIONS.length; d++) {
+				int nx = (width + x + DIRECTIONS[d].getDeltaX()) % width;
+				int ny = (height + y + DIRECTIONS[d].getDeltaY()) % height;
+				int next = nx * height + ny;
+				if (w.closed[next] == search
+						|| (w.seen[next] == search && w.distance[next] <= g)
+						|| (traveller != null && !board.isAccessibleAt(nx, ny, traveller))) {
+					continue;
+				}
+				w.reach(next, g, d, search);
+				w.heap.push(g + heuristic(next, target, width, height), next);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param square
+	 *            A square.
+	 * @param width
+	 *            The amount of columns.
+	 * @param height
+	 *            The amount of rows.
+	 * @return <code>true</code> iff the square lies on a board of that size.
+	 */
+	private static boolean inside(Square square, int width, int height) {
+		int x = square.getCoordX();
+		int y = square.getCoordY();
+		return x >= 0 && x < width && y >= 0 && y < height;
+	}
+
+	/**
+	 * Estimates the distance between two squares on a board that wraps
+	 * around its edges, without ever overestimating it.
+	 *
+	 * @param from
+	 *            The first square.
+	 * @param to
+	 *            The second square.
+	 * @param width
+	 *            The amount of columns.
+	 * @param height
+	 *            The amount of rows.
+	 * @return The Manhattan distance, taking the shorter way along each axis.
+	 */
+	static int heuristic(int from, int to, int width, int height) {
+		int dx = Math.abs(from / height - to / height);
+		int dy = Math.abs(from % height - to % height);
+		return Math.min(dx, width - dx) + Math.min(dy, height - dy);
+	}
+
+	/**
+	 * @param w
+	 *            The arrays of the finished search.
+	 * @param source
+	 *            The starting square.
+	 * @param target
+	 *            The destination.
+	 * @param width
+	 *            The amount of columns.
+	 * @param height
+	 *            The amount of rows.
+	 * @return The directions from the source to the target.
+	 */
+	private static List<Direction> path(Workspace w, int source, int target,
+			int width, int height) {
+		List<Direction> path = new ArrayList<>(w.distance[target]);
+		int cell = target;
+		while (cell != source) {
+			Direction d = DIRECTIONS[w.via[cell]];
+			path.add(d);
+			int x = (width + cell / height - d.getDeltaX()) % width;
+			int y = (height + cell % height - d.getDeltaY()) % height;
+			cell = x * height + y;
+		}
+		Collections.reverse(path);
+		return path;
+	}
+
+	/**
+	 * The arrays a thread searches with, grown to the largest board seen.
+	 */
+	private static final class Workspace {
+
+		/**
+		 * The number of the last search.
+		 */
+		private int search;
+
+		/**
+		 * The search in which each square was last reached.
+		 */
+		private int[] seen = new int[0];
+
+		/**
+		 * The search in which each square was last visited.
+		 */
+		private int[] closed = new int[0];
+
+		/**
+		 * The distance from the source to each square reached.
+		 */
+		private int[] distance = new int[0];
+
+		/**
+		 * The ordinal of the direction each square was reached in.
+		 */
+		private byte[] via = new byte[0];
+
+		/**
+		 * The squares to visit.
+		 */
+		private final Heap heap = new Heap();
+
+		/**
+		 * Prepares a new search.
+		 *
+		 * @param cells
+		 *            The amount of squares on the board.
+		 * @return The number of the search.
+		 */
+		private int start(int cells) {
+			if (seen.length < cells) {
+				seen = new int[cells];
+				closed = new int[cells];
+				distance = new int[cells];
+				via = new byte[cells];
+				search = 0;
+			}
+			heap.clear();
+			search++;
+			if (search == 0) {
+				Arrays.fill(seen, 0);
+				Arrays.fill(closed, 0);
+				search = 1;
+			}
+			return search;
+		}
+
+		/**
+		 * Records a way to a square.
+		 *
+		 * @param cell
+		 *            The square.
+		 * @param g
+		 *            The distance from the source.
+		 * @param d
+		 *            The ordinal of the direction of the last step, or -1.
+		 * @param current
+		 *            The number of the search.
+		 */
+		private void reach(int cell, int g, int d, int current) {
+			seen[cell] = current;
+			distance[cell] = g;
+			via[cell] = (byte) d;
+		}
+	}
+
+	/**
+	 * A binary min-heap of squares by priority, packed into longs with the
+	 * priority in the upper half.
+	 */
+	static final class Heap {
+
+		/**
+		 * The entries, as a binary tree with the children of entry i at
+		 * 2i + 1 and 2i + 2.
+		 */
+		private long[] entries = new long[64];
+
+		/**
+		 * The amount of entries.
+		 */
+		private int size;
+
+		/**
+		 * @return <code>true</code> iff there are no entries.
+		 */
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+		/**
+		 * Removes all entries.
+		 */
+		void clear() {
+			size = 0;
+		}
+
+		/**
+		 * Adds a square.
+		 *
+		 * @param priority
+		 *            The priority, lowest first.
+		 * @param cell
+		 *            The square.
+		 */
+		void push(int priority, int cell) {
+			if (size == entries.length) {
+				entries = Arrays.copyOf(entries, size * 2);
+			}
+			long entry = (long) priority << 32 | cell;
+			int i = size++;
+			while (i > 0) {
+				int parent = (i - 1) / 2;
+				if (entries[parent] <= entry) {
+					break;
+				}
+				entries[i] = entries[parent];
+				i = parent;
+			}
+			entries[i] = entry;
+		}
+
+		/**
+		 * @return The square with the lowest priority, which is removed.
+		 */
+		int pop() {
+			int cell = (int) entries[0];
+			long last = entries[--size];
+			int i = 0;
+			while (true) {
+				int child = 2 * i + 1;
+				if (child >= size) {
+					break;
+				}
+				if (child + 1 < size && entries[child + 1] < entries[child]) {
+					child++;
+				}
+				if (last <= entries[child]) {
+					break;
+				}
+				entries[i] = entries[child];
+				i = child;
+			}
+			entries[i] = last;
+			return cell;
+		}
+	}
+}
@@ -86,6 +86,11 @@ public class Blinky extends Ghost {
 		return ((int) (ACCELERATED_MOVE_INTERVAL/this.speed)) + new Random().nextInt(INTERVAL_VARIATION);
 	}
 
+	@Override
+	protected PatrolRoutes.Corner getHomeCorner() {
+		return PatrolRoutes.Corner.NORTH_EAST;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -101,11 +106,14 @@ public class Blinky extends Ghost {
 	 */
 	@Override
 	public Direction nextMove() {
-		// TODO Blinky should patrol his corner every once in a while
 		// TODO Implement his actual behaviour instead of simply chasing.
 		if (this.getFearedMode()) {
 			return randomMoveAtCrossroads();
 		}
+		Direction scatter = scatter();
+		if (scatter != null) {
+			return scatter;
+		}
 
 		Square target = Navigation.findNearest(Player.class, getSquare())
 				.getSquare();
@@ -113,8 +121,7 @@ public class Blinky extends Ghost {
 			return randomMove();
 		}
 		
-		List<Direction> path = Navigation.shortestPath(getSquare(), target,
-				this);
+		List<Direction> path = pathTo(target);
 		if (path != null && !path.isEmpty()) {
 			return path.get(0);
 		}
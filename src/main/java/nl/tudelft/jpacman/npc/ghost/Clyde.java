@@ -7,6 +7,7 @@ import java.util.Random;
 
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.level.Player;
 import nl.tudelft.jpacman.sprite.AnimatedSprite;
 import nl.tudelft.jpacman.sprite.Sprite;
@@ -100,6 +101,11 @@ public class Clyde extends Ghost {
 		return ((int) (ACCELERATED_MOVE_INTERVAL/this.speed)) + new Random().nextInt(INTERVAL_VARIATION);
 	}
 
+	@Override
+	protected PatrolRoutes.Corner getHomeCorner() {
+		return PatrolRoutes.Corner.SOUTH_WEST;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -113,8 +119,9 @@ public class Clyde extends Ghost {
 	 * in the bottom-left section of the maze.
 	 * </p>
 	 * <p>
-	 * <b>Implementation:</b> Lacking a patrol function so far, Clyde will just
-	 * move in the opposite direction when he gets within 8 cells of Pac-Man.
+	 * <b>Implementation:</b> Clyde patrols his corner when he gets within 8
+	 * cells of Pac-Man, or just moves in the opposite direction if he cannot
+	 * patrol.
 	 * </p>
 	 */
 	@Override
@@ -122,21 +129,29 @@ public class Clyde extends Ghost {
 		if (this.getFearedMode()) {
 			return randomMoveAtCrossroads();
 		}
+		Direction scatter = scatter();
+		if (scatter != null) {
+			return scatter;
+		}
 
-		Square target = Navigation.findNearest(Player.class, getSquare())
-				.getSquare();
+		Unit player = Navigation.findNearest(Player.class, getSquare());
+		Square target = player == null ? null : player.getSquare();
 		if (target == null) {
 			return randomMove();
 		}
 
-		List<Direction> path = Navigation.shortestPath(getSquare(), target,
-				this);
-		if (path != null && !path.isEmpty()) {
-			Direction d = path.get(0);
-			if (path.size() <= SHYNESS) {
-				return OPPOSITES.get(d);
+		List<Direction> path = Navigation.shortestPathWithin(getSquare(), target,
+				SHYNESS, this);
+		if (path != null) {
+			Direction home = patrol();
+			if (home != null) {
+				return home;
 			}
-			return d;
+			return path.isEmpty() ? randomMove() : OPPOSITES.get(path.get(0));
+		}
+		path = pathTo(target);
+		if (path != null && !path.isEmpty()) {
+			return path.get(0);
 		}
 		return randomMove();
 	}
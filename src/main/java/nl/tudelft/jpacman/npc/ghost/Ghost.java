@@ -48,6 +48,30 @@ public abstract class Ghost extends NPC {
 	 */
 	private Square lastSquare;
 
+	/**
+	 * The corridors of the board this ghost is on, or <code>null</code> to
+	 * search the board square by square.
+	 */
+	private JunctionGraph junctions;
+
+	/**
+	 * How this ghost finds the shortest path to its target, or
+	 * <code>null</code> to search the board square by square.
+	 */
+	private PathFinder pathFinder;
+
+	/**
+	 * When this ghost patrols its home corner, or <code>null</code> if it
+	 * never does.
+	 */
+	private ModeSchedule modes;
+
+	/**
+	 * The patrol of the home corner of this ghost, or <code>null</code> if it
+	 * never patrols.
+	 */
+	private Patrol patrol;
+
 	/**
 	 * Modificateur de vitesse du ghost
 	 */
@@ -165,6 +189,89 @@ public abstract class Ghost extends NPC {
 		return g;
 	}
 
+	/**
+	 * Lets this ghost follow the corridors of the board without looking
+	 * around until it reaches a junction.
+	 *
+	 * @param junctions
+	 *            The corridors of the board this ghost is on.
+	 */
+	public void setJunctions(JunctionGraph junctions) {
+		this.junctions = junctions;
+	}
+
+	/**
+	 * Changes how this ghost finds the shortest path to its target.
+	 *
+	 * @param pathFinder
+	 *            The path finder to use.
+	 */
+	public void setPathFinder(PathFinder pathFinder) {
+		this.pathFinder = pathFinder;
+	}
+
+	/**
+	 * Lets this ghost patrol its home corner when the ghosts scatter.
+	 *
+	 * @param routes
+	 *            The loops in the corners of the board this ghost is on.
+	 * @param schedule
+	 *            When the ghosts scatter.
+	 */
+	public void setPatrol(PatrolRoutes routes, ModeSchedule schedule) {
+		PatrolRoutes.Corner corner = getHomeCorner();
+		this.modes = schedule;
+		this.patrol = corner == null ? null : new Patrol(routes, corner);
+	}
+
+	/**
+	 * @return The corner this ghost patrols, or <code>null</code> if it has
+	 *         none.
+	 */
+	protected PatrolRoutes.Corner getHomeCorner() {
+		return null;
+	}
+
+	/**
+	 * Determines the next move while the ghosts scatter.
+	 *
+	 * @return The next step around the home corner of this ghost, or
+	 *         <code>null</code> if the ghosts are chasing or this ghost
+	 *         cannot patrol.
+	 */
+	protected Direction scatter() {
+		if (patrol == null || modes.current() != ModeSchedule.Mode.SCATTER) {
+			return null;
+		}
+		return patrol();
+	}
+
+	/**
+	 * Determines the next move around the home corner of this ghost.
+	 *
+	 * @return The next step around the home corner of this ghost, or
+	 *         <code>null</code> if this ghost cannot patrol.
+	 */
+	protected Direction patrol() {
+		return patrol == null ? null : patrol.next(this);
+	}
+
+	/**
+	 * Calculates the shortest path from the square of this ghost to a
+	 * destination, over squares this ghost can occupy.
+	 *
+	 * @param destination
+	 *            The square to go to.
+	 * @return The shortest path to the destination or <code>null</code> if no
+	 *         such path could be found.
+	 */
+	protected List<Direction> pathTo(Square destination) {
+		if (pathFinder != null) {
+			return pathFinder.shortestPath(getSquare(), destination, this);
+		}
+		return Navigation.shortestPath(getSquare(), destination, this);
+	}
+
 	/**
 	 * Determines a possible move in a random direction.
 	 * 
@@ -181,11 +288,14 @@ public abstract class Ghost extends NPC {
 		}
 		if (directions.isEmpty()) {
 			for (Direction d : Direction.values()) {
-				if (square.getSquareAt(d) == getLastSquare()) {
+				if (square.getSquareAt(d).equals(getLastSquare())) {
 					directions.add(d);
 				}
 			}
 		}
+		if (directions.isEmpty()) {
+			return null;
+		}
 		int i = new Random().nextInt(directions.size());
 		this.lastSquare = getSquare();
 		return directions.get(i);
@@ -200,26 +310,38 @@ public abstract class Ghost extends NPC {
 	}
 
 	/**
-	 * Determines a possible move at crossroads in a random direction.
+	 * Determines a possible move at crossroads in a random direction. On a
+	 * corridor, this ghost simply goes on.
 	 *
-	 * @return A direction in which the ghost can move.
+	 * @return A direction in which the ghost can move, or <code>null</code> if
+	 *         the ghost is shut in by inaccessible squares.
 	 */
 	protected Direction randomMoveAtCrossroads()
 	{
 		Square square = getSquare();
+		if (junctions != null && getLastSquare() != null) {
+			Direction onwards = junctions.onwards(square, getLastSquare());
+			if (onwards != null) {
+				this.lastSquare = square;
+				return onwards;
+			}
+		}
 		List<Direction> directions = new ArrayList<>();
 		for (Direction d : Direction.values()) {
-			if (square.getSquareAt(d).isAccessibleTo(this) && square.getSquareAt(d) != getLastSquare()) {
+			if (square.getSquareAt(d).isAccessibleTo(this) && !square.getSquareAt(d).equals(getLastSquare())) {
 				directions.add(d);
 			}
 		}
 		if (directions.isEmpty()) {
 			for (Direction d : Direction.values()) {
-				if (square.getSquareAt(d) == getLastSquare()) {
+				if (square.getSquareAt(d).equals(getLastSquare())) {
 					directions.add(d);
 				}
 			}
 		}
+		if (directions.isEmpty()) {
+			return null;
+		}
 		int i = new Random().nextInt(directions.size());
 		this.lastSquare = getSquare();
 		return directions.get(i);
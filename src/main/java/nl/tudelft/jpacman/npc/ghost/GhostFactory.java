@@ -1,5 +1,7 @@
 package nl.tudelft.jpacman.npc.ghost;
 
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.sprite.PacManSprites;
 
 /**
@@ -15,12 +17,89 @@ public class GhostFactory {
 	private final PacManSprites sprites;
 
 	/**
-	 * Creates a new ghost factory.
+	 * How the ghosts find their way.
+	 */
+	private final Search search;
+
+	/**
+	 * How ghosts find the shortest path to their target.
+	 */
+	public enum Search {
+
+		/**
+		 * A breadth first search square by square, see {@link Navigation}.
+		 */
+		BREADTH_FIRST,
+
+		/**
+		 * An A* search square by square, see {@link AStar}.
+		 */
+		A_STAR,
+
+		/**
+		 * A search over the junctions of the board, see {@link JunctionGraph}.
+		 */
+		JUNCTIONS,
+
+		/**
+		 * A search between the edges of the maps the board is made of, see
+		 * {@link HierarchicalPathFinder}. Not faster than {@link #A_STAR} on
+		 * the boards measured by the path finding benchmark, growing or not.
+		 */
+		HIERARCHICAL
+	}
+
+	/**
+	 * Creates a new ghost factory whose ghosts search over junctions.
 	 * 
 	 * @param spriteStore The sprite provider.
 	 */
 	public GhostFactory(PacManSprites spriteStore) {
+		this(spriteStore, Search.JUNCTIONS);
+	}
+
+	/**
+	 * Creates a new ghost factory.
+	 * 
+	 * @param spriteStore The sprite provider.
+	 * @param search How the ghosts find their way.
+	 */
+	public GhostFactory(PacManSprites spriteStore, Search search) {
+		assert search != null;
 		this.sprites = spriteStore;
+		this.search = search;
+	}
+
+	/**
+	 * Creates the path finder for the ghosts on a board, which remembers the
+	 * paths it found until the board changes.
+	 *
+	 * @param board The board the ghosts are on.
+	 * @param traveller A ghost, whose access to squares is that of all ghosts.
+	 * @param junctions The junctions of the board.
+	 * @return A path finder for the board.
+	 */
+	public PathCache createPathFinder(Board board, Unit traveller, JunctionGraph junctions) {
+		return new PathCache(board, createSearch(board, traveller, junctions));
+	}
+
+	/**
+	 * @param board The board the ghosts are on.
+	 * @param traveller A ghost, whose access to squares is that of all ghosts.
+	 * @param junctions The junctions of the board.
+	 * @return The search for the board.
+	 */
+	private PathFinder createSearch(Board board, Unit traveller, JunctionGraph junctions) {
+		switch (search) {
+			case BREADTH_FIRST:
+				return Navigation::shortestPath;
+			case A_STAR:
+				return new AStar(board);
+			case HIERARCHICAL:
+				return new HierarchicalPathFinder(board, traveller);
+			default:
+				return junctions;
+		}
 	}
 
 	/**
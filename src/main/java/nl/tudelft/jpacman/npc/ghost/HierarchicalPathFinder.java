@@ -0,0 +1,607 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardListener;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+
+/**
+ * Finds shortest paths on large boards by searching between the edges of the
+ * maps the board is made of rather than square by square (HPA*).
+ * <p>
+ * For every map, the distances within the map between all squares on its
+ * edge that can be occupied are computed once, the first time a search
+ * passes through it. A search then only looks at the squares around the
+ * source and the target and at edge squares, going from edge to edge within
+ * a map or stepping over to the neighbouring map. Since the distances within
+ * maps are exact, so are the paths found.
+ * </p>
+ * <p>
+ * The path returned knows its length right away, but only works out the
+ * squares of a part of the way when a direction on that part is asked for;
+ * a ghost that only takes the first step only pays for the first part.
+ * When the board is extended, the maps computed so far are kept and only the
+ * new ones are computed when reached.
+ * </p>
+ */
+public class HierarchicalPathFinder implements PathFinder, BoardListener {
+
+	/**
+	 * The directions, by their ordinal.
+	 */
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	/**
+	 * The board searched.
+	 */
+	private final Board board;
+
+	/**
+	 * The unit whose access to squares decides the distances within maps.
+	 */
+	private final Unit traveller;
+
+	/**
+	 * The amount of columns of a map.
+	 */
+	private final int tileWidth;
+
+	/**
+	 * The amount of rows of a map.
+	 */
+	private final int tileHeight;
+
+	/**
+	 * The maps, by map column and row, or <code>null</code> where not
+	 * computed yet.
+	 */
+	private Tile[][] tiles;
+
+	/**
+	 * Creates a path finder for a board, with the maps the board is made of.
+	 *
+	 * @param board
+	 *            The board to find paths on.
+	 * @param traveller
+	 *            The unit whose access to squares decides where it can go.
+	 */
+	public HierarchicalPathFinder(Board board, Unit traveller) {
+		this(board, traveller, board.getWidthOfOneMap(), board.getHeightOfOneMap());
+	}
+
+	/**
+	 * Creates a path finder for a board, divided into maps of a given size.
+	 *
+	 * @param board
+	 *            The board to find paths on.
+	 * @param traveller
+	 *            The unit whose access to squares decides where it can go.
+	 * @param tileWidth
+	 *            The amount of columns of a map, dividing the board width.
+	 * @param tileHeight
+	 *            The amount of rows of a map, dividing the board height.
+	 */
+	HierarchicalPathFinder(Board board, Unit traveller, int tileWidth, int tileHeight) {
+		assert board != null;
+		assert traveller != null;
+		this.board = board;
+		this.traveller = traveller;
+		this.tileWidth = tileWidth;
+		this.tileHeight = tileHeight;
+		this.tiles = new Tile[board.getWidth() / tileWidth][board.getHeight() / tileHeight];
+		board.addListener(this);
+	}
+
+	@Override
+	public void squareChanged(Square square) {
+		// occupants do not change whether a square can be occupied.
+	}
+
+	/**
+	 * Keeps the maps computed so far, moving them along when the new maps are
+	 * added in front of them.
+	 */
+	@Override
+	public synchronized void boardExtended(Direction direction) {
+		Tile[][] grown = new Tile[board.getWidth() / tileWidth][board.getHeight() / tileHeight];
+		int dx = direction == Direction.WEST ? grown.length - tiles.length : 0;
+		int dy = direction == Direction.NORTH ? grown[0].length - tiles[0].length : 0;
+		for (int cx = 0; cx < tiles.length; cx++) {
+			System.arraycopy(tiles[cx], 0, grown[cx + dx], dy, tiles[cx].length);
+		}
+		tiles = grown;
+	}
+
+	/**
+	 * @param cx
+	 *            A map column.
+	 * @param cy
+	 *            A map row.
+	 * @return The map, computed if it was not yet.
+	 */
+	private synchronized Tile tile(int cx, int cy) {
+		Tile tile = tiles[cx][cy];
+		if (tile == null) {
+			tile = new Tile(cx * tileWidth, cy * tileHeight);
+			tiles[cx][cy] = tile;
+		}
+		return tile;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The traveller has to be allowed on the same squares as the traveller
+	 * of this path finder; terrain is ignored by searching square by square.
+	 * </p>
+	 */
+	@Override
+	public List<Direction> shortestPath(Square from, Square to, Unit unit) {
+		if (from.equals(to)) {
+			return new ArrayList<>();
+		}
+		int width = board.getWidth();
+		int height = board.getHeight();
+		if (unit == null || !inside(from, width, height) || !inside(to, width, height)) {
+			return Navigation.shortestPath(from, to, unit);
+		}
+		if (!board.isAccessibleAt(to.getCoordX(), to.getCoordY(), traveller)) {
+			return null;
+		}
+		return new Search(width, height, from, to).run();
+	}
+
+	/**
+	 * @param square
+	 *            A square.
+	 * @param width
+	 *            The amount of columns.
+	 * @param height
+	 *            The amount of rows.
+	 * @return <code>true</code> iff the square lies on a board of that size.
+	 */
+	private static boolean inside(Square square, int width, int height) {
+		int x = square.getCoordX();
+		int y = square.getCoordY();
+		return x >= 0 && x < width && y >= 0 && y < height;
+	}
+
+	/**
+	 * One map of the board, with the distances between its edge squares.
+	 * Squares within the map are numbered column by column.
+	 */
+	private final class Tile {
+
+		/**
+		 * Whether each square of the map can be occupied.
+		 */
+		private final boolean[] open;
+
+		/**
+		 * The squares on the edge of the map that can be occupied.
+		 */
+		private final int[] edge;
+
+		/**
+		 * The position in {@link #edge} of each square, or -1.
+		 */
+		private final int[] slot;
+
+		/**
+		 * The distance within the map between each two edge squares, or -1
+		 * if one cannot be reached from the other without leaving the map.
+		 */
+		private final int[][] distance;
+
+		/**
+		 * Computes a map.
+		 *
+		 * @param x0
+		 *            The first column of the map on the board.
+		 * @param y0
+		 *            The first row of the map on the board.
+		 */
+		private Tile(int x0, int y0) {
+			this.open = new boolean[tileWidth * tileHeight];
+			this.slot = new int[open.length];
+			Arrays.fill(slot, -1);
+			int[] found = new int[open.length];
+			int edges = 0;
+			for (int x = 0; x < tileWidth; x++) {
+				for (int y = 0; y < tileHeight; y++) {
+					int local = x * tileHeight + y;
+					open[local] = board.isAccessibleAt(x0 + x, y0 + y, traveller);
+					boolean onEdge = x == 0 || y == 0 || x == tileWidth - 1 || y == tileHeight - 1;
+					if (open[local] && onEdge) {
+						slot[local] = edges;
+						found[edges++] = local;
+					}
+				}
+			}
+			this.edge = Arrays.copyOf(found, edges);
+			this.distance = new int[edges][];
+			for (int i = 0; i < edges; i++) {
+				int[] reach = distances(edge[i], null);
+				distance[i] = new int[edges];
+				for (int j = 0; j < edges; j++) {
+					distance[i][j] = reach[edge[j]];
+				}
+			}
+		}
+
+		/**
+		 * Searches breadth first from a square without leaving the map.
+		 *
+		 * @param start
+		 *            The square to start at.
+		 * @param via
+		 *            Receives the ordinal of the direction each square was
+		 *            reached in, or <code>null</code>.
+		 * @return The distance to each square, or -1 where it cannot be
+		 *         reached.
+		 */
+		private int[] distances(int start, byte[] via) {
+			int[] dist = new int[open.length];
+			Arrays.fill(dist, -1);
+			int[] queue = new int[open.length];
+			int head = 0;
+			int tail = 0;
+			dist[start] = 0;
+			queue[tail++] = start;
+			while (head < tail) {
+				int local = queue[head++];
+				int x = local / tileHeight;
+				int y = local % tileHeight;
+				for (int d = 0; d < DIRECTIONS.length; d++) {
+					int nx = x + DIRECTIONS[d].getDeltaX();
+					int ny = y + DIRECTIONS[d].getDeltaY();
+					if (nx < 0 || ny < 0 || nx >= tileWidth || ny >= tileHeight) {
+						continue;
+					}
+					int next = nx * tileHeight + ny;
+					if (open[next] && dist[next] < 0) {
+						dist[next] = dist[local] + 1;
+						if (via != null) {
+							via[next] = (byte) d;
+						}
+						queue[tail++] = next;
+					}
+				}
+			}
+			return dist;
+		}
+
+		/**
+		 * @param from
+		 *            A square of the map.
+		 * @param to
+		 *            A square of the map reachable from it within the map.
+		 * @return The directions of a shortest way within the map.
+		 */
+		private List<Direction> path(int from, int to) {
+			byte[] via = new byte[open.length];
+			distances(from, via);
+			List<Direction> path = new ArrayList<>();
+			int local = to;
+			while (local != from) {
+				Direction d = DIRECTIONS[via[local]];
+				path.add(d);
+				local = (local / tileHeight - d.getDeltaX()) * tileHeight
+						+ local % tileHeight - d.getDeltaY();
+			}
+			Collections.reverse(path);
+			return path;
+		}
+	}
+
+	/**
+	 * One search from edge square to edge square, guided by the Manhattan
+	 * distance around the board like {@link AStar}.
+	 */
+	private final class Search {
+
+		/**
+		 * The amount of columns of the board.
+		 */
+		private final int width;
+
+		/**
+		 * The amount of rows of the board.
+		 */
+		private final int height;
+
+		/**
+		 * The starting square on the board.
+		 */
+		private final int source;
+
+		/**
+		 * The destination on the board.
+		 */
+		private final int target;
+
+		/**
+		 * The map of the source.
+		 */
+		private final Tile sourceTile;
+
+		/**
+		 * The map of the target.
+		 */
+		private final Tile targetTile;
+
+		/**
+		 * The distance within its map from the source to each square.
+		 */
+		private final int[] fromSource;
+
+		/**
+		 * The distance within its map from each square to the target.
+		 */
+		private final int[] toTarget;
+
+		/**
+		 * For each edge square reached: the distance from the source, the
+		 * square it was reached from (or -1 for the source) and the ordinal
+		 * of the direction stepped in to reach it from the neighbouring map
+		 * (or -1 for a way within a map).
+		 */
+		private final Map<Integer, int[]> reached = new HashMap<>();
+
+		/**
+		 * The edge squares visited.
+		 */
+		private final Set<Integer> closed = new HashSet<>();
+
+		/**
+		 * The edge squares to visit.
+		 */
+		private final AStar.Heap heap = new AStar.Heap();
+
+		/**
+		 * @param width
+		 *            The amount of columns of the board.
+		 * @param height
+		 *            The amount of rows of the board.
+		 * @param from
+		 *            The starting square.
+		 * @param to
+		 *            The destination.
+		 */
+		private Search(int width, int height, Square from, Square to) {
+			this.width = width;
+			this.height = height;
+			this.source = from.getCoordX() * height + from.getCoordY();
+			this.target = to.getCoordX() * height + to.getCoordY();
+			this.sourceTile = tileOf(source);
+			this.targetTile = tileOf(target);
+			this.fromSource = sourceTile.distances(local(source), null);
+			this.toTarget = targetTile.distances(local(target), null);
+		}
+
+		/**
+		 * @param cell
+		 *            A square of the board.
+		 * @return Its map.
+		 */
+		private Tile tileOf(int cell) {
+			return tile(cell / height / tileWidth, cell % height / tileHeight);
+		}
+
+		/**
+		 * @param cell
+		 *            A square of the board.
+		 * @return Its number within its map.
+		 */
+		private int local(int cell) {
+			return cell / height % tileWidth * tileHeight + cell % height % tileHeight;
+		}
+
+		/**
+		 * @param cell
+		 *            A square of the board.
+		 * @param local
+		 *            A square of the same map.
+		 * @return The number of that square on the board.
+		 */
+		private int global(int cell, int local) {
+			int x0 = cell / height / tileWidth * tileWidth;
+			int y0 = cell % height / tileHeight * tileHeight;
+			return (x0 + local / tileHeight) * height + y0 + local % tileHeight;
+		}
+
+		/**
+		 * @return The shortest path, or <code>null</code> if there is none.
+		 */
+		private List<Direction> run() {
+			int best = Integer.MAX_VALUE;
+			int bestCell = -1;
+			if (sourceTile == targetTile && fromSource[local(target)] >= 0) {
+				best = fromSource[local(target)];
+			}
+			for (int local : sourceTile.edge) {
+				if (fromSource[local] >= 0) {
+					reach(global(source, local), fromSource[local], -1, -1);
+				}
+			}
+			while (!heap.isEmpty()) {
+				int cell = heap.pop();
+				if (!closed.add(cell)) {
+					continue;
+				}
+				int g = reached.get(cell)[0];
+				if (g + AStar.heuristic(cell, target, width, height) >= best) {
+					break;
+				}
+				Tile tile = tileOf(cell);
+				int local = local(cell);
+				if (tile == targetTile && toTarget[local] >= 0 && g + toTarget[local] < best) {
+					best = g + toTarget[local];
+					bestCell = cell;
+				}
+				int x = local / tileHeight;
+				int y = local % tileHeight;
+				for (int d = 0; d < DIRECTIONS.length; d++) {
+					int nx = x + DIRECTIONS[d].getDeltaX();
+					int ny = y + DIRECTIONS[d].getDeltaY();
+					if (nx >= 0 && ny >= 0 && nx < tileWidth && ny < tileHeight) {
+						continue;
+					}
+					int bx = (width + cell / height + DIRECTIONS[d].getDeltaX()) % width;
+					int by = (height + cell % height + DIRECTIONS[d].getDeltaY()) % height;
+					if (board.isAccessibleAt(bx, by, traveller)) {
+						reach(bx * height + by, g + 1, cell, d);
+					}
+				}
+				int[] within = tile.distance[tile.slot[local]];
+				for (int j = 0; j < within.length; j++) {
+					if (within[j] > 0) {
+						reach(global(cell, tile.edge[j]), g + within[j], cell, -1);
+					}
+				}
+			}
+			if (best == Integer.MAX_VALUE) {
+				return null;
+			}
+			return new Path(bestCell, best);
+		}
+
+		/**
+		 * Records a way to an edge square if it is shorter than any found
+		 * before.
+		 *
+		 * @param cell
+		 *            The edge square.
+		 * @param g
+		 *            The distance from the source.
+		 * @param parent
+		 *            The edge square it is reached from, or -1.
+		 * @param step
+		 *            The ordinal of the direction stepped in from the
+		 *            neighbouring map, or -1.
+		 */
+		private void reach(int cell, int g, int parent, int step) {
+			int[] known = reached.get(cell);
+			if (known == null || g < known[0]) {
+				reached.put(cell, new int[] {g, parent, step});
+				heap.push(g + AStar.heuristic(cell, target, width, height), cell);
+			}
+		}
+
+		/**
+		 * A shortest path made of parts within one map and steps between
+		 * maps, of which the directions are worked out when first asked for.
+		 * Paths may be remembered and read by several ghosts at once.
+		 */
+		private final class Path extends AbstractList<Direction> {
+
+			/**
+			 * The squares the parts start at, followed by the target.
+			 */
+			private final int[] waypoints;
+
+			/**
+			 * The step of each part to the neighbouring map, or -1.
+			 */
+			private final int[] steps;
+
+			/**
+			 * The index in this path of the first direction of each part.
+			 */
+			private final int[] offsets;
+
+			/**
+			 * The directions of each part, once worked out.
+			 */
+			private final List<List<Direction>> parts;
+
+			/**
+			 * The length of this path.
+			 */
+			private final int length;
+
+			/**
+			 * @param last
+			 *            The last edge square on the way, or -1 if the way
+			 *            stays within the map of the source and the target.
+			 * @param length
+			 *            The length of the way.
+			 */
+			private Path(int last, int length) {
+				this.length = length;
+				List<int[]> way = new ArrayList<>();
+				way.add(new int[] {target, -1, -1});
+				for (int cell = last; cell >= 0; cell = reached.get(cell)[1]) {
+					int[] info = reached.get(cell);
+					way.add(new int[] {cell, info[2], info[0]});
+				}
+				way.add(new int[] {source, -1, 0});
+				Collections.reverse(way);
+
+				int n = way.size() - 1;
+				this.waypoints = new int[n + 1];
+				this.steps = new int[n];
+				this.offsets = new int[n + 1];
+				this.parts = new ArrayList<>(Collections.nCopies(n, (List<Direction>) null));
+				for (int i = 0; i <= n; i++) {
+					waypoints[i] = way.get(i)[0];
+				}
+				for (int i = 0; i < n; i++) {
+					steps[i] = way.get(i + 1)[1];
+					offsets[i + 1] = i + 1 < n ? way.get(i + 1)[2] : length;
+				}
+			}
+
+			@Override
+			public Direction get(int index) {
+				if (index < 0 || index >= length) {
+					throw new IndexOutOfBoundsException("Step " + index + " of " + length);
+				}
+				int part = Arrays.binarySearch(offsets, index);
+				if (part < 0) {
+					part = -part - 2;
+				} else {
+					while (offsets[part + 1] == index) {
+						part++;
+					}
+				}
+				return part(part).get(index - offsets[part]);
+			}
+
+			/**
+			 * @param part
+			 *            The number of a part.
+			 * @return Its directions, worked out if needed.
+			 */
+			private synchronized List<Direction> part(int part) {
+				List<Direction> directions = parts.get(part);
+				if (directions == null) {
+					if (steps[part] >= 0) {
+						directions = Collections.singletonList(DIRECTIONS[steps[part]]);
+					} else {
+						directions = tileOf(waypoints[part]).path(local(waypoints[part]),
+								local(waypoints[part + 1]));
+					}
+					parts.set(part, directions);
+				}
+				return directions;
+			}
+
+			@Override
+			public int size() {
+				return length;
+			}
+		}
+	}
+}
@@ -88,6 +88,11 @@ public class Inky extends Ghost {
 		return ((int) (ACCELERATED_MOVE_INTERVAL/this.speed)) + new Random().nextInt(INTERVAL_VARIATION);
 	}
 
+	@Override
+	protected PatrolRoutes.Corner getHomeCorner() {
+		return PatrolRoutes.Corner.SOUTH_EAST;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -120,6 +125,10 @@ public class Inky extends Ghost {
 		if (this.getFearedMode()) {
 			return randomMoveAtCrossroads();
 		}
+		Direction scatter = scatter();
+		if (scatter != null) {
+			return scatter;
+		}
 
 		Unit blinky = Navigation.findNearest(Blinky.class, getSquare());
 		if (blinky == null) {
@@ -148,8 +157,7 @@ public class Inky extends Ghost {
 			destination = playerDestination.getSquareAt(d);
 		}
 
-		List<Direction> path = Navigation.shortestPath(getSquare(),
-				destination, this);
+		List<Direction> path = pathTo(destination);
 		if (path != null && !path.isEmpty()) {
 			return path.get(0);
 		}
@@ -0,0 +1,621 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardListener;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+
+/**
+ * The squares of a board a unit can occupy, compressed into a graph of
+ * junctions connected by corridors. A junction is a square with other than
+ * two exits (crossings, forks and dead ends); every other square lies on a
+ * corridor between two junctions, where the only choice is to go on or to
+ * turn back. Since most squares of a maze are corridor squares, searching the
+ * junctions visits far fewer nodes than searching square by square like
+ * {@link Navigation} does.
+ * <p>
+ * Like {@link Navigation}, squares are connected to their neighbours,
+ * wrapping around the edges of the board. The graph is rebuilt on the first
+ * query after the board is extended. Queries work on an immutable layout, so
+ * any amount of them can run at the same time.
+ */
+public class JunctionGraph implements BoardListener, PathFinder {
+
+	/**
+	 * The directions, by their ordinal.
+	 */
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	/**
+	 * The ordinal of the opposite of each direction, by its ordinal.
+	 */
+	private static final int[] OPPOSITE = new int[DIRECTIONS.length];
+
+	static {
+		for (Direction d : DIRECTIONS) {
+			for (Direction o : DIRECTIONS) {
+				if (o.getDeltaX() == -d.getDeltaX()
+						&& o.getDeltaY() == -d.getDeltaY()) {
+					OPPOSITE[d.ordinal()] = o.ordinal();
+				}
+			}
+		}
+	}
+
+	/**
+	 * The board the graph is built from.
+	 */
+	private final Board board;
+
+	/**
+	 * The unit whose access to squares decides where the corridors are.
+	 */
+	private final Unit traveller;
+
+	/**
+	 * <code>true</code> iff the board changed since the layout was built.
+	 */
+	private volatile boolean stale = true;
+
+	/**
+	 * The graph as of the last time it was built.
+	 */
+	private Layout layout;
+
+	/**
+	 * Creates a graph that is kept up to date with the board.
+	 *
+	 * @param board
+	 *            The board to build the graph from.
+	 * @param traveller
+	 *            The unit whose access to squares decides where the
+	 *            corridors are.
+	 */
+	public JunctionGraph(Board board, Unit traveller) {
+		assert board != null;
+		assert traveller != null;
+		this.board = board;
+		this.traveller = traveller;
+		board.addListener(this);
+	}
+
+	@Override
+	public void squareChanged(Square square) {
+		// occupants do not change whether a square can be occupied.
+	}
+
+	@Override
+	public void boardExtended(Direction direction) {
+		stale = true;
+	}
+
+	/**
+	 * @return The amount of junctions, i.e. of nodes a search may visit.
+	 */
+	public int junctionCount() {
+		return current().nodes;
+	}
+
+	/**
+	 * @param square
+	 *            A square of the board.
+	 * @return <code>true</code> iff the square can be occupied and has other
+	 *         than two exits, or is the one square chosen on a corridor
+	 *         without junctions that runs around in a loop.
+	 */
+	public boolean isJunction(Square square) {
+		Layout l = current();
+		int cell = l.index(square);
+		return cell >= 0 && l.nodeOf[cell] >= 0;
+	}
+
+	/**
+	 * Determines the way on along a corridor, without looking at the
+	 * neighbouring squares.
+	 *
+	 * @param square
+	 *            The square to move on from.
+	 * @param previous
+	 *            The square the unit came from.
+	 * @return The direction to the exit of the square that does not lead to
+	 *         the previous square, or <code>null</code> if the square is not
+	 *         on a corridor and a decision has to be made.
+	 */
+	public Direction onwards(Square square, Square previous) {
+		Layout l = current();
+		int cell = l.index(square);
+		if (cell < 0 || !l.open[cell] || l.nodeOf[cell] >= 0) {
+			return null;
+		}
+		int forward = l.exits[cell] & 3;
+		if (l.neighbour(cell, forward) == l.index(previous)) {
+			return DIRECTIONS[l.exits[cell] >> 2];
+		}
+		return DIRECTIONS[forward];
+	}
+
+	/**
+	 * Calculates the shortest path, with the same outcome as
+	 * {@link Navigation#shortestPath(Square, Square, Unit)} for the traveller
+	 * of this graph, by a search over the junctions.
+	 *
+	 * @param from
+	 *            The starting square.
+	 * @param to
+	 *            The destination.
+	 * @return The shortest path to the destination or <code>null</code> if no
+	 *         such path could be found. When the destination is the current
+	 *         square, an empty list is returned.
+	 */
+	public List<Direction> shortestPath(Square from, Square to) {
+		if (from.equals(to)) {
+			return new ArrayList<>();
+		}
+		Layout l = current();
+		int source = l.index(from);
+		int target = l.index(to);
+		if (source < 0 || target < 0 || !l.open[source]) {
+			return Navigation.shortestPath(from, to, traveller);
+		}
+		if (!l.open[target]) {
+			return null;
+		}
+		return new Search(l, source, target).run();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The traveller has to be allowed on the same squares as the traveller
+	 * of this graph; terrain is ignored by searching square by square.
+	 * </p>
+	 */
+	@Override
+	public List<Direction> shortestPath(Square from, Square to, Unit unit) {
+		if (unit == null) {
+			return Navigation.shortestPath(from, to, null);
+		}
+		return shortestPath(from, to);
+	}
+
+	/**
+	 * @return The layout of the board as it is now.
+	 */
+	private synchronized Layout current() {
+		if (stale) {
+			stale = false;
+			layout = new Layout(board, traveller);
+		}
+		return layout;
+	}
+
+	/**
+	 * The junctions and corridors of the board at one moment. Squares are
+	 * numbered column by column, directions by their ordinal, and the way
+	 * out of junction <code>n</code> in direction <code>d</code> by
+	 * <code>4 * n + d</code>.
+	 */
+	private static final class Layout {
+
+		/**
+		 * The amount of columns.
+		 */
+		private final int width;
+
+		/**
+		 * The amount of rows.
+		 */
+		private final int height;
+
+		/**
+		 * Whether each square can be occupied.
+		 */
+		private final boolean[] open;
+
+		/**
+		 * The junction of each square, or -1 for corridor and blocked squares.
+		 */
+		private final int[] nodeOf;
+
+		/**
+		 * The way out of a junction each corridor square lies on, or -1.
+		 */
+		private final int[] wayOf;
+
+		/**
+		 * The amount of steps from the junction to each corridor square.
+		 */
+		private final int[] stepOf;
+
+		/**
+		 * For each corridor square, the direction away from the junction in
+		 * the lowest two bits and the direction towards it above those.
+		 */
+		private final byte[] exits;
+
+		/**
+		 * The amount of junctions.
+		 */
+		private int nodes;
+
+		/**
+		 * The square of each junction.
+		 */
+		private int[] nodeCell = new int[16];
+
+		/**
+		 * The junction each way out leads to, or -1 if it is blocked.
+		 */
+		private int[] wayTarget = new int[64];
+
+		/**
+		 * The length of each way out, in steps.
+		 */
+		private int[] wayLength = new int[64];
+
+		/**
+		 * The direction of the last step of each way out.
+		 */
+		private int[] wayArrival = new int[64];
+
+		/**
+		 * Builds the graph of the board as it is now.
+		 *
+		 * @param board
+		 *            The board.
+		 * @param traveller
+		 *            The unit whose access to squares decides where the
+		 *            corridors are.
+		 */
+		private Layout(Board board, Unit traveller) {
+			this.width = board.getWidth();
+			this.height = board.getHeight();
+			int cells = width * height;
+			this.open = new boolean[cells];
+			for (int x = 0; x < width; x++) {
+				for (int y = 0; y < height; y++) {
+					open[x * height + y] = board.isAccessibleAt(x, y, traveller);
+				}
+			}
+			this.nodeOf = new int[cells];
+			this.wayOf = new int[cells];
+			this.stepOf = new int[cells];
+			this.exits = new byte[cells];
+			Arrays.fill(nodeOf, -1);
+			Arrays.fill(wayOf, -1);
+
+			for (int cell = 0; cell < cells; cell++) {
+				if (open[cell] && degree(cell) != 2) {
+					addNode(cell);
+				}
+			}
+			int junctions = nodes;
+			for (int n = 0; n < junctions; n++) {
+				connect(n);
+			}
+			for (int cell = 0; cell < cells; cell++) {
+				if (open[cell] && nodeOf[cell] < 0 && wayOf[cell] < 0) {
+					connect(addNode(cell));
+				}
+			}
+		}
+
+		/**
+		 * @param square
+		 *            A square.
+		 * @return Its number, or -1 if it lies outside of this layout.
+		 */
+		private int index(Square square) {
+			int x = square.getCoordX();
+			int y = square.getCoordY();
+			if (x < 0 || x >= width || y < 0 || y >= height) {
+				return -1;
+			}
+			return x * height + y;
+		}
+
+		/**
+		 * @param cell
+		 *            A square.
+		 * @param d
+		 *            A direction.
+		 * @return The neighbouring square in the direction.
+		 */
+		private int neighbour(int cell, int d) {
+			int x = (width + cell / height + DIRECTIONS[d].getDeltaX()) % width;
+			int y = (height + cell % height + DIRECTIONS[d].getDeltaY()) % height;
+			return x * height + y;
+		}
+
+		/**
+		 * @param cell
+		 *            A square.
+		 * @return The amount of neighbours that can be occupied.
+		 */
+		private int degree(int cell) {
+			int degree = 0;
+			for (int d = 0; d < DIRECTIONS.length; d++) {
+				if (open[neighbour(cell, d)]) {
+					degree++;
+				}
+			}
+			return degree;
+		}
+
+		/**
+		 * @param cell
+		 *            A corridor square.
+		 * @param back
+		 *            The direction not to take.
+		 * @return The other direction to a neighbour that can be occupied.
+		 */
+		private int exit(int cell, int back) {
+			for (int d = 0; d < DIRECTIONS.length; d++) {
+				if (d != back && open[neighbour(cell, d)]) {
+					return d;
+				}
+			}
+			return back;
+		}
+
+		/**
+		 * Makes a square a junction.
+		 *
+		 * @param cell
+		 *            The square.
+		 * @return The new junction.
+		 */
+		private int addNode(int cell) {
+			if (nodes == nodeCell.length) {
+				nodeCell = Arrays.copyOf(nodeCell, nodes * 2);
+				wayTarget = Arrays.copyOf(wayTarget, nodes * 8);
+				wayLength = Arrays.copyOf(wayLength, nodes * 8);
+				wayArrival = Arrays.copyOf(wayArrival, nodes * 8);
+			}
+			nodeCell[nodes] = cell;
+			nodeOf[cell] = nodes;
+			return nodes++;
+		}
+
+		/**
+		 * Follows the corridors out of a junction, marking the squares on
+		 * them that were not marked yet.
+		 *
+		 * @param n
+		 *            The junction.
+		 */
+		private void connect(int n) {
+			for (int d = 0; d < DIRECTIONS.length; d++) {
+				int way = 4 * n + d;
+				int next = neighbour(nodeCell[n], d);
+				wayTarget[way] = -1;
+				if (!open[next]) {
+					continue;
+				}
+				int step = 1;
+				int last = d;
+				while (nodeOf[next] < 0) {
+					int onwards = exit(next, OPPOSITE[last]);
+					if (wayOf[next] < 0) {
+						wayOf[next] = way;
+						stepOf[next] = step;
+						exits[next] = (byte) (onwards | OPPOSITE[last] << 2);
+					}
+					next = neighbour(next, onwards);
+					last = onwards;
+					step++;
+				}
+				wayTarget[way] = nodeOf[next];
+				wayLength[way] = step;
+				wayArrival[way] = last;
+			}
+		}
+
+		/**
+		 * Adds the steps along a corridor to a path.
+		 *
+		 * @param cell
+		 *            The square to start at.
+		 * @param d
+		 *            The direction of the first step.
+		 * @param steps
+		 *            The amount of steps.
+		 * @param path
+		 *            The path to add the steps to.
+		 */
+		private void walk(int cell, int d, int steps, List<Direction> path) {
+			int at = cell;
+			int direction = d;
+			for (int i = 0; i < steps; i++) {
+				if (i > 0) {
+					direction = exit(at, OPPOSITE[direction]);
+				}
+				path.add(DIRECTIONS[direction]);
+				at = neighbour(at, direction);
+			}
+		}
+	}
+
+	/**
+	 * A shortest path search over the junctions, starting at the one or two
+	 * junctions at the ends of the corridor of the source and ending at those
+	 * of the target.
+	 */
+	private static final class Search {
+
+		/**
+		 * The layout searched.
+		 */
+		private final Layout l;
+
+		/**
+		 * The starting square.
+		 */
+		private final int source;
+
+		/**
+		 * The destination.
+		 */
+		private final int target;
+
+		/**
+		 * The distance from the source to each junction.
+		 */
+		private final int[] dist;
+
+		/**
+		 * The way out of a junction each junction was reached by, or -1 if it
+		 * was reached straight from the source.
+		 */
+		private final int[] via;
+
+		/**
+		 * The junctions to visit, by distance.
+		 */
+		private final PriorityQueue<Long> queue = new PriorityQueue<>();
+
+		/**
+		 * @param l
+		 *            The layout to search.
+		 * @param source
+		 *            The starting square, which can be occupied.
+		 * @param target
+		 *            The destination, which can be occupied.
+		 */
+		private Search(Layout l, int source, int target) {
+			this.l = l;
+			this.source = source;
+			this.target = target;
+			this.dist = new int[l.nodes];
+			this.via = new int[l.nodes];
+			Arrays.fill(dist, Integer.MAX_VALUE);
+		}
+
+		/**
+		 * @return The shortest path, or <code>null</code> if there is none.
+		 */
+		private List<Direction> run() {
+			int best = Integer.MAX_VALUE;
+			int bestNode = -1;
+			if (l.nodeOf[source] >= 0) {
+				reach(l.nodeOf[source], 0, -1);
+			} else {
+				int way = l.wayOf[source];
+				reach(way / 4, l.stepOf[source], -1);
+				reach(l.wayTarget[way], l.wayLength[way] - l.stepOf[source], -1);
+				if (way == l.wayOf[target]) {
+					best = Math.abs(l.stepOf[source] - l.stepOf[target]);
+				}
+			}
+			while (!queue.isEmpty()) {
+				long entry = queue.poll();
+				int d = (int) (entry >>> 32);
+				int n = (int) entry;
+				if (d >= best) {
+					break;
+				}
+				if (d > dist[n]) {
+					continue;
+				}
+				int rest = remaining(n);
+				if (rest < Integer.MAX_VALUE && d + rest < best) {
+					best = d + rest;
+					bestNode = n;
+				}
+				for (int dir = 0; dir < DIRECTIONS.length; dir++) {
+					int way = 4 * n + dir;
+					if (l.wayTarget[way] >= 0) {
+						reach(l.wayTarget[way], d + l.wayLength[way], way);
+					}
+				}
+			}
+			if (best == Integer.MAX_VALUE) {
+				return null;
+			}
+			List<Direction> path = new ArrayList<>();
+			if (bestNode < 0) {
+				int step = l.stepOf[target] - l.stepOf[source];
+				l.walk(source, step > 0 ? l.exits[source] & 3 : l.exits[source] >> 2,
+						Math.abs(step), path);
+				return path;
+			}
+			Deque<Integer> ways = new ArrayDeque<>();
+			int n = bestNode;
+			while (via[n] >= 0) {
+				ways.push(via[n]);
+				n = via[n] / 4;
+			}
+			if (l.nodeOf[source] < 0) {
+				int way = l.wayOf[source];
+				int back = l.stepOf[source];
+				int ahead = l.wayLength[way] - back;
+				if (n == way / 4 && (n != l.wayTarget[way] || back <= ahead)) {
+					l.walk(source, l.exits[source] >> 2, back, path);
+				} else {
+					l.walk(source, l.exits[source] & 3, ahead, path);
+				}
+			}
+			for (int way : ways) {
+				l.walk(l.nodeCell[way / 4], way % 4, l.wayLength[way], path);
+			}
+			if (l.nodeOf[target] < 0) {
+				int way = l.wayOf[target];
+				int ahead = l.stepOf[target];
+				int back = l.wayLength[way] - ahead;
+				if (bestNode == way / 4 && (bestNode != l.wayTarget[way] || ahead <= back)) {
+					l.walk(l.nodeCell[bestNode], way % 4, ahead, path);
+				} else {
+					l.walk(l.nodeCell[bestNode], OPPOSITE[l.wayArrival[way]], back, path);
+				}
+			}
+			return path;
+		}
+
+		/**
+		 * @param n
+		 *            A junction.
+		 * @return The amount of steps from the junction to the target, if the
+		 *         target is the junction or lies on a corridor out of it.
+		 */
+		private int remaining(int n) {
+			if (l.nodeOf[target] >= 0) {
+				return l.nodeOf[target] == n ? 0 : Integer.MAX_VALUE;
+			}
+			int way = l.wayOf[target];
+			int rest = Integer.MAX_VALUE;
+			if (way / 4 == n) {
+				rest = l.stepOf[target];
+			}
+			if (l.wayTarget[way] == n) {
+				rest = Math.min(rest, l.wayLength[way] - l.stepOf[target]);
+			}
+			return rest;
+		}
+
+		/**
+		 * Records a way to a junction if it is shorter than any found before.
+		 *
+		 * @param n
+		 *            The junction.
+		 * @param distance
+		 *            The distance from the source along the way.
+		 * @param way
+		 *            The last way out of a junction taken, or -1.
+		 */
+		private void reach(int n, int distance, int way) {
+			if (distance < dist[n]) {
+				dist[n] = distance;
+				via[n] = way;
+				queue.add((long) distance << 32 | n);
+			}
+		}
+	}
+}
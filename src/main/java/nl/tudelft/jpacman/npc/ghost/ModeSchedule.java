@@ -0,0 +1,89 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+/**
+ * When the ghosts of a level scatter to patrol their home corners and when
+ * they chase Pac-Man. As in the arcade game, they scatter for 7 seconds,
+ * chase for 20, scatter for 7, chase for 20, scatter for 5, chase for 20,
+ * scatter for 5 and then chase for good. Only the time the level is in
+ * progress counts.
+ */
+public class ModeSchedule {
+
+	/**
+	 * What the ghosts are up to.
+	 */
+	public enum Mode {
+
+		/**
+		 * The ghosts patrol their home corners.
+		 */
+		SCATTER,
+
+		/**
+		 * The ghosts chase Pac-Man.
+		 */
+		CHASE
+	}
+
+	/**
+	 * The length of the phases in milliseconds, starting with scattering and
+	 * alternating, after which the ghosts chase.
+	 */
+	private static final long[] PHASES = {7000, 20000, 7000, 20000, 5000, 20000, 5000};
+
+	/**
+	 * The time in progress before the level was last started.
+	 */
+	private long elapsed;
+
+	/**
+	 * The time the level was last started, or -1 if it is not in progress.
+	 */
+	private long resumed = -1;
+
+	/**
+	 * Lets the time count from now on.
+	 */
+	public synchronized void start() {
+		if (resumed < 0) {
+			resumed = System.currentTimeMillis();
+		}
+	}
+
+	/**
+	 * Stops the time from counting.
+	 */
+	public synchronized void stop() {
+		if (resumed >= 0) {
+			elapsed += System.currentTimeMillis() - resumed;
+			resumed = -1;
+		}
+	}
+
+	/**
+	 * @return What the ghosts are up to now.
+	 */
+	public synchronized Mode current() {
+		long time = elapsed;
+		if (resumed >= 0) {
+			time += System.currentTimeMillis() - resumed;
+		}
+		return modeAt(time);
+	}
+
+	/**
+	 * @param time
+	 *            The time in milliseconds the level has been in progress.
+	 * @return What the ghosts are up to at that time.
+	 */
+	static Mode modeAt(long time) {
+		long end = 0;
+		for (int phase = 0; phase < PHASES.length; phase++) {
+			end += PHASES[phase];
+			if (time < end) {
+				return phase % 2 == 0 ? Mode.SCATTER : Mode.CHASE;
+			}
+		}
+		return Mode.CHASE;
+	}
+}
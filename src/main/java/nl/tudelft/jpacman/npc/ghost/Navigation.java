@@ -40,7 +40,7 @@ public final class Navigation {
 	 */
 	public static List<Direction> shortestPath(Square from, Square to,
 			Unit traveller) {
-		if (from == to) {
+		if (from.equals(to)) {
 			return new ArrayList<>();
 		}
 
@@ -50,7 +50,7 @@ public final class Navigation {
 		while (!targets.isEmpty()) {
 			Node n = targets.remove(0);
 			Square s = n.getSquare();
-			if (s == to) {
+			if (s.equals(to)) {
 				return n.getPath();
 			}
 			visited.add(s);
@@ -59,6 +59,103 @@ public final class Navigation {
 		return null;
 	}
 
+	/**
+	 * Calculates the shortest path, if it takes at most a given amount of
+	 * steps. The search never looks further than that, so it only visits the
+	 * squares around the starting square.
+	 *
+	 * @param from
+	 *            The starting square.
+	 * @param to
+	 *            The destination.
+	 * @param steps
+	 *            The largest amount of steps to look for.
+	 * @param traveller
+	 *            The traveller attempting to reach the destination, or
+	 *            <code>null</code> to ignore terrain.
+	 * @return The shortest path to the destination or <code>null</code> if it
+	 *         cannot be reached within the amount of steps. When the
+	 *         destination is the current square, an empty list is returned.
+	 */
+	public static List<Direction> shortestPathWithin(Square from, Square to,
+			int steps, Unit traveller) {
+		if (from.equals(to)) {
+			return new ArrayList<>();
+		}
+
+		List<Node> layer = new ArrayList<>();
+		Set<Square> visited = new HashSet<>();
+		layer.add(new Node(null, from, null));
+		visited.add(from);
+		for (int depth = 0; depth < steps && !layer.isEmpty(); depth++) {
+			List<Node> next = new ArrayList<>();
+			for (Node n : layer) {
+				for (Direction d : Direction.values()) {
+					Square target = n.getSquare().getSquareAt(d);
+					if ((traveller == null || target.isAccessibleTo(traveller))
+							&& visited.add(target)) {
+						Node node = new Node(d, target, n);
+						if (target.equals(to)) {
+							return node.getPath();
+						}
+						next.add(node);
+					}
+				}
+			}
+			layer = next;
+		}
+		return null;
+	}
+
+	/**
+	 * Finds all units of the given type that can be reached within a given
+	 * amount of steps, nearest first. The search never looks further than
+	 * that, so it only visits the squares around the starting square.
+	 *
+	 * @param <T>
+	 *            The type of unit to search for.
+	 * @param type
+	 *            The type of unit to search for.
+	 * @param from
+	 *            The starting square.
+	 * @param steps
+	 *            The largest amount of steps to look for.
+	 * @param traveller
+	 *            The traveller whose steps are counted, or <code>null</code>
+	 *            to ignore terrain.
+	 * @return The units found, which may be none.
+	 */
+	public static <T extends Unit> List<T> findAllWithin(Class<T> type,
+			Square from, int steps, Unit traveller) {
+		List<T> found = new ArrayList<>();
+		List<Square> layer = new ArrayList<>();
+		Set<Square> visited = new HashSet<>();
+		layer.add(from);
+		visited.add(from);
+		for (int depth = 0; !layer.isEmpty(); depth++) {
+			List<Square> next = new ArrayList<>();
+			for (Square square : layer) {
+				for (Unit u : square.getOccupants()) {
+					if (type.isInstance(u)) {
+						found.add(type.cast(u));
+					}
+				}
+				if (depth == steps) {
+					continue;
+				}
+				for (Direction d : Direction.values()) {
+					Square target = square.getSquareAt(d);
+					if ((traveller == null || target.isAccessibleTo(traveller))
+							&& visited.add(target)) {
+						next.add(target);
+					}
+				}
+			}
+			layer = next;
+		}
+		return found;
+	}
+
 	private static void addNewTargets(Unit traveller, List<Node> targets,
 			Set<Square> visited, Node n, Square s) {
 		for (Direction d : Direction.values()) {
@@ -0,0 +1,198 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+
+/**
+ * Remembers the paths found by another path finder, for queries between the
+ * same squares by the same kind of traveller. The least recently used paths
+ * are forgotten first, and all of them as soon as the terrain of the board
+ * changes (see {@link Board#getVersion()}). The paths handed out are shared
+ * and cannot be modified.
+ */
+public class PathCache implements PathFinder {
+
+	/**
+	 * The amount of paths remembered unless specified otherwise.
+	 */
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	/**
+	 * The board the paths are on.
+	 */
+	private final Board board;
+
+	/**
+	 * The path finder to ask when a path is not remembered.
+	 */
+	private final PathFinder finder;
+
+	/**
+	 * The paths remembered, least recently used first.
+	 */
+	private final Map<Query, List<Direction>> paths;
+
+	/**
+	 * The version of the board the remembered paths were found on.
+	 */
+	private long version;
+
+	/**
+	 * The amount of queries answered from memory.
+	 */
+	private final AtomicLong hits = new AtomicLong();
+
+	/**
+	 * The amount of queries passed on to the path finder.
+	 */
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Creates a cache remembering {@link #DEFAULT_CAPACITY} paths.
+	 *
+	 * @param board
+	 *            The board the paths are on.
+	 * @param finder
+	 *            The path finder to ask when a path is not remembered.
+	 */
+	public PathCache(Board board, PathFinder finder) {
+		this(board, finder, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a new cache.
+	 *
+	 * @param board
+	 *            The board the paths are on.
+	 * @param finder
+	 *            The path finder to ask when a path is not remembered.
+	 * @param capacity
+	 *            The amount of paths to remember at most.
+	 */
+	public PathCache(Board board, PathFinder finder, int capacity) {
+		assert board != null;
+		assert finder != null;
+		assert capacity > 0;
+		this.board = board;
+		this.finder = finder;
+		this.version = board.getVersion();
+		this.paths = new LinkedHashMap<Query, List<Direction>>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Query, List<Direction>> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	@Override
+	public List<Direction> shortestPath(Square from, Square to, Unit traveller) {
+		Query query = new Query(from, to, traveller);
+		long current = board.getVersion();
+		synchronized (this) {
+			if (current != version) {
+				paths.clear();
+				version = current;
+			}
+			List<Direction> path = paths.get(query);
+			if (path != null || paths.containsKey(query)) {
+				hits.incrementAndGet();
+				return path;
+			}
+		}
+		misses.incrementAndGet();
+		List<Direction> path = finder.shortestPath(from, to, traveller);
+		if (path != null) {
+			path = Collections.unmodifiableList(path);
+		}
+		synchronized (this) {
+			if (current == version) {
+				paths.put(query, path);
+			}
+		}
+		return path;
+	}
+
+	/**
+	 * @return The amount of queries answered from memory so far.
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return The amount of queries passed on to the path finder so far.
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * @return The amount of paths remembered now.
+	 */
+	public synchronized int size() {
+		return paths.size();
+	}
+
+	/**
+	 * A query for a path. Travellers of the same class may occupy the same
+	 * squares, so they share their paths.
+	 */
+	private static final class Query {
+
+		/**
+		 * The starting square.
+		 */
+		private final Square from;
+
+		/**
+		 * The destination.
+		 */
+		private final Square to;
+
+		/**
+		 * The class of the traveller, or <code>null</code> to ignore terrain.
+		 */
+		private final Class<?> type;
+
+		/**
+		 * @param from
+		 *            The starting square.
+		 * @param to
+		 *            The destination.
+		 * @param traveller
+		 *            The traveller, or <code>null</code> to ignore terrain.
+		 */
+		private Query(Square from, Square to, Unit traveller) {
+			this.from = from;
+			this.to = to;
+			this.type = traveller == null ? null : traveller.getClass();
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Query)) {
+				return false;
+			}
+			Query query = (Query) other;
+			return from.equals(query.from) && to.equals(query.to) && type == query.type;
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = from.hashCode();
+			hash = 31 * hash + to.hashCode();
+			return 31 * hash + System.identityHashCode(type);
+		}
+	}
+}
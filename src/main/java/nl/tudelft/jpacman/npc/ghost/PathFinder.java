@@ -0,0 +1,33 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+
+/**
+ * A way for ghosts to find the shortest path between two squares.
+ * {@link Navigation#shortestPath(Square, Square, Unit)} is the reference
+ * every path finder has to agree with on path lengths.
+ */
+public interface PathFinder {
+
+	/**
+	 * Calculates the shortest path. The traveller must be allowed to occupy
+	 * the squares on the way, or terrain is ignored if no traveller is
+	 * specified.
+	 *
+	 * @param from
+	 *            The starting square.
+	 * @param to
+	 *            The destination.
+	 * @param traveller
+	 *            The traveller attempting to reach the destination, or
+	 *            <code>null</code> to ignore terrain.
+	 * @return The shortest path to the destination or <code>null</code> if no
+	 *         such path could be found. When the destination is the current
+	 *         square, an empty list is returned.
+	 */
+	List<Direction> shortestPath(Square from, Square to, Unit traveller);
+}
@@ -0,0 +1,78 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+
+/**
+ * A ghost patrolling a corner of the map it is on. On its loop, every move is
+ * a single step read from the loop; only to get to the loop the ghost
+ * searches a path.
+ */
+final class Patrol {
+
+	/**
+	 * The loops of the board.
+	 */
+	private final PatrolRoutes routes;
+
+	/**
+	 * The corner to patrol.
+	 */
+	private final PatrolRoutes.Corner corner;
+
+	/**
+	 * The loop being followed.
+	 */
+	private PatrolRoutes.Route route;
+
+	/**
+	 * The number of the next step on the loop.
+	 */
+	private int step;
+
+	/**
+	 * The square the ghost is on after the last step on the loop, or
+	 * <code>null</code> if it is not on the loop.
+	 */
+	private Square expected;
+
+	/**
+	 * @param routes
+	 *            The loops of the board.
+	 * @param corner
+	 *            The corner to patrol.
+	 */
+	Patrol(PatrolRoutes routes, PatrolRoutes.Corner corner) {
+		this.routes = routes;
+		this.corner = corner;
+	}
+
+	/**
+	 * @param ghost
+	 *            The ghost patrolling.
+	 * @return The next move of the ghost, or <code>null</code> if it cannot
+	 *         get to a loop.
+	 */
+	Direction next(Ghost ghost) {
+		Square square = ghost.getSquare();
+		if (!square.equals(expected)) {
+			route = routes.routeFor(corner, square);
+			if (route == null || route.length() == 0) {
+				return null;
+			}
+			Square start = routes.startOf(route, square);
+			step = route.indexOf(start, square);
+			if (step < 0) {
+				expected = null;
+				List<Direction> path = ghost.pathTo(start);
+				return path == null || path.isEmpty() ? null : path.get(0);
+			}
+		}
+		Direction d = route.step(step);
+		step = (step + 1) % route.length();
+		expected = square.getSquareAt(d);
+		return d;
+	}
+}
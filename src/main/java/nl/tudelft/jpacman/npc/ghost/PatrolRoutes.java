@@ -0,0 +1,446 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardListener;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+
+/**
+ * The loops ghosts patrol in the corners of each map the board is made of.
+ * The loop of a corner is the shortest one through an open square as close
+ * to the corner as possible, staying within the map, or a step back and forth
+ * where there is no loop nearby. A map's loops are worked out the first time
+ * a ghost patrols it and kept as a sequence of directions, also when the
+ * board is extended.
+ */
+public class PatrolRoutes implements BoardListener {
+
+	/**
+	 * The corners of a map.
+	 */
+	public enum Corner {
+
+		/**
+		 * The top left corner.
+		 */
+		NORTH_WEST(false, false),
+
+		/**
+		 * The top right corner.
+		 */
+		NORTH_EAST(true, false),
+
+		/**
+		 * The bottom left corner.
+		 */
+		SOUTH_WEST(false, true),
+
+		/**
+		 * The bottom right corner.
+		 */
+		SOUTH_EAST(true, true);
+
+		/**
+		 * Whether the corner is on the right.
+		 */
+		private final boolean east;
+
+		/**
+		 * Whether the corner is at the bottom.
+		 */
+		private final boolean south;
+
+		/**
+		 * @param east
+		 *            Whether the corner is on the right.
+		 * @param south
+		 *            Whether the corner is at the bottom.
+		 */
+		Corner(boolean east, boolean south) {
+			this.east = east;
+			this.south = south;
+		}
+	}
+
+	/**
+	 * The amount of squares nearest to a corner to look for a loop through.
+	 */
+	private static final int CANDIDATES = 24;
+
+	/**
+	 * The directions by their ordinal.
+	 */
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	/**
+	 * The board the ghosts patrol.
+	 */
+	private final Board board;
+
+	/**
+	 * The unit whose access to squares decides where the loops go.
+	 */
+	private final Unit traveller;
+
+	/**
+	 * The amount of columns of a map.
+	 */
+	private final int tileWidth;
+
+	/**
+	 * The amount of rows of a map.
+	 */
+	private final int tileHeight;
+
+	/**
+	 * The loops of each corner, by map column and row, or <code>null</code>
+	 * where not worked out yet.
+	 */
+	private Route[][][] routes;
+
+	/**
+	 * Creates the loops for a board, with the maps it is made of.
+	 *
+	 * @param board
+	 *            The board the ghosts patrol.
+	 * @param traveller
+	 *            The unit whose access to squares decides where the loops
+	 *            go.
+	 */
+	public PatrolRoutes(Board board, Unit traveller) {
+		assert board != null;
+		assert traveller != null;
+		this.board = board;
+		this.traveller = traveller;
+		this.tileWidth = board.getWidthOfOneMap();
+		this.tileHeight = board.getHeightOfOneMap();
+		this.routes = new Route[board.getWidth() / tileWidth][board.getHeight() / tileHeight][];
+		board.addListener(this);
+	}
+
+	@Override
+	public void squareChanged(Square square) {
+		// occupants do not change whether a square can be occupied.
+	}
+
+	/**
+	 * Keeps the loops worked out so far, moving them along when the new maps
+	 * are added in front of them.
+	 */
+	@Override
+	public synchronized void boardExtended(Direction direction) {
+		Route[][][] grown = new Route[board.getWidth() / tileWidth][board.getHeight() / tileHeight][];
+		int dx = direction == Direction.WEST ? grown.length - routes.length : 0;
+		int dy = direction == Direction.NORTH ? grown[0].length - routes[0].length : 0;
+		for (int cx = 0; cx < routes.length; cx++) {
+			System.arraycopy(routes[cx], 0, grown[cx + dx], dy, routes[cx].length);
+		}
+		routes = grown;
+	}
+
+	/**
+	 * @param corner
+	 *            A corner.
+	 * @param near
+	 *            A square of the map to patrol.
+	 * @return The loop in that corner of the map, or <code>null</code> if
+	 *         there is no open square to patrol.
+	 */
+	public Route routeFor(Corner corner, Square near) {
+		int cx = Math.floorMod(near.getCoordX(), board.getWidth()) / tileWidth;
+		int cy = Math.floorMod(near.getCoordY(), board.getHeight()) / tileHeight;
+		return corners(cx, cy)[corner.ordinal()];
+	}
+
+	/**
+	 * @param route
+	 *            A loop.
+	 * @param near
+	 *            A square of the map of the loop.
+	 * @return The square the loop starts at.
+	 */
+	public Square startOf(Route route, Square near) {
+		int x = Math.floorMod(near.getCoordX(), board.getWidth());
+		int y = Math.floorMod(near.getCoordY(), board.getHeight());
+		return board.squareAt(x - x % tileWidth + route.startX, y - y % tileHeight + route.startY);
+	}
+
+	/**
+	 * @param cx
+	 *            A map column.
+	 * @param cy
+	 *            A map row.
+	 * @return The loops of the corners of the map, worked out if they were
+	 *         not yet.
+	 */
+	private synchronized Route[] corners(int cx, int cy) {
+		Route[] corners = routes[cx][cy];
+		if (corners == null) {
+			corners = new Tile(cx * tileWidth, cy * tileHeight).routes();
+			routes[cx][cy] = corners;
+		}
+		return corners;
+	}
+
+	/**
+	 * A loop of steps, starting at a square of a map.
+	 */
+	public static final class Route {
+
+		/**
+		 * The column of the first square within its map.
+		 */
+		private final int startX;
+
+		/**
+		 * The row of the first square within its map.
+		 */
+		private final int startY;
+
+		/**
+		 * The ordinals of the directions of the steps.
+		 */
+		private final byte[] steps;
+
+		/**
+		 * @param startX
+		 *            The column of the first square within its map.
+		 * @param startY
+		 *            The row of the first square within its map.
+		 * @param steps
+		 *            The ordinals of the directions of the steps.
+		 */
+		private Route(int startX, int startY, byte[] steps) {
+			this.startX = startX;
+			this.startY = startY;
+			this.steps = steps;
+		}
+
+		/**
+		 * @return The amount of steps of this loop.
+		 */
+		public int length() {
+			return steps.length;
+		}
+
+		/**
+		 * @param index
+		 *            The number of a step.
+		 * @return The direction of the step.
+		 */
+		public Direction step(int index) {
+			return DIRECTIONS[steps[index]];
+		}
+
+		/**
+		 * Finds where a square is on this loop, by following it.
+		 *
+		 * @param start
+		 *            The square this loop starts at.
+		 * @param square
+		 *            The square to find.
+		 * @return The number of the step from the square, or -1 if the square
+		 *         is not on this loop.
+		 */
+		public int indexOf(Square start, Square square) {
+			Square at = start;
+			for (int i = 0; i < steps.length; i++) {
+				if (at.equals(square)) {
+					return i;
+				}
+				at = at.getSquareAt(step(i));
+			}
+			return -1;
+		}
+	}
+
+	/**
+	 * The squares of one map. Squares within the map are numbered column by
+	 * column.
+	 */
+	private final class Tile {
+
+		/**
+		 * Whether each square of the map can be occupied.
+		 */
+		private final boolean[] open;
+
+		/**
+		 * @param originX
+		 *            The column of the top left square of the map.
+		 * @param originY
+		 *            The row of the top left square of the map.
+		 */
+		private Tile(int originX, int originY) {
+			this.open = new boolean[tileWidth * tileHeight];
+			for (int x = 0; x < tileWidth; x++) {
+				for (int y = 0; y < tileHeight; y++) {
+					open[x * tileHeight + y] = board.isAccessibleAt(originX + x, originY + y,
+							traveller);
+				}
+			}
+		}
+
+		/**
+		 * @return The loops of the corners, by the ordinal of the corner.
+		 */
+		private Route[] routes() {
+			Corner[] corners = Corner.values();
+			Route[] found = new Route[corners.length];
+			for (Corner corner : corners) {
+				found[corner.ordinal()] = route(corner);
+			}
+			return found;
+		}
+
+		/**
+		 * @param corner
+		 *            A corner.
+		 * @return The loop in the corner, or <code>null</code> if no square
+		 *         of the map can be occupied.
+		 */
+		private Route route(Corner corner) {
+			int cornerX = corner.east ? tileWidth - 1 : 0;
+			int cornerY = corner.south ? tileHeight - 1 : 0;
+			List<Integer> candidates = new ArrayList<>();
+			for (int cell = 0; cell < open.length; cell++) {
+				if (open[cell]) {
+					candidates.add(cell);
+				}
+			}
+			if (candidates.isEmpty()) {
+				return null;
+			}
+			candidates.sort((a, b) -> Integer.compare(
+					distance(a, cornerX, cornerY), distance(b, cornerX, cornerY)));
+			for (int cell : candidates.subList(0, Math.min(CANDIDATES, candidates.size()))) {
+				byte[] loop = loopThrough(cell);
+				if (loop != null) {
+					return new Route(cell / tileHeight, cell % tileHeight, loop);
+				}
+			}
+			int cell = candidates.get(0);
+			for (Direction d : DIRECTIONS) {
+				if (neighbour(cell, d) >= 0) {
+					byte[] steps = {(byte) d.ordinal(), (byte) opposite(d.ordinal())};
+					return new Route(cell / tileHeight, cell % tileHeight, steps);
+				}
+			}
+			return new Route(cell / tileHeight, cell % tileHeight, new byte[0]);
+		}
+
+		/**
+		 * @param cell
+		 *            A square of the map.
+		 * @param x
+		 *            A column of the map.
+		 * @param y
+		 *            A row of the map.
+		 * @return The amount of columns and rows between the two.
+		 */
+		private int distance(int cell, int x, int y) {
+			return Math.abs(cell / tileHeight - x) + Math.abs(cell % tileHeight - y);
+		}
+
+		/**
+		 * @param cell
+		 *            A square of the map.
+		 * @param d
+		 *            A direction.
+		 * @return The open square of the map next to it, or -1.
+		 */
+		private int neighbour(int cell, Direction d) {
+			int x = cell / tileHeight + d.getDeltaX();
+			int y = cell % tileHeight + d.getDeltaY();
+			if (x < 0 || x >= tileWidth || y < 0 || y >= tileHeight) {
+				return -1;
+			}
+			int next = x * tileHeight + y;
+			return open[next] ? next : -1;
+		}
+
+		/**
+		 * Searches breadth first from a square for two ways that meet,
+		 * having left the square in different directions.
+		 *
+		 * @param start
+		 *            A square of the map.
+		 * @return The steps of a short loop from the square back to it, or
+		 *         <code>null</code> if there is none within the map.
+		 */
+		private byte[] loopThrough(int start) {
+			int[] parent = new int[open.length];
+			byte[] step = new byte[open.length];
+			byte[] branch = new byte[open.length];
+			Arrays.fill(parent, -1);
+			parent[start] = start;
+			int[] queue = new int[open.length];
+			int head = 0;
+			int tail = 0;
+			queue[tail++] = start;
+			while (head < tail) {
+				int cell = queue[head++];
+				for (Direction d : DIRECTIONS) {
+					int next = neighbour(cell, d);
+					if (next < 0 || next == parent[cell]) {
+						continue;
+					}
+					if (parent[next] < 0) {
+						parent[next] = cell;
+						step[next] = (byte) d.ordinal();
+						branch[next] = cell == start ? (byte) d.ordinal() : branch[cell];
+						queue[tail++] = next;
+					} else if (cell != start && next != start && branch[cell] != branch[next]) {
+						return join(start, cell, d, next, parent, step);
+					}
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * @param start
+		 *            The square the loop goes through.
+		 * @param from
+		 *            The end of one way.
+		 * @param d
+		 *            The step between the two ways.
+		 * @param to
+		 *            The end of the other way.
+		 * @param parent
+		 *            The square each square was reached from.
+		 * @param step
+		 *            The direction each square was reached in.
+		 * @return The steps out along one way and back along the other.
+		 */
+		private byte[] join(int start, int from, Direction d, int to, int[] parent, byte[] step) {
+			List<Byte> out = new ArrayList<>();
+			for (int cell = from; cell != start; cell = parent[cell]) {
+				out.add(0, step[cell]);
+			}
+			out.add((byte) d.ordinal());
+			for (int cell = to; cell != start; cell = parent[cell]) {
+				out.add((byte) opposite(step[cell]));
+			}
+			byte[] loop = new byte[out.size()];
+			for (int i = 0; i < loop.length; i++) {
+				loop[i] = out.get(i);
+			}
+			return loop;
+		}
+	}
+
+	/**
+	 * @param direction
+	 *            The ordinal of a direction.
+	 * @return The ordinal of the opposite direction.
+	 */
+	private static int opposite(int direction) {
+		return direction ^ 1;
+	}
+}
@@ -94,6 +94,11 @@ public class Pinky extends Ghost {
 		return ((int) (ACCELERATED_MOVE_INTERVAL/this.speed)) + new Random().nextInt(INTERVAL_VARIATION);
 	}
 
+	@Override
+	protected PatrolRoutes.Corner getHomeCorner() {
+		return PatrolRoutes.Corner.NORTH_WEST;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -113,6 +118,10 @@ public class Pinky extends Ghost {
 		if (this.getFearedMode()) {
 			return randomMoveAtCrossroads();
 		}
+		Direction scatter = scatter();
+		if (scatter != null) {
+			return scatter;
+		}
 
 		Unit player = Navigation.findNearest(Player.class, getSquare());
 		if (player == null) {
@@ -125,8 +134,7 @@ public class Pinky extends Ghost {
 			destination = destination.getSquareAt(targetDirection);
 		}
 
-		List<Direction> path = Navigation.shortestPath(getSquare(),
-				destination, this);
+		List<Direction> path = pathTo(destination);
 		if (path != null && !path.isEmpty()) {
 			return path.get(0);
 		}
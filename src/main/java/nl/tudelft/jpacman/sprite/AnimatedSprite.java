@@ -3,8 +3,8 @@ package nl.tudelft.jpacman.sprite;
 import java.awt.Graphics;
 
 /**
- * Animated sprite, renders the frame depending on the time of requesting the
- * draw.
+ * Animated sprite, renders the frame depending on the time of the
+ * {@link AnimationClock} it is driven by.
  * 
  * @author Jeroen Roosen 
  */
@@ -30,6 +30,11 @@ public class AnimatedSprite implements Sprite {
 	 */
 	private final boolean looping;
 
+	/**
+	 * The clock this animation is driven by.
+	 */
+	private final AnimationClock clock;
+
 	/**
 	 * The index of the current frame.
 	 */
@@ -41,9 +46,10 @@ public class AnimatedSprite implements Sprite {
 	private boolean animating;
 
 	/**
-	 * The {@link System#currentTimeMillis()} stamp of the last update.
+	 * The time of the clock at which the first frame of the animation was (or
+	 * would have been) shown.
 	 */
-	private long lastUpdate;
+	private long start;
 
 	/**
 	 * Creates a new animating sprite that will change frames every interval.
@@ -57,7 +63,8 @@ public class AnimatedSprite implements Sprite {
 	}
 
 	/**
-	 * Creates a new animating sprite that will change frames every interval.
+	 * Creates a new animating sprite that will change frames every interval,
+	 * driven by the {@link AnimationClock#getFrameClock() frame clock}.
 	 * @param frames The frames of this animation.
 	 * @param delay The delay between frames.
 	 * @param loop Whether or not this sprite should be looping.
@@ -65,15 +72,30 @@ public class AnimatedSprite implements Sprite {
 	 */
 	public AnimatedSprite(Sprite[] frames, int delay, boolean loop,
 			boolean isAnimating) {
+		this(frames, delay, loop, isAnimating, AnimationClock.getFrameClock());
+	}
+
+	/**
+	 * Creates a new animating sprite that will change frames every interval.
+	 * @param frames The frames of this animation.
+	 * @param delay The delay between frames.
+	 * @param loop Whether or not this sprite should be looping.
+	 * @param isAnimating Whether or not this sprite is animating from the start.
+	 * @param animationClock The clock driving this animation.
+	 */
+	public AnimatedSprite(Sprite[] frames, int delay, boolean loop,
+			boolean isAnimating, AnimationClock animationClock) {
 		assert frames.length > 0;
+		assert animationClock != null;
 
 		this.animationFrames = frames.clone();
 		this.animationDelay = delay;
 		this.looping = loop;
 		this.animating = isAnimating;
+		this.clock = animationClock;
 
 		this.current = 0;
-		this.lastUpdate = System.currentTimeMillis();
+		this.start = clock.now();
 	}
 
 	/**
@@ -87,11 +109,15 @@ public class AnimatedSprite implements Sprite {
 	}
 
 	/**
-	 * Starts or stops the animation of this sprite.
+	 * Starts or stops the animation of this sprite. A stopped animation
+	 * continues from the frame it was stopped at.
 	 * @param isAnimating <code>true</code> to animate this
 	 * sprite or <code>false</code> to stop animating this sprite.
 	 */
 	public void setAnimating(boolean isAnimating) {
+		if (isAnimating && !animating) {
+			this.start = clock.now() - (long) current * animationDelay;
+		}
 		this.animating = isAnimating;
 	}
 	
@@ -100,8 +126,8 @@ public class AnimatedSprite implements Sprite {
 	 */
 	public void restart() {
 		this.current = 0;
-		this.lastUpdate = System.currentTimeMillis();
-		setAnimating(true);
+		this.start = clock.now();
+		this.animating = true;
 	}
 
 	@Override
@@ -117,22 +143,27 @@ public class AnimatedSprite implements Sprite {
 	}
 
 	/**
-	 * Updates the current frame index depending on the current system time.
+	 * Updates the current frame index depending on the time of the clock.
+	 * The frame is computed directly from the time elapsed since the start
+	 * of the animation, so the cost does not depend on how long ago the
+	 * sprite was last drawn.
 	 */
 	private void update() {
-		long now = System.currentTimeMillis();
-		if (animating) {
-			while (lastUpdate < now) {
-				lastUpdate += animationDelay;
-				current++;
-				if (looping) {
-					current %= animationFrames.length;
-				} else if (current == animationFrames.length) {
-					animating = false;
-				}
-			}
+		if (!animating || animationDelay <= 0) {
+			return;
+		}
+		long elapsed = clock.now() - start;
+		if (elapsed < 0) {
+			return;
+		}
+		long frame = elapsed / animationDelay;
+		if (looping) {
+			current = (int) (frame % animationFrames.length);
+		} else if (frame >= animationFrames.length) {
+			current = animationFrames.length;
+			animating = false;
 		} else {
-			lastUpdate = now;
+			current = (int) frame;
 		}
 	}
 
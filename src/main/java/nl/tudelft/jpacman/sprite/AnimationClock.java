@@ -0,0 +1,110 @@
+package nl.tudelft.jpacman.sprite;
+
+import java.util.function.LongSupplier;
+
+/**
+ * The clock driving {@link AnimatedSprite}s. Instead of every sprite reading
+ * the system time whenever it is drawn, the clock is sampled once per frame
+ * and all sprites use that same time stamp, so that every sprite of a frame
+ * shows the same moment of its animation.
+ * <p>
+ * The clock can be paused, in which case animations freeze until it is
+ * resumed, and it can be driven by any time source, e.g. a virtual clock in
+ * tests.
+ */
+public class AnimationClock {
+
+	/**
+	 * The clock that is sampled by the user interface on every frame.
+	 */
+	private static final AnimationClock FRAME_CLOCK = new AnimationClock();
+
+	/**
+	 * The source of time stamps in milliseconds.
+	 */
+	private final LongSupplier source;
+
+	/**
+	 * The time stamp of the last sample.
+	 */
+	private volatile long now;
+
+	/**
+	 * The amount of milliseconds this clock has been paused in total, which is
+	 * subtracted from the time of the source.
+	 */
+	private long pausedTime;
+
+	/**
+	 * <code>true</code> iff this clock is paused.
+	 */
+	private boolean paused;
+
+	/**
+	 * Creates a new clock based on {@link System#currentTimeMillis()}.
+	 */
+	public AnimationClock() {
+		this(System::currentTimeMillis);
+	}
+
+	/**
+	 * Creates a new clock reading its time from the given source.
+	 * @param timeSource The source of time stamps in milliseconds.
+	 */
+	public AnimationClock(LongSupplier timeSource) {
+		assert timeSource != null;
+		this.source = timeSource;
+		this.now = timeSource.getAsLong();
+	}
+
+	/**
+	 * @return The clock shared by all sprites that were not given a clock of
+	 *         their own, sampled once per frame by the user interface.
+	 */
+	public static AnimationClock getFrameClock() {
+		return FRAME_CLOCK;
+	}
+
+	/**
+	 * Reads the time source, unless this clock is paused. This should be done
+	 * once per frame, before any sprite is drawn.
+	 * @return The new time of this clock.
+	 */
+	public synchronized long sample() {
+		if (!paused) {
+			now = source.getAsLong() - pausedTime;
+		}
+		return now;
+	}
+
+	/**
+	 * @return The time of this clock at the last sample, in milliseconds.
+	 */
+	public long now() {
+		return now;
+	}
+
+	/**
+	 * Pauses this clock, freezing all animations depending on it.
+	 */
+	public synchronized void pause() {
+		paused = true;
+	}
+
+	/**
+	 * Resumes this clock. Animations continue where they were paused.
+	 */
+	public synchronized void resume() {
+		if (paused) {
+			pausedTime = source.getAsLong() - now;
+			paused = false;
+		}
+	}
+
+	/**
+	 * @return <code>true</code> iff this clock is paused.
+	 */
+	public synchronized boolean isPaused() {
+		return paused;
+	}
+}
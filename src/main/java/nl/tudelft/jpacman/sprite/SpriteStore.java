@@ -3,8 +3,8 @@ package nl.tudelft.jpacman.sprite;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.imageio.ImageIO;
 
@@ -17,7 +17,8 @@ public class SpriteStore {
 	
 	/**
 	 * We only need to load images once, so we keep track
-	 * of them in a hash map.
+	 * of them in a hash map. Boards may be built on several
+	 * threads at once, so the map must be concurrent.
 	 */
 	private Map<String, Sprite> spriteMap;
 	
@@ -25,7 +26,7 @@ public class SpriteStore {
 	 * Create a new sprite store.
 	 */
 	public SpriteStore() {
-		spriteMap = new HashMap<String, Sprite>();
+		spriteMap = new ConcurrentHashMap<String, Sprite>();
 	}
 	
 	/**
@@ -0,0 +1,115 @@
+package nl.tudelft.jpacman.ui;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.level.Level;
+
+/**
+ * Grows the board of an infinite level before the player can see its edge.
+ * Growing the board copies all of its squares, so it is done on a background
+ * thread rather than while painting. The board is painted under the
+ * level's shared lock, so a frame waits for an extension to finish rather
+ * than reading squares while they are relinked.
+ */
+class BoardGrowth {
+
+	/**
+	 * The amount of cells beyond the visible part of the board that must
+	 * exist in every direction.
+	 */
+	private final int margin;
+
+	/**
+	 * The amount of cells beyond the visible part of the board that must
+	 * exist in the direction the player is travelling in.
+	 */
+	private final int leadMargin;
+
+	/**
+	 * The directions in which the board is currently being grown.
+	 */
+	private final Set<Direction> pending =
+			Collections.synchronizedSet(EnumSet.noneOf(Direction.class));
+
+	/**
+	 * The thread growing the board.
+	 */
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+		Thread thread = new Thread(r, "board-growth");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Creates a new board growth policy.
+	 * @param margin The amount of cells beyond the visible part of the board
+	 *            that must exist in every direction.
+	 * @param leadMargin The amount of cells beyond the visible part of the
+	 *            board that must exist in the direction of travel.
+	 */
+	BoardGrowth(int margin, int leadMargin) {
+		assert margin >= 0 && leadMargin >= 0;
+		this.margin = margin;
+		this.leadMargin = leadMargin;
+	}
+
+	/**
+	 * Requests the board of the level to grow in every direction in which
+	 * the visible part plus the prefetch margin exceeds the board. Returns
+	 * immediately.
+	 * @param level The level whose board may need to grow.
+	 * @param viewport The visible part of the board.
+	 * @param travel The direction the player is travelling in.
+	 */
+	void update(Level level, Viewport viewport, Direction travel) {
+		Board board = level.getBoard();
+		if (viewport.getFirstX() - margin(Direction.WEST, travel) < 0) {
+			request(level, Direction.WEST);
+		}
+		if (viewport.getLastX() + margin(Direction.EAST, travel) >= board.getWidth()) {
+			request(level, Direction.EAST);
+		}
+		if (viewport.getFirstY() - margin(Direction.NORTH, travel) < 0) {
+			request(level, Direction.NORTH);
+		}
+		if (viewport.getLastY() + margin(Direction.SOUTH, travel) >= board.getHeight()) {
+			request(level, Direction.SOUTH);
+		}
+	}
+
+	/**
+	 * @param direction The direction of a board edge.
+	 * @param travel The direction the player is travelling in.
+	 * @return The prefetch margin towards that edge.
+	 */
+	private int margin(Direction direction, Direction travel) {
+		if (direction == travel) {
+			return leadMargin;
+		}
+		return margin;
+	}
+
+	/**
+	 * Schedules growing the board in a direction, unless that is already
+	 * scheduled.
+	 * @param level The level whose board has to grow.
+	 * @param direction The direction to grow in.
+	 */
+	private void request(Level level, Direction direction) {
+		if (pending.add(direction)) {
+			executor.execute(() -> {
+				try {
+					level.extendBoard(direction);
+				} finally {
+					pending.remove(direction);
+				}
+			});
+		}
+	}
+}
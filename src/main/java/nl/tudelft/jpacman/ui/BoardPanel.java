@@ -4,18 +4,20 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.util.List;
+import java.util.concurrent.locks.Lock;
 
 import javax.swing.JPanel;
 
 import nl.tudelft.jpacman.Launcher;
 import nl.tudelft.jpacman.board.Board;
-import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.game.Game;
 import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.MovableCharacter;
 import nl.tudelft.jpacman.level.Player;
 import nl.tudelft.jpacman.level.Bridge;
+import nl.tudelft.jpacman.sprite.AnimationClock;
 
 /**
  * Panel displaying a game.
@@ -47,14 +49,21 @@ class BoardPanel extends JPanel {
 	private final Game game;
 
 	/**
-	 * Taille d'un board de base pour recentrer le dessin
+	 * The amount of cells beyond the visible part of an infinite board that
+	 * must exist in every direction.
 	 */
-	private int scalex, scaley;
+	private static final int GROWTH_MARGIN = 2;
 
 	/**
-	 * Savoir si c'est le premier traçage ou non
+	 * The amount of cells beyond the visible part of an infinite board that
+	 * must exist in the direction the player is travelling in.
 	 */
-	private boolean first = true;
+	private static final int GROWTH_LEAD_MARGIN = 8;
+
+	/**
+	 * Grows an infinite board ahead of the player.
+	 */
+	private final BoardGrowth growth = new BoardGrowth(GROWTH_MARGIN, GROWTH_LEAD_MARGIN);
 
 	/**
 	 * Creates a new board panel that will display the provided game.
@@ -77,15 +86,29 @@ class BoardPanel extends JPanel {
 		setPreferredSize(size);
 	}
 
+	/**
+	 * Paints the board under the level's shared lock, since extending the
+	 * board relinks its squares in place.
+	 *
+	 * @param g The graphics context to draw on.
+	 */
 	@Override
 	public void paint(Graphics g) {
 		assert g != null;
+		AnimationClock.getFrameClock().sample();
 		Launcher launcher = Launcher.getLauncher();
-		if(launcher.getBoardToUse().equals("/board.txt") || launcher.getBoardToUse().equals("/boardFruit.txt")) {
-			render(game.getLevel().getBoard(), g, getSize());
-		}
-		else {
-			renderInfinite(game.getLevel().getBoard(), g, getSize());
+		Level level = game.getLevel();
+		Lock shared = level.getSharedLock();
+		shared.lock();
+		try {
+			if(launcher.getBoardToUse().equals("/board.txt") || launcher.getBoardToUse().equals("/boardFruit.txt")) {
+				render(level.getBoard(), g, getSize());
+			}
+			else {
+				renderInfinite(level.getBoard(), g, getSize());
+			}
+		} finally {
+			shared.unlock();
 		}
 	}
 
@@ -110,58 +133,70 @@ class BoardPanel extends JPanel {
 				render(square, g, cellX, cellY, cellW, cellH);
 			}
 		}
+		long now = System.currentTimeMillis();
+		for (int y = 0; y < board.getHeight(); y++) {
+			for (int x = 0; x < board.getWidth(); x++) {
+				int cellX = x * cellW;
+				int cellY = y * cellH;
+				Square square = board.squareAt(x, y);
+				renderCharacters(square, g, cellX, cellY, cellW, cellH, now);
+			}
+		}
 	}
 
 	/**
-	 * Renders the board on the given graphics context to the given dimensions.
+	 * Renders the part of an infinite board around the player that fits in
+	 * the given dimensions, with squares the size of those of a single map,
+	 * and requests the board to grow when its edge comes near.
 	 * @param board The board to render.
 	 * @param g The graphics context to draw on.
-	 * @param window The dimensions to scale the rendered board to.
+	 * @param window The dimensions of the visible part of the board.
 	 */
 	private void renderInfinite(Board board, Graphics g, Dimension window) {
-		int cellW;
-		int cellH;
-		if(this.first)
-		{
-			this.scalex = board.getWidth();
-			this.scaley = board.getHeight();
-			this.first = false;
-		}
-		cellW = window.width / this.scalex;
-		cellH = window.height / this.scaley;
-		Player pl = this.game.getPlayers().get(0);
-		Square posPlayer = pl.getSquare();
-
+		int cellW = window.width / board.getWidthOfOneMap();
+		int cellH = window.height / board.getHeightOfOneMap();
 		g.setColor(BACKGROUND_COLOR);
 		g.fillRect(0, 0, window.width, window.height);
+		if (cellW == 0 || cellH == 0) {
+			// the panel is smaller than a map, e.g. while being resized.
+			return;
+		}
+		long now = System.currentTimeMillis();
 
-		int X = posPlayer.getCoordX();
-		int Y = posPlayer.getCoordY();
-		for (int y = Y-15; y < Y+6; y++)
-		{
-			for (int x = X-11; x < X+12; x++)
-			{
-				int cellX = ((this.scalex/2 - posPlayer.getCoordX()) + x) * cellW;
-				int cellY = ((((int) (this.scaley/1.4)) - posPlayer.getCoordY()) + y) * cellH;
-				Square square = board.squareAt(x, y);
-				render(square, g, cellX, cellY, cellW, cellH);
-			}
+		Player player = game.getPlayers().get(0);
+		Square focus = player.getSquare();
+		double focusX = focus.getCoordX();
+		double focusY = focus.getCoordY();
+		MovableCharacter.Move move = player.getLastMove();
+		double remaining = remainingMove(move, focus, now);
+		if (remaining > 0) {
+			Square previous = move.getFrom();
+			focusX += (previous.getCoordX() - focus.getCoordX()) * remaining;
+			focusY += (previous.getCoordY() - focus.getCoordY()) * remaining;
 		}
-		Level lvl = Level.getLevel();
-		if(lvl.isInProgress()) {
-			if (posPlayer.getCoordX() > board.getWidth() - 13) {
-				board.extend(Direction.EAST);
-			}
-			if (posPlayer.getCoordX() < 13) {
-				board.extend(Direction.WEST);
-			}
-			if (posPlayer.getCoordY() > board.getHeight() - 12) {
-				board.extend(Direction.SOUTH);
+		Viewport viewport = new Viewport(window, cellW, cellH, focusX, focusY);
+
+		for (int y = viewport.getFirstY(); y <= viewport.getLastY(); y++) {
+			for (int x = viewport.getFirstX(); x <= viewport.getLastX(); x++) {
+				if (board.withinBorders(x, y)) {
+					render(board.squareAt(x, y), g, viewport.screenX(x), viewport.screenY(y),
+							cellW, cellH);
+				}
 			}
-			if (posPlayer.getCoordY() < 18) {
-				board.extend(Direction.NORTH);
+		}
+		for (int y = viewport.getFirstY(); y <= viewport.getLastY(); y++) {
+			for (int x = viewport.getFirstX(); x <= viewport.getLastX(); x++) {
+				if (board.withinBorders(x, y)) {
+					renderCharacters(board.squareAt(x, y), g, viewport.screenX(x),
+							viewport.screenY(y), cellW, cellH, now);
+				}
 			}
 		}
+
+		Level level = game.getLevel();
+		if (level.isInProgress()) {
+			growth.update(level, viewport, player.getDirection());
+		}
 	}
 
 	/**
@@ -185,9 +220,123 @@ class BoardPanel extends JPanel {
 		square.getSprite().draw(g, x, y, w, h);
 		List<Unit> occupants = square.getOccupants();
 		for (Unit unit : occupants) {
-			if((unit instanceof Bridge) || !(occupants.get(0) instanceof Bridge) || unit.isOnBridge()){
+			if (!(unit instanceof MovableCharacter) && isVisible(unit, occupants)) {
 				unit.getSprite().draw(g, x, y, w, h);
 			}
 		}
 	}
+
+	/**
+	 * Renders the characters occupying a single square. This is done after
+	 * all squares have been rendered, since a character that is still moving
+	 * is drawn partly on the square it came from.
+	 *
+	 * @param square
+	 *            The square of which the characters are rendered.
+	 * @param g
+	 *            The graphics context to draw on.
+	 * @param x
+	 *            The x position to start drawing.
+	 * @param y
+	 *            The y position to start drawing.
+	 * @param w
+	 *            The width of this square (in pixels.)
+	 * @param h
+	 *            The height of this square (in pixels.)
+	 * @param now
+	 *            The {@link System#currentTimeMillis()} stamp of this frame.
+	 */
+	private void renderCharacters(Square square, Graphics g, int x, int y, int w, int h,
+			long now) {
+		List<Unit> occupants = square.getOccupants();
+		for (Unit unit : occupants) {
+			if (unit instanceof MovableCharacter && isVisible(unit, occupants)) {
+				renderCharacter((MovableCharacter) unit, square, g, x, y, w, h, now);
+			}
+		}
+	}
+
+	/**
+	 * Renders a character in between the square it left and the square it
+	 * occupies, depending on the time elapsed since its last move. Characters
+	 * that did not arrive from an adjacent square, e.g. because they were
+	 * teleported or wrapped around the board, are drawn on their square.
+	 *
+	 * @param character
+	 *            The character to render.
+	 * @param square
+	 *            The square the character occupies.
+	 * @param g
+	 *            The graphics context to draw on.
+	 * @param x
+	 *            The x position of the occupied square.
+	 * @param y
+	 *            The y position of the occupied square.
+	 * @param w
+	 *            The width of a square (in pixels.)
+	 * @param h
+	 *            The height of a square (in pixels.)
+	 * @param now
+	 *            The {@link System#currentTimeMillis()} stamp of this frame.
+	 */
+	private void renderCharacter(MovableCharacter character, Square square, Graphics g,
+			int x, int y, int w, int h, long now) {
+		int offsetX = 0;
+		int offsetY = 0;
+		MovableCharacter.Move move = character.getLastMove();
+		double remaining = remainingMove(move, square, now);
+		if (remaining > 0) {
+			Square previous = move.getFrom();
+			offsetX = (int) Math.round((previous.getCoordX() - square.getCoordX()) * w * remaining);
+			offsetY = (int) Math.round((previous.getCoordY() - square.getCoordY()) * h * remaining);
+		}
+		character.getSprite().draw(g, x + offsetX, y + offsetY, w, h);
+	}
+
+	/**
+	 * Determines which part of its last move a character still has to make
+	 * on screen. Moves that did not come from an adjacent square, e.g.
+	 * teleports or wrapping around the board, are not interpolated, nor are
+	 * moves to another square than the one the character was found on.
+	 *
+	 * @param move
+	 *            The last move of the character, or <code>null</code>.
+	 * @param square
+	 *            The square the character occupies.
+	 * @param now
+	 *            The {@link System#currentTimeMillis()} stamp of this frame.
+	 * @return The remaining fraction of the move, between 0 (arrived) and 1.
+	 */
+	static double remainingMove(MovableCharacter.Move move, Square square, long now) {
+		if (move == null || !square.equals(move.getTo())) {
+			return 0;
+		}
+		Square previous = move.getFrom();
+		long duration = move.getDuration();
+		long elapsed = now - move.getTime();
+		if (elapsed < 0 || elapsed >= duration) {
+			return 0;
+		}
+		int dx = previous.getCoordX() - square.getCoordX();
+		int dy = previous.getCoordY() - square.getCoordY();
+		if (Math.abs(dx) + Math.abs(dy) != 1) {
+			return 0;
+		}
+		return 1.0 - (double) elapsed / duration;
+	}
+
+	/**
+	 * Determines whether a unit can be seen, i.e. it is not hidden under a
+	 * bridge.
+	 *
+	 * @param unit
+	 *            The unit to test.
+	 * @param occupants
+	 *            The occupants of the square of the unit.
+	 * @return <code>true</code> iff the unit should be drawn.
+	 */
+	private static boolean isVisible(Unit unit, List<Unit> occupants) {
+		return (unit instanceof Bridge) || !(occupants.get(0) instanceof Bridge)
+				|| unit.isOnBridge();
+	}
 }
\ No newline at end of file
@@ -0,0 +1,378 @@
+package nl.tudelft.jpacman.ui;
+
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardListener;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.npc.ghost.Ghost;
+
+/**
+ * A downsampled summary of a board, used to draw a minimap. The board is
+ * divided in chunks the size of a single map, of which the amount of walls,
+ * pellets, players and ghosts is counted. Chunks are in turn grouped in at
+ * most {@link #MAX_BLOCKS} by {@link #MAX_BLOCKS} blocks, so that drawing the
+ * summary takes the same time however large the board grows.
+ * <p>
+ * Changed squares are queued by the game threads and only the chunks they
+ * belong to are counted again when the summary is refreshed. When the board
+ * is extended, only the new chunks are counted.
+ */
+class BoardSummary implements BoardListener {
+
+	/**
+	 * The maximum amount of blocks in either dimension.
+	 */
+	static final int MAX_BLOCKS = 64;
+
+	/**
+	 * The index of the amount of walls.
+	 */
+	static final int WALLS = 0;
+
+	/**
+	 * The index of the amount of pellets.
+	 */
+	static final int PELLETS = 1;
+
+	/**
+	 * The index of the amount of players.
+	 */
+	static final int PLAYERS = 2;
+
+	/**
+	 * The index of the amount of ghosts.
+	 */
+	static final int GHOSTS = 3;
+
+	/**
+	 * The amount of things counted per chunk.
+	 */
+	private static final int KINDS = 4;
+
+	/**
+	 * The board to summarise.
+	 */
+	private final Board board;
+
+	/**
+	 * The unit for which inaccessible squares count as walls.
+	 */
+	private final Unit traveller;
+
+	/**
+	 * The width of a chunk.
+	 */
+	private final int chunkWidth;
+
+	/**
+	 * The height of a chunk.
+	 */
+	private final int chunkHeight;
+
+	/**
+	 * The squares that changed since the last refresh.
+	 */
+	private final Queue<Square> changed = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * The current summary, replaced when the board is extended.
+	 */
+	private volatile Grid grid;
+
+	/**
+	 * Creates a new summary of a board. The summary does not observe the
+	 * board until it is added as a listener to it.
+	 *
+	 * @param board
+	 *            The board to summarise.
+	 * @param traveller
+	 *            The unit for which inaccessible squares count as walls.
+	 */
+	BoardSummary(Board board, Unit traveller) {
+		assert board != null;
+		this.board = board;
+		this.traveller = traveller;
+		this.chunkWidth = board.getWidthOfOneMap();
+		this.chunkHeight = board.getHeightOfOneMap();
+		this.grid = newGrid(null, 0, 0);
+	}
+
+	@Override
+	public void squareChanged(Square square) {
+		changed.add(square);
+	}
+
+	@Override
+	public void boardExtended(Direction direction) {
+		Grid old = grid;
+		int tilesX = board.getWidth() / chunkWidth;
+		int tilesY = board.getHeight() / chunkHeight;
+		int offsetX = 0;
+		int offsetY = 0;
+		if (direction == Direction.WEST) {
+			offsetX = tilesX - old.tilesX;
+		}
+		if (direction == Direction.NORTH) {
+			offsetY = tilesY - old.tilesY;
+		}
+		Grid extended = newGrid(old, offsetX, offsetY);
+		synchronized (this) {
+			extended.copy(old, offsetX, offsetY);
+			grid = extended;
+		}
+	}
+
+	/**
+	 * Creates a summary of the current board, counting all chunks except
+	 * those that are copied from a previous summary.
+	 *
+	 * @param old
+	 *            The previous summary, or <code>null</code>.
+	 * @param offsetX
+	 *            The column at which the chunks of the previous summary are.
+	 * @param offsetY
+	 *            The row at which the chunks of the previous summary are.
+	 * @return The new summary.
+	 */
+	private Grid newGrid(Grid old, int offsetX, int offsetY) {
+		Grid result = new Grid(board.getWidth() / chunkWidth, board.getHeight() / chunkHeight);
+		for (int cx = 0; cx < result.tilesX; cx++) {
+			for (int cy = 0; cy < result.tilesY; cy++) {
+				boolean copied = old != null
+						&& cx >= offsetX && cx < offsetX + old.tilesX
+						&& cy >= offsetY && cy < offsetY + old.tilesY;
+				if (!copied) {
+					result.set(cx, cy, count(cx, cy));
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Counts the contents of the chunks containing the squares that changed
+	 * since the last refresh.
+	 *
+	 * @return The refreshed summary.
+	 */
+	synchronized Grid refresh() {
+		Grid current = grid;
+		Set<Integer> dirty = new HashSet<>();
+		Square square = changed.poll();
+		while (square != null) {
+			int cx = square.getCoordX() / chunkWidth;
+			int cy = square.getCoordY() / chunkHeight;
+			if (cx < current.tilesX && cy < current.tilesY
+					&& dirty.add(cx * current.tilesY + cy)) {
+				current.set(cx, cy, count(cx, cy));
+			}
+			square = changed.poll();
+		}
+		return current;
+	}
+
+	/**
+	 * Counts the walls, pellets, players and ghosts of a chunk.
+	 *
+	 * @param cx
+	 *            The column of the chunk.
+	 * @param cy
+	 *            The row of the chunk.
+	 * @return The counts, indexed by kind.
+	 */
+	private int[] count(int cx, int cy) {
+		int[] counts = new int[KINDS];
+		for (int x = cx * chunkWidth; x < (cx + 1) * chunkWidth; x++) {
+			for (int y = cy * chunkHeight; y < (cy + 1) * chunkHeight; y++) {
+				if (!board.withinBorders(x, y)) {
+					continue;
+				}
+				if (!board.isAccessibleAt(x, y, traveller)) {
+					counts[WALLS]++;
+				}
+				for (Unit unit : board.occupantsAt(x, y)) {
+					if (unit instanceof Pellet) {
+						counts[PELLETS]++;
+					} else if (unit instanceof Player) {
+						counts[PLAYERS]++;
+					} else if (unit instanceof Ghost) {
+						counts[GHOSTS]++;
+					}
+				}
+			}
+		}
+		return counts;
+	}
+
+	/**
+	 * The counts of a summary, per chunk and per block.
+	 */
+	final class Grid {
+
+		/**
+		 * The amount of chunk columns.
+		 */
+		private final int tilesX;
+
+		/**
+		 * The amount of chunk rows.
+		 */
+		private final int tilesY;
+
+		/**
+		 * The amount of chunks per block in either dimension.
+		 */
+		private final int span;
+
+		/**
+		 * The amount of block columns.
+		 */
+		private final int blocksX;
+
+		/**
+		 * The amount of block rows.
+		 */
+		private final int blocksY;
+
+		/**
+		 * The counts per chunk, indexed by kind and chunk.
+		 */
+		private final int[][] chunks;
+
+		/**
+		 * The counts per block, indexed by kind and block.
+		 */
+		private final int[][] blocks;
+
+		/**
+		 * The amount of squares per block.
+		 */
+		private final int[] squares;
+
+		/**
+		 * Creates a new, empty summary.
+		 *
+		 * @param tilesX
+		 *            The amount of chunk columns.
+		 * @param tilesY
+		 *            The amount of chunk rows.
+		 */
+		private Grid(int tilesX, int tilesY) {
+			this.tilesX = tilesX;
+			this.tilesY = tilesY;
+			this.span = Math.max(1, Math.max(
+					(tilesX + MAX_BLOCKS - 1) / MAX_BLOCKS,
+					(tilesY + MAX_BLOCKS - 1) / MAX_BLOCKS));
+			this.blocksX = (tilesX + span - 1) / span;
+			this.blocksY = (tilesY + span - 1) / span;
+			this.chunks = new int[KINDS][tilesX * tilesY];
+			this.blocks = new int[KINDS][blocksX * blocksY];
+			this.squares = new int[blocksX * blocksY];
+			for (int cx = 0; cx < tilesX; cx++) {
+				for (int cy = 0; cy < tilesY; cy++) {
+					squares[block(cx, cy)] += chunkWidth * chunkHeight;
+				}
+			}
+		}
+
+		/**
+		 * @param cx
+		 *            The column of a chunk.
+		 * @param cy
+		 *            The row of a chunk.
+		 * @return The index of the block containing the chunk.
+		 */
+		private int block(int cx, int cy) {
+			return (cx / span) * blocksY + cy / span;
+		}
+
+		/**
+		 * Replaces the counts of a chunk, updating its block.
+		 *
+		 * @param cx
+		 *            The column of the chunk.
+		 * @param cy
+		 *            The row of the chunk.
+		 * @param counts
+		 *            The new counts, indexed by kind.
+		 */
+		private void set(int cx, int cy, int[] counts) {
+			int chunk = cx * tilesY + cy;
+			int block = block(cx, cy);
+			for (int kind = 0; kind < KINDS; kind++) {
+				blocks[kind][block] += counts[kind] - chunks[kind][chunk];
+				chunks[kind][chunk] = counts[kind];
+			}
+		}
+
+		/**
+		 * Copies the counts of all chunks of a previous summary.
+		 *
+		 * @param old
+		 *            The previous summary.
+		 * @param offsetX
+		 *            The column at which to place the chunks of the previous
+		 *            summary.
+		 * @param offsetY
+		 *            The row at which to place the chunks of the previous
+		 *            summary.
+		 */
+		private void copy(Grid old, int offsetX, int offsetY) {
+			int[] counts = new int[KINDS];
+			for (int cx = 0; cx < old.tilesX; cx++) {
+				for (int cy = 0; cy < old.tilesY; cy++) {
+					for (int kind = 0; kind < KINDS; kind++) {
+						counts[kind] = old.chunks[kind][cx * old.tilesY + cy];
+					}
+					set(cx + offsetX, cy + offsetY, counts);
+				}
+			}
+		}
+
+		/**
+		 * @return The amount of block columns.
+		 */
+		int getBlocksX() {
+			return blocksX;
+		}
+
+		/**
+		 * @return The amount of block rows.
+		 */
+		int getBlocksY() {
+			return blocksY;
+		}
+
+		/**
+		 * @param kind
+		 *            The kind of thing to count, e.g. {@link #PELLETS}.
+		 * @param bx
+		 *            The column of the block.
+		 * @param by
+		 *            The row of the block.
+		 * @return The amount of things of that kind in the block.
+		 */
+		int count(int kind, int bx, int by) {
+			return blocks[kind][bx * blocksY + by];
+		}
+
+		/**
+		 * @param bx
+		 *            The column of the block.
+		 * @param by
+		 *            The row of the block.
+		 * @return The amount of squares in the block.
+		 */
+		int squares(int bx, int by) {
+			return squares[bx * blocksY + by];
+		}
+	}
+}
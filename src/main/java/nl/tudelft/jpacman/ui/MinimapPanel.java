@@ -0,0 +1,151 @@
+package nl.tudelft.jpacman.ui;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+
+import javax.swing.JPanel;
+
+import nl.tudelft.jpacman.game.Game;
+
+/**
+ * Panel displaying an overview of the whole board of a game, drawn from a
+ * {@link BoardSummary} rather than from the squares themselves.
+ */
+class MinimapPanel extends JPanel {
+
+	/**
+	 * Default serialisation ID.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The size (in pixels) of this panel.
+	 */
+	private static final int SIZE = 160;
+
+	/**
+	 * The background colour of the minimap.
+	 */
+	private static final Color BACKGROUND_COLOR = Color.BLACK;
+
+	/**
+	 * The colour of blocks containing a player.
+	 */
+	private static final Color PLAYER_COLOR = Color.WHITE;
+
+	/**
+	 * The colour of blocks containing a ghost.
+	 */
+	private static final Color GHOST_COLOR = Color.RED;
+
+	/**
+	 * The amount of shades blocks are drawn in.
+	 */
+	private static final int SHADES = 16;
+
+	/**
+	 * The colours of blocks, from no walls to only walls.
+	 */
+	private static final Color[] WALL_COLORS = shades(Color.BLUE);
+
+	/**
+	 * The colours of pellets, from few to as many as there are squares.
+	 */
+	private static final Color[] PELLET_COLORS = shades(Color.YELLOW);
+
+	/**
+	 * The summary of the board to display.
+	 */
+	private final transient BoardSummary summary;
+
+	/**
+	 * Creates a new minimap panel for the board of a game.
+	 *
+	 * @param game
+	 *            The game to display.
+	 */
+	MinimapPanel(Game game) {
+		super();
+		assert game != null;
+		this.summary = new BoardSummary(game.getLevel().getBoard(),
+				game.getPlayers().get(0));
+		game.getLevel().getBoard().addListener(summary);
+
+		Dimension size = new Dimension(SIZE, SIZE);
+		setMinimumSize(size);
+		setPreferredSize(size);
+	}
+
+	/**
+	 * @param base
+	 *            The brightest colour.
+	 * @return {@link #SHADES} colours, from dark to the given colour.
+	 */
+	private static Color[] shades(Color base) {
+		Color[] result = new Color[SHADES];
+		for (int i = 0; i < SHADES; i++) {
+			result[i] = new Color(
+					base.getRed() * (i + 1) / SHADES,
+					base.getGreen() * (i + 1) / SHADES,
+					base.getBlue() * (i + 1) / SHADES);
+		}
+		return result;
+	}
+
+	@Override
+	public void paint(Graphics g) {
+		assert g != null;
+		Dimension window = getSize();
+		g.setColor(BACKGROUND_COLOR);
+		g.fillRect(0, 0, window.width, window.height);
+
+		BoardSummary.Grid grid = summary.refresh();
+		int cell = Math.max(1, Math.min(window.width / grid.getBlocksX(),
+				window.height / grid.getBlocksY()));
+		for (int bx = 0; bx < grid.getBlocksX(); bx++) {
+			for (int by = 0; by < grid.getBlocksY(); by++) {
+				g.setColor(blockColor(grid, bx, by));
+				g.fillRect(bx * cell, by * cell, cell, cell);
+			}
+		}
+	}
+
+	/**
+	 * Determines the colour of a block: players and ghosts stand out,
+	 * otherwise the block is shaded by its amount of pellets or walls.
+	 *
+	 * @param grid
+	 *            The summary of the board.
+	 * @param bx
+	 *            The column of the block.
+	 * @param by
+	 *            The row of the block.
+	 * @return The colour to fill the block with.
+	 */
+	private static Color blockColor(BoardSummary.Grid grid, int bx, int by) {
+		if (grid.count(BoardSummary.PLAYERS, bx, by) > 0) {
+			return PLAYER_COLOR;
+		}
+		if (grid.count(BoardSummary.GHOSTS, bx, by) > 0) {
+			return GHOST_COLOR;
+		}
+		int squares = grid.squares(bx, by);
+		int pellets = grid.count(BoardSummary.PELLETS, bx, by);
+		if (pellets > 0) {
+			return PELLET_COLORS[shade(pellets, squares)];
+		}
+		return WALL_COLORS[shade(grid.count(BoardSummary.WALLS, bx, by), squares)];
+	}
+
+	/**
+	 * @param amount
+	 *            An amount of things in a block.
+	 * @param squares
+	 *            The amount of squares in that block.
+	 * @return The index of the shade for that density.
+	 */
+	private static int shade(int amount, int squares) {
+		return Math.min(SHADES - 1, amount * SHADES / Math.max(1, squares));
+	}
+}
@@ -34,10 +34,11 @@ public class PacManUI extends JFrame {
 	private static final long serialVersionUID = 1L;
 
 	/**
-	 * The desired frame rate interval for the graphics in milliseconds, 40
-	 * being 25 fps.
+	 * The desired frame rate interval for the graphics in milliseconds, 16
+	 * being roughly 60 fps. Movement between squares is interpolated by the
+	 * board panel, so the frame rate is independent of the speed of the units.
 	 */
-	private static final int FRAME_INTERVAL = 40;
+	private static final int FRAME_INTERVAL = 16;
 
 	/**
 	 * The panel displaying the player scores.
@@ -49,6 +50,12 @@ public class PacManUI extends JFrame {
 	 */
 	private final BoardPanel boardPanel;
 
+	/**
+	 * The panel displaying an overview of an infinite board, or
+	 * <code>null</code> if the board is not infinite.
+	 */
+	private final MinimapPanel minimapPanel;
+
 	/**
 	 * Creates a new UI for a JPac-Man game.
 	 * @param game The game to play.
@@ -85,6 +92,13 @@ public class PacManUI extends JFrame {
 		contentPanel.add(scorePanel, BorderLayout.NORTH);
 		contentPanel.add(boardPanel, BorderLayout.CENTER);
 
+		if (game.getLevel().infiniteMode) {
+			minimapPanel = new MinimapPanel(game);
+			contentPanel.add(minimapPanel, BorderLayout.EAST);
+		} else {
+			minimapPanel = null;
+		}
+
 		pack();
 	}
 
@@ -112,6 +126,9 @@ public class PacManUI extends JFrame {
 	 */
 	private void nextFrame() {
 		boardPanel.repaint();
+		if (minimapPanel != null) {
+			minimapPanel.repaint();
+		}
 		scorePanel.refresh();
 	}
 }
@@ -0,0 +1,119 @@
+package nl.tudelft.jpacman.ui;
+
+import java.awt.Dimension;
+
+/**
+ * The part of a board that is visible in a panel, centred on a focus point.
+ * The focus is given in (fractional) board coordinates, so that the view can
+ * follow a character smoothly while it moves between squares.
+ */
+final class Viewport {
+
+	/**
+	 * The width of a cell in pixels.
+	 */
+	private final int cellWidth;
+
+	/**
+	 * The height of a cell in pixels.
+	 */
+	private final int cellHeight;
+
+	/**
+	 * The column of the left-most visible cell.
+	 */
+	private final int firstX;
+
+	/**
+	 * The row of the top-most visible cell.
+	 */
+	private final int firstY;
+
+	/**
+	 * The amount of (partially) visible columns.
+	 */
+	private final int columns;
+
+	/**
+	 * The amount of (partially) visible rows.
+	 */
+	private final int rows;
+
+	/**
+	 * The horizontal pixel position of the left-most visible cell.
+	 */
+	private final int offsetX;
+
+	/**
+	 * The vertical pixel position of the top-most visible cell.
+	 */
+	private final int offsetY;
+
+	/**
+	 * Creates a new viewport. Cells are at least a pixel wide and high.
+	 * @param window The dimensions of the panel.
+	 * @param width The width of a cell in pixels.
+	 * @param height The height of a cell in pixels.
+	 * @param focusX The column to centre on.
+	 * @param focusY The row to centre on.
+	 */
+	Viewport(Dimension window, int width, int height, double focusX, double focusY) {
+		int cellW = Math.max(1, width);
+		int cellH = Math.max(1, height);
+		this.cellWidth = cellW;
+		this.cellHeight = cellH;
+
+		double left = focusX + 0.5 - window.width / (2.0 * cellW);
+		double top = focusY + 0.5 - window.height / (2.0 * cellH);
+		this.firstX = (int) Math.floor(left);
+		this.firstY = (int) Math.floor(top);
+		this.offsetX = (int) Math.round((firstX - left) * cellW);
+		this.offsetY = (int) Math.round((firstY - top) * cellH);
+		this.columns = (int) Math.ceil((window.width - offsetX) / (double) cellW);
+		this.rows = (int) Math.ceil((window.height - offsetY) / (double) cellH);
+	}
+
+	/**
+	 * @return The column of the left-most visible cell.
+	 */
+	int getFirstX() {
+		return firstX;
+	}
+
+	/**
+	 * @return The row of the top-most visible cell.
+	 */
+	int getFirstY() {
+		return firstY;
+	}
+
+	/**
+	 * @return The column of the right-most visible cell.
+	 */
+	int getLastX() {
+		return firstX + columns - 1;
+	}
+
+	/**
+	 * @return The row of the bottom-most visible cell.
+	 */
+	int getLastY() {
+		return firstY + rows - 1;
+	}
+
+	/**
+	 * @param x A column of the board.
+	 * @return The horizontal pixel position at which that column is drawn.
+	 */
+	int screenX(int x) {
+		return offsetX + (x - firstX) * cellWidth;
+	}
+
+	/**
+	 * @param y A row of the board.
+	 * @return The vertical pixel position at which that row is drawn.
+	 */
+	int screenY(int y) {
+		return offsetY + (y - firstY) * cellHeight;
+	}
+}
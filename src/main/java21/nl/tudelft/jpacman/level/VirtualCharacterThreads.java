@@ -0,0 +1,37 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Moves every character on a virtual thread of its own, which sleeps between
+ * moves. The services of the units are kept, so that stopping a level still
+ * shuts them down, but their threads are virtual: waiting for the next move
+ * does not hold on to a platform thread. Only part of the
+ * <code>virtual-threads</code> build.
+ */
+public class VirtualCharacterThreads extends CharacterThreads {
+
+	/**
+	 * Creates the virtual threads of the services.
+	 */
+	private final ThreadFactory factory = Thread.ofVirtual().name("character-", 0).factory();
+
+	/**
+	 * Creates virtual threads.
+	 */
+	public VirtualCharacterThreads() {
+		super();
+	}
+
+	@Override
+	public ScheduledExecutorService newService() {
+		return Executors.newSingleThreadScheduledExecutor(factory);
+	}
+
+	@Override
+	public boolean sleeps() {
+		return true;
+	}
+}
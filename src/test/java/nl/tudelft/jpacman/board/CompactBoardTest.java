@@ -0,0 +1,160 @@
+package nl.tudelft.jpacman.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.Arrays;
+
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies a {@link CompactBoard} behaves like a board of linked squares.
+ */
+@SuppressWarnings("magicnumber")
+public class CompactBoardTest {
+
+	/**
+	 * Creates the squares of the grids.
+	 */
+	private BoardFactory factory;
+
+	/**
+	 * A unit on the grid the board is created from.
+	 */
+	private Unit unit;
+
+	/**
+	 * The board under test, 3 by 2 with walls on the top row.
+	 */
+	private CompactBoard board;
+
+	/**
+	 * Creates the board with a unit in the bottom right corner.
+	 */
+	@Before
+	public void setUp() {
+		factory = new BoardFactory(mock(PacManSprites.class));
+		board = new CompactBoard(grid(), offHeap()) {
+			@Override
+			Board nextTile() {
+				return new CompactBoard(grid(), offHeap());
+			}
+		};
+		unit = board.squareAt(2, 1).getOccupants().get(0);
+	}
+
+	/**
+	 * @return <code>true</code> iff the boards under test keep their terrain
+	 *         off the heap.
+	 */
+	protected boolean offHeap() {
+		return false;
+	}
+
+	/**
+	 * @return A new 3 by 2 grid with walls on the top row and a unit in the
+	 *         bottom right corner.
+	 */
+	private Square[][] grid() {
+		Square[][] grid = new Square[3][2];
+		for (Square[] column : grid) {
+			column[0] = factory.createWall();
+			column[1] = factory.createGround();
+		}
+		new BasicUnit().occupy(grid[2][1]);
+		return grid;
+	}
+
+	/**
+	 * Verifies the terrain and the occupants are taken over from the grid.
+	 */
+	@Test
+	public void takesOverGrid() {
+		assertFalse(board.squareAt(1, 0).isAccessibleTo(unit));
+		assertTrue(board.squareAt(1, 1).isAccessibleTo(unit));
+		assertEquals(board.squareAt(2, 1), unit.getSquare());
+		assertTrue(board.squareAt(1, 1).getOccupants().isEmpty());
+	}
+
+	/**
+	 * Verifies the terrain and the occupants can be read by position.
+	 */
+	@Test
+	public void readByPosition() {
+		assertFalse(board.isAccessibleAt(0, 0, unit));
+		assertTrue(board.isAccessibleAt(0, 1, unit));
+		assertEquals(Arrays.asList(unit), board.occupantsAt(2, 1));
+		assertTrue(board.occupantsAt(0, 1).isEmpty());
+	}
+
+	/**
+	 * Verifies squares at the same position are equal and neighbours wrap
+	 * around the edges.
+	 */
+	@Test
+	public void neighboursWrapAround() {
+		Square corner = board.squareAt(0, 0);
+		assertEquals(board.squareAt(0, 0), corner);
+		assertEquals(board.squareAt(0, 0).hashCode(), corner.hashCode());
+		assertEquals(board.squareAt(2, 0), corner.getSquareAt(Direction.WEST));
+		assertEquals(board.squareAt(0, 1), corner.getSquareAt(Direction.NORTH));
+		assertEquals(board.squareAt(1, 0), corner.getSquareAt(Direction.EAST));
+		assertFalse(corner.equals(board.squareAt(1, 0)));
+	}
+
+	/**
+	 * Verifies units can share, leave and enter squares.
+	 */
+	@Test
+	public void occupants() {
+		Unit other = new BasicUnit();
+		other.occupy(board.squareAt(2, 1));
+		assertEquals(Arrays.asList(unit, other), board.squareAt(2, 1).getOccupants());
+
+		unit.occupy(unit.getSquare().getSquareAt(Direction.WEST));
+		assertEquals(Arrays.asList(other), board.squareAt(2, 1).getOccupants());
+		assertEquals(Arrays.asList(unit), board.squareAt(1, 1).getOccupants());
+
+		other.leaveSquare();
+		assertTrue(board.squareAt(2, 1).getOccupants().isEmpty());
+	}
+
+	/**
+	 * Verifies squares keep their identity and the new map is added when the
+	 * board is extended to the west.
+	 */
+	@Test
+	public void extendWest() {
+		Square before = unit.getSquare();
+		board.extend(Direction.WEST);
+
+		assertEquals(6, board.getWidth());
+		assertEquals(2, board.getHeight());
+		assertEquals(5, before.getCoordX());
+		assertEquals(board.squareAt(5, 1), unit.getSquare());
+		assertEquals(1, board.squareAt(2, 1).getOccupants().size());
+		assertFalse(board.squareAt(0, 0).isAccessibleTo(unit));
+		assertEquals(board.squareAt(2, 1), board.squareAt(3, 1).getSquareAt(Direction.WEST));
+	}
+
+	/**
+	 * Verifies the new map is added below when the board is extended to the
+	 * south.
+	 */
+	@Test
+	public void extendSouth() {
+		board.extend(Direction.SOUTH);
+
+		assertEquals(3, board.getWidth());
+		assertEquals(4, board.getHeight());
+		assertEquals(board.squareAt(2, 1), unit.getSquare());
+		assertEquals(1, board.squareAt(2, 3).getOccupants().size());
+		assertFalse(board.squareAt(1, 2).isAccessibleTo(unit));
+		assertEquals(board.squareAt(1, 0), board.squareAt(1, 3).getSquareAt(Direction.SOUTH));
+	}
+}
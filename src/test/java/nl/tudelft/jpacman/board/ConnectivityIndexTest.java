@@ -0,0 +1,126 @@
+package nl.tudelft.jpacman.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies a {@link ConnectivityIndex} groups squares by reachability and
+ * picks squares near an origin.
+ */
+@SuppressWarnings("magicnumber")
+public class ConnectivityIndexTest {
+
+	/**
+	 * Creates the squares of the grids.
+	 */
+	private BoardFactory factory;
+
+	/**
+	 * The board indexed, made of maps of 5 by 3 with walls in the second and
+	 * fourth column.
+	 */
+	private Board board;
+
+	/**
+	 * The index under test.
+	 */
+	private ConnectivityIndex index;
+
+	/**
+	 * Creates the board and its index.
+	 */
+	@Before
+	public void setUp() {
+		factory = new BoardFactory(mock(PacManSprites.class));
+		board = new CompactBoard(grid(), false) {
+			@Override
+			Board nextTile() {
+				return new CompactBoard(grid(), false);
+			}
+		};
+		index = new ConnectivityIndex(board, new BasicUnit());
+	}
+
+	/**
+	 * @return A new 5 by 3 grid with walls in the second and fourth column.
+	 */
+	private Square[][] grid() {
+		Square[][] grid = new Square[5][3];
+		for (int x = 0; x < grid.length; x++) {
+			for (int y = 0; y < grid[x].length; y++) {
+				if (x % 2 == 1) {
+					grid[x][y] = factory.createWall();
+				} else {
+					grid[x][y] = factory.createGround();
+				}
+			}
+		}
+		return grid;
+	}
+
+	/**
+	 * Verifies walls separate components and the edges wrap around.
+	 */
+	@Test
+	public void connected() {
+		assertTrue(index.connected(board.squareAt(0, 0), board.squareAt(0, 2)));
+		assertTrue(index.connected(board.squareAt(0, 1), board.squareAt(4, 1)));
+		assertFalse(index.connected(board.squareAt(0, 1), board.squareAt(2, 1)));
+		assertFalse(index.connected(board.squareAt(1, 1), board.squareAt(1, 1)));
+	}
+
+	/**
+	 * Verifies picked squares are reachable, in the window around the origin
+	 * and far enough from it, and that the window wraps around the edges.
+	 */
+	@Test
+	public void sampleNearOrigin() {
+		Random random = new Random(0);
+		Square origin = board.squareAt(0, 1);
+		Set<Square> picked = new HashSet<>();
+		for (int i = 0; i < 100; i++) {
+			Square square = index.sample(origin, 1, random);
+			if (square.getCoordX() == 0) {
+				assertNotEquals(1, square.getCoordY());
+			} else {
+				assertEquals(4, square.getCoordX());
+			}
+			picked.add(square);
+		}
+		assertEquals(5, picked.size());
+	}
+
+	/**
+	 * Verifies nothing is picked when no square is far enough away.
+	 */
+	@Test
+	public void sampleNothing() {
+		assertNull(index.sample(board.squareAt(2, 1), 2, new Random(0)));
+		assertNull(index.sample(board.squareAt(1, 1), 0, new Random(0)));
+	}
+
+	/**
+	 * Verifies the index follows the board when it is extended.
+	 */
+	@Test
+	public void extended() {
+		assertTrue(index.connected(board.squareAt(4, 1), board.squareAt(0, 1)));
+		board.extend(Direction.EAST);
+		assertTrue(index.connected(board.squareAt(4, 1), board.squareAt(5, 1)));
+		assertTrue(index.connected(board.squareAt(9, 1), board.squareAt(0, 1)));
+		assertFalse(index.connected(board.squareAt(2, 1), board.squareAt(7, 1)));
+	}
+}
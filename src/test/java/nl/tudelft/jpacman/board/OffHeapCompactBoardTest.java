@@ -0,0 +1,13 @@
+package nl.tudelft.jpacman.board;
+
+/**
+ * Verifies a {@link CompactBoard} with its terrain off the heap behaves like
+ * one with its terrain on the heap.
+ */
+public class OffHeapCompactBoardTest extends CompactBoardTest {
+
+	@Override
+	protected boolean offHeap() {
+		return true;
+	}
+}
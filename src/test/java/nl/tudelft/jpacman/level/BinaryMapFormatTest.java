@@ -0,0 +1,102 @@
+package nl.tudelft.jpacman.level;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+
+import org.junit.Test;
+
+/**
+ * Verifies maps survive a round trip through the {@link BinaryMapFormat}.
+ */
+@SuppressWarnings("magicnumber")
+public class BinaryMapFormatTest {
+
+	/**
+	 * Scans a text map and writes it in the binary format.
+	 * @param text The text map.
+	 * @return The binary map.
+	 * @throws IOException Never.
+	 */
+	private static byte[] convert(String text) throws IOException {
+		MapData map = MapScanner.scan(Channels.newChannel(
+				new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		BinaryMapFormat.write(map, Channels.newChannel(out));
+		return out.toByteArray();
+	}
+
+	/**
+	 * Verifies every kind of square and the references are kept, with an odd
+	 * amount of squares.
+	 * @throws IOException Never.
+	 */
+	@Test
+	public void roundTrip() throws IOException {
+		String[] rows = {" #.PG", "HTBo#", "#####"};
+		byte[] binary = convert(String.join("\n", rows) + "\n-----\n3 1\n-----\nH N\n");
+		assertTrue(BinaryMapFormat.isBinary(ByteBuffer.wrap(binary)));
+
+		MapData map = BinaryMapFormat.read(Channels.newChannel(new ByteArrayInputStream(binary)));
+		assertEquals(5, map.getWidth());
+		assertEquals(3, map.getHeight());
+		for (int y = 0; y < rows.length; y++) {
+			for (int x = 0; x < rows[y].length(); x++) {
+				assertEquals(rows[y].charAt(x), map.cellAt(x, y));
+			}
+		}
+		assertArrayEquals(new int[] {3, 1}, map.getTeleportRefs().get(0));
+		assertArrayEquals(new char[] {'H', 'N'}, map.getBridgeRefs().get(0));
+		assertEquals(binary.length, map.getSize());
+	}
+
+	/**
+	 * Verifies a truncated binary map is rejected.
+	 * @throws IOException Never.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void truncated() throws IOException {
+		byte[] binary = convert("###\n#.#\n###\n");
+		BinaryMapFormat.read(ByteBuffer.wrap(Arrays.copyOf(binary, binary.length - 1)));
+	}
+
+	/**
+	 * Verifies a header claiming far more squares than the map holds is
+	 * rejected from a buffer without allocating them.
+	 * @throws IOException Never.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void oversizedFromBuffer() throws IOException {
+		BinaryMapFormat.read(ByteBuffer.wrap(oversized()));
+	}
+
+	/**
+	 * Verifies a header claiming far more squares than the map holds is
+	 * rejected from a channel without allocating them.
+	 * @throws IOException Never.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void oversizedFromChannel() throws IOException {
+		BinaryMapFormat.read(Channels.newChannel(new ByteArrayInputStream(oversized())));
+	}
+
+	/**
+	 * @return A small binary map whose header claims 40000 x 40000 squares.
+	 * @throws IOException Never.
+	 */
+	private static byte[] oversized() throws IOException {
+		byte[] binary = convert("###\n#.#\n###\n");
+		ByteBuffer.wrap(binary).putInt(8, 40_000).putInt(12, 40_000);
+		return binary;
+	}
+}
@@ -0,0 +1,170 @@
+package nl.tudelft.jpacman.level;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares how many threads an increasing amount of characters takes, and how
+ * late their moves are, with the threads of this build. Each character moves
+ * the way {@link TimerTasks} moves it, but a move only records how late it
+ * is. Not run as part of the tests; usage:
+ * <pre>
+ * java nl.tudelft.jpacman.level.CharacterThreadsBenchmark [seconds]
+ * java -Djpacman.virtualThreads=false ... (platform threads in a Java 21 build)
+ * </pre>
+ */
+@SuppressWarnings("magicnumber")
+public final class CharacterThreadsBenchmark {
+
+	/**
+	 * The time between the moves of a character, in milliseconds.
+	 */
+	private static final long INTERVAL = 50;
+
+	private CharacterThreadsBenchmark() {
+	}
+
+	/**
+	 * A character that records how late each of its moves is.
+	 */
+	private static final class Mover implements Runnable {
+
+		/**
+		 * The service moving the character.
+		 */
+		private final ScheduledExecutorService service;
+
+		/**
+		 * Whether the character keeps its thread and sleeps between moves.
+		 */
+		private final boolean sleeps;
+
+		/**
+		 * How late each move was, in microseconds.
+		 */
+		private final List<Long> lateness = new ArrayList<>();
+
+		/**
+		 * The time the next move is due, in nanoseconds.
+		 */
+		private long due;
+
+		/**
+		 * @param service
+		 *            The service moving the character.
+		 * @param sleeps
+		 *            Whether the character sleeps between moves.
+		 */
+		private Mover(ScheduledExecutorService service, boolean sleeps) {
+			this.service = service;
+			this.sleeps = sleeps;
+		}
+
+		/**
+		 * Starts moving.
+		 */
+		private void start() {
+			due = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(INTERVAL / 2);
+			service.schedule(this, INTERVAL / 2, TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public void run() {
+			if (!sleeps) {
+				step();
+				service.schedule(this, INTERVAL, TimeUnit.MILLISECONDS);
+				return;
+			}
+			try {
+				while (!Thread.currentThread().isInterrupted()) {
+					step();
+					Thread.sleep(INTERVAL);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		/**
+		 * Records how late this move is.
+		 */
+		private void step() {
+			long now = System.nanoTime();
+			synchronized (lateness) {
+				lateness.add(TimeUnit.NANOSECONDS.toMicros(Math.max(0, now - due)));
+			}
+			due = now + TimeUnit.MILLISECONDS.toNanos(INTERVAL);
+		}
+	}
+
+	/**
+	 * Moves characters for a while.
+	 *
+	 * @param threads
+	 *            The threads to move them on.
+	 * @param count
+	 *            The amount of characters.
+	 * @param millis
+	 *            How long to move them.
+	 * @throws InterruptedException
+	 *             if interrupted while waiting.
+	 */
+	private static void run(CharacterThreads threads, int count, long millis)
+			throws InterruptedException {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		int before = bean.getThreadCount();
+		bean.resetPeakThreadCount();
+		List<Mover> movers = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Mover mover = new Mover(threads.newService(), threads.sleeps());
+			movers.add(mover);
+			mover.start();
+		}
+		Thread.sleep(millis);
+		int peak = bean.getPeakThreadCount() - before;
+		List<Long> all = new ArrayList<>();
+		for (Mover mover : movers) {
+			mover.service.shutdownNow();
+			synchronized (mover.lateness) {
+				all.addAll(mover.lateness);
+			}
+		}
+		for (Mover mover : movers) {
+			mover.service.awaitTermination(1, TimeUnit.SECONDS);
+		}
+		long[] sorted = new long[all.size()];
+		long sum = 0;
+		for (int i = 0; i < sorted.length; i++) {
+			sorted[i] = all.get(i);
+			sum += sorted[i];
+		}
+		Arrays.sort(sorted);
+		System.out.printf("%6d characters: %6d platform threads, %8d moves, late %8.0f us mean, %8d us p99%n",
+				count, peak, sorted.length, sorted.length == 0 ? 0.0 : (double) sum / sorted.length,
+				sorted.length == 0 ? 0 : sorted[(int) (sorted.length * 0.99)]);
+	}
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args
+	 *            The seconds to move each amount of characters, 3 by default.
+	 * @throws InterruptedException
+	 *             if interrupted while waiting.
+	 */
+	public static void main(String[] args) throws InterruptedException {
+		long millis = TimeUnit.SECONDS.toMillis(args.length > 0 ? Long.parseLong(args[0]) : 3);
+		CharacterThreads threads = CharacterThreads.get();
+		System.out.println(threads.getClass().getSimpleName() + ", a move every " + INTERVAL + " ms");
+		// warms up, not to count the threads of the first run as the characters'.
+		run(threads, 10, millis);
+		for (int count : new int[] {10, 100, 1000}) {
+			run(threads, count, millis);
+		}
+	}
+}
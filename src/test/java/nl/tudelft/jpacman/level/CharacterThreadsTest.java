@@ -0,0 +1,41 @@
+package nl.tudelft.jpacman.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+
+import org.junit.Test;
+
+/**
+ * Verifies which {@link CharacterThreads} a build without virtual threads
+ * uses.
+ */
+public class CharacterThreadsTest {
+
+	/**
+	 * Verifies platform threads are used unless virtual threads are asked
+	 * for.
+	 */
+	@Test
+	public void platformByDefault() {
+		for (String virtual : new String[] {null, "false"}) {
+			CharacterThreads threads = CharacterThreads.create(virtual);
+			assertEquals(CharacterThreads.class, threads.getClass());
+			assertFalse(threads.sleeps());
+			ScheduledExecutorService service = threads.newService();
+			service.shutdownNow();
+		}
+	}
+
+	/**
+	 * Verifies asking for virtual threads without them in the build is a
+	 * configuration error.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void virtualMissing() {
+		CharacterThreads.create("true");
+	}
+}
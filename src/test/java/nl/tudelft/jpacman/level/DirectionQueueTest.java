@@ -0,0 +1,64 @@
+package nl.tudelft.jpacman.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Direction;
+
+import org.junit.Test;
+
+/**
+ * Verifies the order, capacity and metrics of a {@link DirectionQueue}.
+ */
+public class DirectionQueueTest {
+
+	/**
+	 * Verifies directions are drained oldest first and only once.
+	 */
+	@Test
+	public void drainInOrder() {
+		DirectionQueue queue = new DirectionQueue();
+		queue.offer(Direction.NORTH);
+		queue.offer(Direction.EAST);
+		List<Direction> drained = new ArrayList<>();
+		assertEquals(2, queue.drain(drained::add));
+		assertEquals(Arrays.asList(Direction.NORTH, Direction.EAST), drained);
+		assertEquals(0, queue.drain(drained::add));
+		assertEquals(2, queue.getDrainedCount());
+	}
+
+	/**
+	 * Verifies directions are dropped when the queue is full, and accepted
+	 * again once it has been drained.
+	 */
+	@Test
+	public void dropWhenFull() {
+		DirectionQueue queue = new DirectionQueue(2);
+		assertTrue(queue.offer(Direction.NORTH));
+		assertTrue(queue.offer(Direction.SOUTH));
+		assertFalse(queue.offer(Direction.WEST));
+		assertEquals(1, queue.getDroppedCount());
+		queue.drain(d -> { });
+		assertTrue(queue.offer(Direction.WEST));
+		assertEquals(1, queue.size());
+	}
+
+	/**
+	 * Verifies the latency of drained directions is recorded.
+	 * @throws InterruptedException Since we are sleeping in this test.
+	 */
+	@Test
+	public void latency() throws InterruptedException {
+		DirectionQueue queue = new DirectionQueue();
+		queue.offer(Direction.NORTH);
+		Thread.sleep(2L);
+		queue.drain(d -> { });
+		assertTrue(queue.getMaxLatency() > 0);
+		assertEquals(queue.getMaxLatency(), queue.getAverageLatency());
+	}
+}
@@ -0,0 +1,109 @@
+package nl.tudelft.jpacman.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+/**
+ * Verifies a {@link GameEventBus} delivers events in order, filtered, and
+ * lets slow subscribers miss events rather than holding up the publisher.
+ */
+@SuppressWarnings("magicnumber")
+public class GameEventBusTest {
+
+	/**
+	 * Verifies subscribers receive the events of their kinds published after
+	 * they subscribed, in order.
+	 */
+	@Test
+	public void filtered() {
+		GameEventBus bus = new GameEventBus(8);
+		bus.publish(GameEvent.Type.LEVEL_WON, null);
+		GameEventBus.Subscription all = bus.subscribe();
+		GameEventBus.Subscription bullets = bus.subscribe(EnumSet.of(GameEvent.Type.BULLET_DIED));
+		Object bullet = new Object();
+		bus.publish(GameEvent.Type.GHOST_EATEN, null);
+		bus.publish(GameEvent.Type.BULLET_DIED, bullet);
+
+		GameEvent event = new GameEvent();
+		assertTrue(all.poll(event));
+		assertEquals(GameEvent.Type.GHOST_EATEN, event.getType());
+		assertEquals(1, event.getSequence());
+		assertTrue(all.poll(event));
+		assertEquals(GameEvent.Type.BULLET_DIED, event.getType());
+		assertFalse(all.poll(event));
+
+		assertTrue(bullets.poll(event));
+		assertSame(bullet, event.getSubject());
+		assertEquals(2, event.getSequence());
+		assertFalse(bullets.poll(event));
+	}
+
+	/**
+	 * Verifies a subscriber that falls behind gets the newest events and
+	 * counts the ones it missed.
+	 */
+	@Test
+	public void slowSubscriber() {
+		GameEventBus bus = new GameEventBus(4);
+		GameEventBus.Subscription slow = bus.subscribe();
+		for (int i = 0; i < 10; i++) {
+			bus.publish(GameEvent.Type.PLAYER_SHOOTING, null);
+		}
+		assertEquals(10, bus.getPublishedCount());
+		assertEquals(6, slow.getMissedCount());
+		GameEvent event = new GameEvent();
+		assertEquals(4, slow.drain(e -> { }, event));
+		assertEquals(9, event.getSequence());
+	}
+
+	/**
+	 * Verifies events read while being published are never torn: each event
+	 * is read whole or counted as missed.
+	 *
+	 * @throws InterruptedException
+	 *             if the test is interrupted.
+	 */
+	@Test
+	public void concurrentReader() throws InterruptedException {
+		GameEventBus bus = new GameEventBus(16);
+		GameEventBus.Subscription subscription = bus.subscribe();
+		GameEvent.Type[] types = GameEvent.Type.values();
+		int total = 200_000;
+		long[] read = new long[1];
+		AtomicReference<AssertionError> failure = new AtomicReference<>();
+		Thread reader = new Thread(() -> {
+			GameEvent event = new GameEvent();
+			long last = -1;
+			try {
+				while (last < total - 1) {
+					if (subscription.poll(event)) {
+						assertTrue(event.getSequence() > last);
+						assertSame(types[(int) (event.getSequence() % types.length)], event.getType());
+						assertEquals(event.getSequence(), ((Long) event.getSubject()).longValue());
+						last = event.getSequence();
+						read[0]++;
+					}
+				}
+			} catch (AssertionError e) {
+				failure.set(e);
+			}
+		});
+		reader.start();
+		for (long i = 0; i < total; i++) {
+			bus.publish(types[(int) (i % types.length)], i);
+		}
+		reader.join(10_000);
+		assertFalse(reader.isAlive());
+		if (failure.get() != null) {
+			throw failure.get();
+		}
+		assertEquals(total, read[0] + subscription.getMissedCount());
+	}
+}
@@ -0,0 +1,92 @@
+package nl.tudelft.jpacman.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies events are written by a {@link GameEventLog} depending on their
+ * severity.
+ */
+public class GameEventLogTest {
+
+	/**
+	 * The maximum time to wait for the writer, in milliseconds.
+	 */
+	private static final long TIMEOUT = 5000L;
+
+	/**
+	 * The bytes written by the log.
+	 */
+	private ByteArrayOutputStream bytes;
+
+	/**
+	 * The log under test, logging from {@link GameEventLog.Severity#DEBUG}.
+	 */
+	private GameEventLog log;
+
+	/**
+	 * Creates a log writing to memory.
+	 */
+	@Before
+	public void setUp() {
+		bytes = new ByteArrayOutputStream();
+		log = new GameEventLog(16, new PrintStream(bytes, true), GameEventLog.Severity.DEBUG);
+	}
+
+	/**
+	 * Verifies only events of at least the threshold are enabled.
+	 */
+	@Test
+	public void threshold() {
+		assertFalse(log.isEnabled(GameEventLog.Event.MOVE));
+		assertTrue(log.isEnabled(GameEventLog.Event.COLLISION));
+		log.setSeverity(GameEventLog.Severity.OFF);
+		assertFalse(log.isEnabled(GameEventLog.Event.SPAWN));
+	}
+
+	/**
+	 * Verifies a recorded event is eventually written as one line.
+	 * @throws InterruptedException Since we are waiting for the writer.
+	 */
+	@Test
+	public void writesEvent() throws InterruptedException {
+		log.record(GameEventLog.Event.MOVE, "ignored", null, null);
+		log.record(GameEventLog.Event.COLLISION, "subject", null, 1);
+		long deadline = System.currentTimeMillis() + TIMEOUT;
+		while (!bytes.toString().contains("event=COLLISION")
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(10L);
+		}
+		String written = bytes.toString();
+		assertTrue(written.contains("event=COLLISION unit=String other=Integer"));
+		assertFalse(written.contains("event=MOVE"));
+	}
+
+	/**
+	 * Verifies the severity is configured in any case, and is off when none
+	 * is given.
+	 */
+	@Test
+	public void configuredSeverity() {
+		assertEquals(GameEventLog.Severity.DEBUG, GameEventLog.severityOf("debug"));
+		assertEquals(GameEventLog.Severity.TRACE, GameEventLog.severityOf(" TRACE "));
+		assertEquals(GameEventLog.Severity.OFF, GameEventLog.severityOf(null));
+	}
+
+	/**
+	 * Verifies an unknown severity is a configuration error.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void unknownSeverity() {
+		GameEventLog.severityOf("verbose");
+	}
+}
@@ -0,0 +1,214 @@
+package nl.tudelft.jpacman.level;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.npc.ghost.Ghost;
+
+import org.junit.Test;
+
+/**
+ * Verifies the ghosts of a {@link GhostTick} decide on their own moves, in
+ * time or else later.
+ */
+@SuppressWarnings("magicnumber")
+public class GhostTickTest {
+
+	/**
+	 * A second in nanoseconds, longer than any decision in these tests.
+	 */
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	/**
+	 * Verifies every ghost decides exactly once and its move ends up at its
+	 * own index.
+	 */
+	@Test
+	public void movesInOrder() {
+		List<Ghost> ghosts = new ArrayList<>();
+		Direction[] expected = new Direction[13];
+		for (int i = 0; i < expected.length; i++) {
+			Ghost ghost = mock(Ghost.class);
+			expected[i] = i % 5 == 4 ? null : Direction.values()[i % 4];
+			when(ghost.nextMove()).thenReturn(expected[i]);
+			ghosts.add(ghost);
+		}
+		assertArrayEquals(expected, tick(SECOND).decide(ghosts));
+		for (Ghost ghost : ghosts) {
+			verify(ghost, times(1)).nextMove();
+		}
+	}
+
+	/**
+	 * Verifies nothing is decided without ghosts.
+	 */
+	@Test
+	public void noGhosts() {
+		assertEquals(0, tick(SECOND).decide(Collections.<Ghost>emptyList()).length);
+	}
+
+	/**
+	 * Verifies a ghost that is late goes on the way it decided on before,
+	 * and the late decision is used in its next turn.
+	 *
+	 * @throws InterruptedException
+	 *             if the test is interrupted.
+	 */
+	@Test
+	public void lateDecision() throws InterruptedException {
+		Square square = mock(Square.class);
+		Square open = mock(Square.class);
+		Ghost ghost = mock(Ghost.class);
+		when(ghost.getSquare()).thenReturn(square);
+		when(square.getSquareAt(any(Direction.class))).thenReturn(open);
+		when(open.isAccessibleTo(ghost)).thenReturn(true);
+		CountDownLatch decided = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(ghost.nextMove()).thenReturn(Direction.NORTH).thenAnswer(invocation -> {
+			release.await();
+			decided.countDown();
+			return Direction.EAST;
+		});
+
+		GhostBudget budget = new GhostBudget(SECOND);
+		GhostTick tick = new GhostTick(level(), null, Collections.<Ghost>emptyList(), budget);
+		List<Ghost> ghosts = Collections.singletonList(ghost);
+		assertArrayEquals(new Direction[] {Direction.NORTH}, tick.decide(ghosts));
+
+		budget.setNanos(TimeUnit.MILLISECONDS.toNanos(10));
+		assertArrayEquals(new Direction[] {Direction.NORTH}, tick.decide(ghosts));
+		assertEquals(1, budget.getOverruns());
+		assertEquals(1, budget.getLateDecisions());
+
+		release.countDown();
+		assertTrue(decided.await(1, TimeUnit.SECONDS));
+		assertArrayEquals(new Direction[] {Direction.EAST}, tick.decide(ghosts));
+		verify(ghost, times(2)).nextMove();
+		assertEquals(3, budget.getTicks());
+		assertEquals(1, budget.getOverruns());
+	}
+
+	/**
+	 * Verifies a late decision is not used once the board was extended, and
+	 * is counted as stale rather than late.
+	 *
+	 * @throws InterruptedException
+	 *             if the test is interrupted.
+	 */
+	@Test
+	public void staleAfterExtension() throws InterruptedException {
+		Square square = mock(Square.class);
+		Square open = mock(Square.class);
+		Ghost ghost = mock(Ghost.class);
+		when(ghost.getSquare()).thenReturn(square);
+		when(square.getSquareAt(any(Direction.class))).thenReturn(open);
+		when(open.isAccessibleTo(ghost)).thenReturn(true);
+		CountDownLatch decided = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(ghost.nextMove()).thenReturn(Direction.NORTH).thenAnswer(invocation -> {
+			release.await();
+			decided.countDown();
+			return Direction.EAST;
+		}).thenReturn(Direction.SOUTH);
+
+		Level level = level();
+		GhostBudget budget = new GhostBudget(SECOND);
+		GhostTick tick = new GhostTick(level, null, Collections.<Ghost>emptyList(), budget);
+		List<Ghost> ghosts = Collections.singletonList(ghost);
+		assertArrayEquals(new Direction[] {Direction.NORTH}, tick.decide(ghosts));
+		budget.setNanos(TimeUnit.MILLISECONDS.toNanos(10));
+		assertArrayEquals(new Direction[] {Direction.NORTH}, tick.decide(ghosts));
+
+		when(level.getBoard().getVersion()).thenReturn(1L);
+		release.countDown();
+		assertTrue(decided.await(1, TimeUnit.SECONDS));
+		budget.setNanos(SECOND);
+		assertArrayEquals(new Direction[] {Direction.SOUTH}, tick.decide(ghosts));
+		assertEquals(1, budget.getLateDecisions());
+		assertEquals(1, budget.getStaleDecisions());
+		assertEquals(1, budget.getOverruns());
+	}
+
+	/**
+	 * Verifies a ghost whose decision fails stands still and is counted,
+	 * while the other ghosts move.
+	 */
+	@Test
+	public void failedDecision() {
+		Ghost failing = mock(Ghost.class);
+		when(failing.nextMove()).thenThrow(new IllegalStateException("lost"));
+		Ghost moving = mock(Ghost.class);
+		when(moving.nextMove()).thenReturn(Direction.WEST);
+		GhostBudget budget = new GhostBudget(SECOND);
+		GhostTick tick = new GhostTick(level(), null, Collections.<Ghost>emptyList(), budget);
+		assertArrayEquals(new Direction[] {null, Direction.WEST},
+				tick.decide(Arrays.asList(failing, moving)));
+		assertEquals(1, budget.getFailedDecisions());
+		assertEquals(0, budget.getLateDecisions());
+	}
+
+	/**
+	 * Verifies the ticks go on when moving the ghosts fails.
+	 */
+	@Test
+	public void reschedulesAfterFailure() {
+		Level level = mock(Level.class);
+		doThrow(new IllegalStateException("lost")).when(level)
+				.moveGhosts(any(GhostTick.class), anyListOf(Ghost.class), any(long[].class));
+		ScheduledExecutorService service = mock(ScheduledExecutorService.class);
+		Ghost ghost = mock(Ghost.class);
+		when(ghost.getInterval()).thenReturn(0L);
+		GhostTick tick = new GhostTick(level, service, Collections.singletonList(ghost),
+				new GhostBudget(SECOND));
+		try {
+			tick.run();
+			fail("the failure should be passed on");
+		} catch (IllegalStateException e) {
+			verify(service).schedule(eq(tick), anyLong(), eq(TimeUnit.MILLISECONDS));
+		}
+	}
+
+	/**
+	 * @param nanos
+	 *            The budget of every tick.
+	 * @return Ticks without a level to move the ghosts on.
+	 */
+	private static GhostTick tick(long nanos) {
+		return new GhostTick(level(), null, Collections.<Ghost>emptyList(),
+				new GhostBudget(nanos));
+	}
+
+	/**
+	 * @return A level whose board is never extended.
+	 */
+	private static Level level() {
+		Level level = mock(Level.class);
+		Board board = mock(Board.class);
+		when(level.getBoard()).thenReturn(board);
+		when(level.getSharedLock()).thenReturn(new ReentrantReadWriteLock().readLock());
+		return level;
+	}
+}
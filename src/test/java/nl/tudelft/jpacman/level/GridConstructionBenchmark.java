@@ -0,0 +1,131 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+/**
+ * Measures how long a generated map takes to be turned into a level with an
+ * increasing amount of threads. Not run as part of the tests; usage:
+ * <pre>
+ * java -Xmx4g nl.tudelft.jpacman.level.GridConstructionBenchmark [size]
+ * </pre>
+ */
+@SuppressWarnings("magicnumber")
+public final class GridConstructionBenchmark {
+
+	/**
+	 * The amount of runs before measuring.
+	 */
+	private static final int WARMUP = 3;
+
+	/**
+	 * The amount of measured runs, of which the median is reported.
+	 */
+	private static final int RUNS = 5;
+
+	private GridConstructionBenchmark() {
+	}
+
+	/**
+	 * Generates a square map of walls, ground and pellets with one start
+	 * position.
+	 *
+	 * @param size
+	 *            The amount of columns and rows.
+	 * @return The map, with map[x][y] the square at x,y.
+	 */
+	private static char[][] generate(int size) {
+		char[] kinds = {'#', ' ', '.', '.'};
+		char[][] map = new char[size][size];
+		for (int x = 0; x < size; x++) {
+			for (int y = 0; y < size; y++) {
+				map[x][y] = kinds[(x * 7 + y * 13) % kinds.length];
+			}
+		}
+		map[size / 2][size / 2] = 'P';
+		return map;
+	}
+
+	/**
+	 * Parses a map on a pool of the given amount of threads.
+	 *
+	 * @param parser
+	 *            The parser to use.
+	 * @param map
+	 *            The map to parse.
+	 * @param threads
+	 *            The amount of threads.
+	 * @return The median time of the measured runs, in milliseconds.
+	 * @throws InterruptedException
+	 *             when interrupted while waiting for a run.
+	 * @throws ExecutionException
+	 *             when a run failed.
+	 */
+	private static double measure(MapParser parser, char[][] map, int threads)
+			throws InterruptedException, ExecutionException {
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			double[] times = new double[RUNS];
+			for (int i = -WARMUP; i < RUNS; i++) {
+				long start = System.nanoTime();
+				pool.submit(() -> parser.parseMap(map)).get();
+				if (i >= 0) {
+					times[i] = (System.nanoTime() - start) / 1e6;
+				}
+			}
+			Arrays.sort(times);
+			return times[RUNS / 2];
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * @param threads
+	 *            The amount of threads measured last.
+	 * @param cores
+	 *            The amount of available cores.
+	 * @return The next amount of threads to measure: the double, or all
+	 *         cores once that is fewer, or more than the cores when done.
+	 */
+	private static int nextCount(int threads, int cores) {
+		if (threads == cores) {
+			return cores + 1;
+		}
+		return Math.min(threads * 2, cores);
+	}
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args
+	 *            Optionally the amount of columns and rows of the map,
+	 *            1000 by default.
+	 * @throws Exception
+	 *             when a run failed.
+	 */
+	public static void main(String[] args) throws Exception {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		PacManSprites sprites = new PacManSprites();
+		MapParser parser = new MapParser(new LevelFactory(sprites, new GhostFactory(sprites)),
+				new BoardFactory(sprites));
+		char[][] map = generate(size);
+
+		System.out.printf("%d x %d squares%n", size, size);
+		System.out.printf("%8s %10s %8s%n", "threads", "ms", "speedup");
+		double serial = 0;
+		int cores = Runtime.getRuntime().availableProcessors();
+		for (int threads = 1; threads <= cores; threads = nextCount(threads, cores)) {
+			double time = measure(parser, map, threads);
+			if (threads == 1) {
+				serial = time;
+			}
+			System.out.printf("%8d %10.1f %8.2f%n", threads, time, serial / time);
+		}
+	}
+}
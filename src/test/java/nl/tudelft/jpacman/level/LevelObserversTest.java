@@ -0,0 +1,141 @@
+package nl.tudelft.jpacman.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import nl.tudelft.jpacman.Launcher;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Verifies what the observers of a {@link Level} are told and when, on a
+ * level without ghosts and with players that have no sprites.
+ */
+@SuppressWarnings("magicnumber")
+public class LevelObserversTest {
+
+	/**
+	 * The level under test.
+	 */
+	private Level level;
+
+	/**
+	 * The observer of the level.
+	 */
+	private LevelObserver observer;
+
+	/**
+	 * The player, without sprites.
+	 */
+	private Player player;
+
+	/**
+	 * Whether the player asks for the hunter mode.
+	 */
+	private final AtomicBoolean hunter = new AtomicBoolean();
+
+	/**
+	 * Creates a level of a single corridor with a pellet in it.
+	 */
+	@Before
+	public void setUp() {
+		new Launcher().setBoardToUse("/board.txt");
+		PacManSprites sprites = new PacManSprites();
+		level = new MapParser(new LevelFactory(sprites, new GhostFactory(sprites)),
+				new BoardFactory(sprites)).parseMap(Lists.newArrayList(
+						"#######",
+						"#P   .#",
+						"#######"));
+		observer = mock(LevelObserver.class);
+		level.addObserver(observer);
+		player = mock(Player.class);
+		when(player.isAlive()).thenReturn(true);
+		when(player.getInterval()).thenReturn(1000L);
+		when(player.getHunterMode()).thenAnswer(invocation -> hunter.get());
+		doAnswer(invocation -> {
+			hunter.set((Boolean) invocation.getArguments()[0]);
+			return null;
+		}).when(player).setHunterMode(anyBoolean());
+		level.registerPlayer(player);
+	}
+
+	/**
+	 * Stops the level.
+	 */
+	@After
+	public void tearDown() {
+		level.stop();
+	}
+
+	/**
+	 * Verifies the hunter mode is started for every super pellet eaten, and
+	 * only once for each.
+	 */
+	@Test
+	public void hunterModeEveryTime() {
+		doAnswer(invocation -> {
+			level.startHunterMode();
+			return null;
+		}).when(observer).startHunterMode();
+		hunter.set(true);
+		level.start();
+		level.stop();
+		level.start();
+		level.stop();
+		verify(observer, times(1)).startHunterMode();
+
+		hunter.set(true);
+		level.start();
+		verify(observer, times(2)).startHunterMode();
+	}
+
+	/**
+	 * Verifies the observers are told about a move on the tick rather than by
+	 * the thread moving the unit.
+	 *
+	 * @throws InterruptedException
+	 *             if the test is interrupted.
+	 */
+	@Test
+	public void movesToldOnTick() throws InterruptedException {
+		Unit walker = mock(Unit.class, Mockito.CALLS_REAL_METHODS);
+		walker.occupy(level.getBoard().squareAt(2, 1));
+		AtomicReference<Thread> told = new AtomicReference<>();
+		doAnswer(invocation -> {
+			told.set(Thread.currentThread());
+			return null;
+		}).when(observer).levelLost();
+		level.start();
+		when(player.isAlive()).thenReturn(false);
+		level.move(walker, Direction.EAST);
+		level.move(walker, Direction.EAST);
+		verify(observer, timeout(1000).times(1)).levelLost();
+		assertNotSame(Thread.currentThread(), told.get());
+		assertEquals(level.getBoard().squareAt(4, 1), walker.getSquare());
+
+		Thread.sleep(100);
+		verify(observer, times(1)).levelLost();
+		verify(observer, never()).levelWon();
+	}
+}
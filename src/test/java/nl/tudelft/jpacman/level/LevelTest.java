@@ -160,6 +160,24 @@ public class LevelTest {
 		verify(p3).occupy(square1);
 	}
 
+	/**
+	 * Verifies the observers are told the level was won and lost once, not
+	 * every time they are updated.
+	 */
+	@Test
+	@SuppressWarnings("PMD.JUnitTestsShouldIncludeAssert")
+	public void observersToldOnce() {
+		LevelObserver observer = mock(LevelObserver.class);
+		level.addObserver(observer);
+		level.registerPlayer(mock(Player.class));
+		level.start();
+		level.stop();
+		level.start();
+		level.stop();
+		verify(observer, times(1)).levelWon();
+		verify(observer, times(1)).levelLost();
+	}
+
 	@Test
 	@SuppressWarnings("PMD.JUnitTestsShouldIncludeAssert")
 	public void testSetBoardToUse() {
@@ -0,0 +1,121 @@
+package nl.tudelft.jpacman.level;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Compares how long a generated map takes to be read into a
+ * {@link MapData}, from a memory mapped text file and from the same map
+ * converted by {@link MapConverter}. Only reading is measured, not creating
+ * the squares. Not run as part of the tests; usage:
+ * <pre>
+ * java nl.tudelft.jpacman.level.MapLoadingBenchmark [size]
+ * </pre>
+ */
+@SuppressWarnings("magicnumber")
+public final class MapLoadingBenchmark {
+
+	/**
+	 * The amount of runs before measuring.
+	 */
+	private static final int WARMUP = 5;
+
+	/**
+	 * The amount of measured runs, of which the median is reported.
+	 */
+	private static final int RUNS = 11;
+
+	private MapLoadingBenchmark() {
+	}
+
+	/**
+	 * Writes a square text map of walls, ground and pellets with one start
+	 * position.
+	 *
+	 * @param file
+	 *            The file to write.
+	 * @param size
+	 *            The amount of columns and rows.
+	 * @throws IOException
+	 *             when the file could not be written.
+	 */
+	private static void generate(Path file, int size) throws IOException {
+		char[] kinds = {'#', ' ', '.', '.'};
+		char[] row = new char[size];
+		try (Writer out = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+			for (int y = 0; y < size; y++) {
+				for (int x = 0; x < size; x++) {
+					row[x] = kinds[(x * 7 + y * 13) % kinds.length];
+				}
+				if (y == size / 2) {
+					row[size / 2] = 'P';
+				}
+				out.write(row);
+				out.write('\n');
+			}
+		}
+	}
+
+	/**
+	 * Reads a memory mapped file over and over.
+	 *
+	 * @param file
+	 *            The file to read.
+	 * @param reader
+	 *            How to read the file from its mapped buffer.
+	 * @return The median time of the measured runs, in milliseconds.
+	 * @throws IOException
+	 *             when the file could not be read.
+	 */
+	private static double measure(Path file, Function<MappedByteBuffer, MapData> reader)
+			throws IOException {
+		double[] times = new double[RUNS];
+		for (int i = -WARMUP; i < RUNS; i++) {
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+				long start = System.nanoTime();
+				reader.apply(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+				if (i >= 0) {
+					times[i] = (System.nanoTime() - start) / 1e6;
+				}
+			}
+		}
+		Arrays.sort(times);
+		return times[RUNS / 2];
+	}
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args
+	 *            Optionally the amount of columns and rows of the map,
+	 *            4000 by default.
+	 * @throws IOException
+	 *             when the maps could not be written or read.
+	 */
+	public static void main(String[] args) throws IOException {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 4000;
+		Path text = Files.createTempFile("map", ".txt");
+		Path binary = Files.createTempFile("map", ".jpmb");
+		try {
+			generate(text, size);
+			MapConverter.convert(text, binary);
+			System.out.printf("%d x %d squares%n", size, size);
+			System.out.printf("%8s %12s %10s%n", "format", "bytes", "ms");
+			System.out.printf("%8s %12d %10.1f%n", "text", Files.size(text),
+					measure(text, MapScanner::scan));
+			System.out.printf("%8s %12d %10.1f%n", "binary", Files.size(binary),
+					measure(binary, BinaryMapFormat::read));
+		} finally {
+			Files.delete(text);
+			Files.delete(binary);
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package nl.tudelft.jpacman.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.npc.NPC;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Verifies maps large enough to be built in parallel give the same level as
+ * when built serially.
+ */
+@SuppressWarnings("magicnumber")
+public class MapParserTest {
+
+	/**
+	 * The amount of columns of the map, large enough to be built in parallel.
+	 */
+	private static final int WIDTH = 600;
+
+	/**
+	 * The amount of rows of the map.
+	 */
+	private static final int HEIGHT = 200;
+
+	/**
+	 * The ghosts handed out, in order.
+	 */
+	private final List<NPC> created = new ArrayList<>();
+
+	/**
+	 * The board passed to the level.
+	 */
+	private Board board;
+
+	/**
+	 * The ghosts passed to the level.
+	 */
+	private List<NPC> ghosts;
+
+	/**
+	 * The start positions passed to the level.
+	 */
+	private List<Square> startPositions;
+
+	/**
+	 * The parser under test.
+	 */
+	private MapParser parser;
+
+	/**
+	 * Creates a parser with a level factory capturing what the level is
+	 * created from.
+	 */
+	@Before
+	public void setUp() {
+		PacManSprites sprites = mock(PacManSprites.class);
+		LevelFactory levels = new LevelFactory(sprites, mock(GhostFactory.class)) {
+			@Override
+			public NPC createGhost() {
+				NPC ghost = mock(NPC.class, Mockito.CALLS_REAL_METHODS);
+				created.add(ghost);
+				return ghost;
+			}
+
+			@Override
+			public Level createLevel(Board b, List<NPC> g, List<Square> s) {
+				board = b;
+				ghosts = g;
+				startPositions = s;
+				return null;
+			}
+		};
+		parser = new MapParser(levels, new BoardFactory(sprites));
+	}
+
+	/**
+	 * Verifies ghosts and start positions are listed in column order and every
+	 * square is created, placed and linked.
+	 */
+	@Test
+	public void largeMapKeepsOrder() {
+		char[][] map = new char[WIDTH][HEIGHT];
+		for (int x = 0; x < WIDTH; x++) {
+			for (int y = 0; y < HEIGHT; y++) {
+				map[x][y] = (x + y) % 3 == 0 ? '.' : '#';
+			}
+		}
+		int[][] ghostCells = {{500, 3}, {10, 150}, {10, 20}, {300, 100}};
+		for (int[] g : ghostCells) {
+			map[g[0]][g[1]] = 'G';
+		}
+		map[WIDTH - 1][HEIGHT - 1] = 'P';
+		map[0][0] = 'P';
+		parser.parseMap(map);
+
+		assertEquals(created, ghosts);
+		assertSame(board.squareAt(10, 20), ghosts.get(0).getSquare());
+		assertSame(board.squareAt(10, 150), ghosts.get(1).getSquare());
+		assertSame(board.squareAt(300, 100), ghosts.get(2).getSquare());
+		assertSame(board.squareAt(500, 3), ghosts.get(3).getSquare());
+		assertSame(board.squareAt(0, 0), startPositions.get(0));
+		assertSame(board.squareAt(WIDTH - 1, HEIGHT - 1), startPositions.get(1));
+
+		for (int x = 0; x < WIDTH; x++) {
+			for (int y = 0; y < HEIGHT; y++) {
+				Square square = board.squareAt(x, y);
+				assertEquals(x, square.getCoordX());
+				assertEquals(y, square.getCoordY());
+				assertSame(board.squareAt((x + 1) % WIDTH, y), square.getSquareAt(Direction.EAST));
+				assertSame(board.squareAt(x, (y + HEIGHT - 1) % HEIGHT),
+						square.getSquareAt(Direction.NORTH));
+			}
+		}
+		assertTrue(board.squareAt(3, 0).getOccupants().get(0) instanceof Pellet);
+	}
+
+	/**
+	 * Verifies the first invalid character in column order is reported, as
+	 * when the grid is built serially.
+	 */
+	@Test
+	public void firstInvalidCharacterReported() {
+		StringBuilder text = new StringBuilder();
+		for (int y = 0; y < HEIGHT; y++) {
+			for (int x = 0; x < WIDTH; x++) {
+				text.append(x == 7 && y == 150 || x == 400 && y == 2 ? 'x' : '#');
+			}
+			text.append('\n');
+		}
+		try {
+			parser.parseMap(new ByteArrayInputStream(
+					text.toString().getBytes(StandardCharsets.UTF_8)));
+		} catch (PacmanConfigurationException e) {
+			assertEquals("Invalid character at 7,150: x", e.getMessage());
+			return;
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+		throw new AssertionError("Invalid map accepted.");
+	}
+}
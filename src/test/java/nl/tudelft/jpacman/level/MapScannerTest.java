@@ -0,0 +1,165 @@
+package nl.tudelft.jpacman.level;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Verifies the grid and references read by a {@link MapScanner}.
+ */
+@SuppressWarnings("magicnumber")
+public class MapScannerTest {
+
+	/**
+	 * The folder for map files.
+	 */
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Scans text from a stream that returns a single byte per read, like a
+	 * slow network stream.
+	 * @param text The text to scan.
+	 * @return The scanned map.
+	 * @throws IOException Never.
+	 */
+	private static MapData scanSlowly(String text) throws IOException {
+		InputStream in = new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)) {
+			@Override
+			public synchronized int read(byte[] b, int off, int len) {
+				return super.read(b, off, Math.min(len, 1));
+			}
+
+			@Override
+			public synchronized int available() {
+				return 0;
+			}
+		};
+		return MapScanner.scan(Channels.newChannel(in));
+	}
+
+	/**
+	 * Verifies the whole grid is read from a slow stream, with or without
+	 * carriage returns and a final line break.
+	 * @throws IOException Never.
+	 */
+	@Test
+	public void gridFromSlowStream() throws IOException {
+		MapData map = scanSlowly("#.#\r\n# P\r\n###");
+		assertEquals(3, map.getWidth());
+		assertEquals(3, map.getHeight());
+		assertEquals('.', map.cellAt(1, 0));
+		assertEquals('P', map.cellAt(2, 1));
+		assertEquals('#', map.cellAt(2, 2));
+	}
+
+	/**
+	 * Verifies the teleport and bridge sections are read.
+	 * @throws IOException Never.
+	 */
+	@Test
+	public void references() throws IOException {
+		MapData map = scanSlowly("#TB#\n----\n12 3\n----\nV P \n");
+		assertEquals(1, map.getHeight());
+		assertEquals(1, map.getTeleportRefs().size());
+		assertArrayEquals(new int[] {12, 3}, map.getTeleportRefs().get(0));
+		assertArrayEquals(new char[] {'V', 'P'}, map.getBridgeRefs().get(0));
+	}
+
+	/**
+	 * Verifies rows of different widths are rejected.
+	 * @throws IOException Never.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void unequalWidths() throws IOException {
+		scanSlowly("###\n##\n");
+	}
+
+	/**
+	 * Verifies malformed teleport references are rejected.
+	 * @throws IOException Never.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void badTeleport() throws IOException {
+		scanSlowly("#T#\n---\n1 x\n");
+	}
+
+	/**
+	 * Verifies a blank line in the teleport section is rejected.
+	 * @throws IOException Never.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void blankTeleport() throws IOException {
+		scanSlowly("#T#\n---\n\n1 2\n");
+	}
+
+	/**
+	 * Verifies a blank line in the bridge section is rejected, also when the
+	 * map is read in place.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void blankBridge() {
+		byte[] bytes = "#B#\n---\n---\n   \n".getBytes(StandardCharsets.UTF_8);
+		MapScanner.scan(ByteBuffer.wrap(bytes));
+	}
+
+	/**
+	 * Verifies the grid and references are read in place from a buffer, with
+	 * carriage returns and without a final line break.
+	 */
+	@Test
+	public void inPlace() {
+		byte[] bytes = "xx#.#\r\n# P\r\n---\r\n1 2\r\n---\r\nH N".getBytes(StandardCharsets.UTF_8);
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		buffer.position(2);
+		MapData map = MapScanner.scan(buffer);
+		assertEquals(3, map.getWidth());
+		assertEquals(2, map.getHeight());
+		assertEquals('.', map.cellAt(1, 0));
+		assertEquals('P', map.cellAt(2, 1));
+		assertArrayEquals(new int[] {1, 2}, map.getTeleportRefs().get(0));
+		assertArrayEquals(new char[] {'H', 'N'}, map.getBridgeRefs().get(0));
+		assertEquals(bytes.length - 2, map.getSize());
+	}
+
+	/**
+	 * Verifies a large generated map is read in place from a mapped file.
+	 * @throws IOException If the file could not be written or mapped.
+	 */
+	@Test
+	public void mappedFile() throws IOException {
+		int size = 1000;
+		StringBuilder text = new StringBuilder();
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				text.append((x + y) % 2 == 0 ? '#' : '.');
+			}
+			text.append('\n');
+		}
+		Path file = folder.newFile("large.txt").toPath();
+		Files.write(file, text.toString().getBytes(StandardCharsets.UTF_8));
+		MapData map;
+		try (FileChannel channel = FileChannel.open(file)) {
+			map = MapScanner.scan(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+		assertEquals(size, map.getWidth());
+		assertEquals(size, map.getHeight());
+		assertEquals('.', map.cellAt(size - 1, size - 2));
+		assertEquals((long) size * (size + 1), map.getSize());
+	}
+}
@@ -0,0 +1,116 @@
+package nl.tudelft.jpacman.level;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+
+import nl.tudelft.jpacman.board.Square;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies {@link RegionLocks} locks every region once, in order, and counts
+ * how often moves waited for one another.
+ */
+@SuppressWarnings("magicnumber")
+public class RegionLocksTest {
+
+	/**
+	 * The locks under test, with regions of 8 by 8 squares.
+	 */
+	private RegionLocks locks;
+
+	/**
+	 * Creates the locks.
+	 */
+	@Before
+	public void setUp() {
+		locks = new RegionLocks(8, 64);
+	}
+
+	/**
+	 * @param x
+	 *            The column of the square.
+	 * @param y
+	 *            The row of the square.
+	 * @return A square at that position.
+	 */
+	private static Square square(int x, int y) {
+		Square square = mock(Square.class);
+		when(square.getCoordX()).thenReturn(x);
+		when(square.getCoordY()).thenReturn(y);
+		return square;
+	}
+
+	/**
+	 * Verifies squares of the same region share its lock, which is taken
+	 * once.
+	 */
+	@Test
+	public void sameRegion() {
+		int[] held = locks.lock(square(1, 1), square(7, 0), null);
+		assertEquals(1, held.length);
+		assertEquals(locks.stripeOf(square(3, 5)), held[0]);
+		locks.unlock(held);
+		assertEquals(1, locks.getAcquisitions());
+		assertEquals(0, locks.getContentions());
+	}
+
+	/**
+	 * Verifies the regions of a move are locked in the same order whichever
+	 * way it goes.
+	 */
+	@Test
+	public void consistentOrder() {
+		Square west = square(7, 0);
+		Square east = square(8, 0);
+		assertNotEquals(locks.stripeOf(west), locks.stripeOf(east));
+		int[] there = locks.lock(west, east);
+		locks.unlock(there);
+		int[] back = locks.lock(east, west);
+		locks.unlock(back);
+		assertArrayEquals(there, back);
+		assertEquals(2, there.length);
+		assertEquals(Math.min(locks.stripeOf(west), locks.stripeOf(east)), there[0]);
+	}
+
+	/**
+	 * Verifies a move waiting for a region held by another is counted, and a
+	 * move in a region of a different lock is not.
+	 *
+	 * @throws InterruptedException
+	 *             if the test is interrupted.
+	 */
+	@Test
+	public void contention() throws InterruptedException {
+		Square busy = square(0, 0);
+		Square distant = square(40, 40);
+		assertNotEquals(locks.stripeOf(busy), locks.stripeOf(distant));
+		int[] held = locks.lock(busy);
+
+		Thread elsewhere = new Thread(() -> locks.unlock(locks.lock(distant)));
+		elsewhere.start();
+		elsewhere.join();
+		assertEquals(0, locks.getContentions());
+
+		CountDownLatch started = new CountDownLatch(1);
+		Thread waiting = new Thread(() -> {
+			started.countDown();
+			locks.unlock(locks.lock(square(1, 1)));
+		});
+		waiting.start();
+		started.await();
+		while (waiting.getState() != Thread.State.WAITING && waiting.isAlive()) {
+			Thread.yield();
+		}
+		locks.unlock(held);
+		waiting.join();
+		assertEquals(1, locks.getContentions());
+		assertEquals(3, locks.getAcquisitions());
+	}
+}
@@ -0,0 +1,146 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import nl.tudelft.jpacman.Launcher;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Verifies {@link AStar} finds paths as short as those of {@link Navigation}.
+ */
+@SuppressWarnings("magicnumber")
+public class AStarTest {
+
+	/**
+	 * Map parser used to construct boards.
+	 */
+	private MapParser parser;
+
+	/**
+	 * The unit to find paths for.
+	 */
+	private Unit traveller;
+
+	/**
+	 * Set up the map parser.
+	 */
+	@Before
+	public void setUp() {
+		Launcher launcher = new Launcher();
+		launcher.setBoardToUse("/board.txt");
+		PacManSprites sprites = new PacManSprites();
+		parser = new MapParser(new LevelFactory(sprites, new GhostFactory(
+				sprites)), new BoardFactory(sprites));
+		traveller = mock(Unit.class);
+	}
+
+	/**
+	 * Verifies the estimate takes the shorter way around the board.
+	 */
+	@Test
+	public void heuristicWrapsAround() {
+		int height = 5;
+		assertEquals(3, AStar.heuristic(0 * height + 1, 2 * height + 2, 10, height));
+		assertEquals(2, AStar.heuristic(0 * height + 0, 9 * height + 4, 10, height));
+	}
+
+	/**
+	 * Verifies the heap hands out squares lowest priority first.
+	 */
+	@Test
+	public void heapOrder() {
+		AStar.Heap heap = new AStar.Heap();
+		Random random = new Random(0);
+		int[] priorities = new int[200];
+		for (int i = 0; i < priorities.length; i++) {
+			priorities[i] = random.nextInt(50);
+			heap.push(priorities[i], i);
+		}
+		int last = -1;
+		while (!heap.isEmpty()) {
+			int priority = priorities[heap.pop()];
+			assertTrue(priority >= last);
+			last = priority;
+		}
+	}
+
+	/**
+	 * Verifies the path through the edge of the board is found.
+	 */
+	@Test
+	public void pathAroundTheEdge() {
+		Board b = parser.parseMap(Lists.newArrayList("#####", "  #  ", "#####"))
+				.getBoard();
+		AStar finder = new AStar(b);
+		assertArrayEquals(new Direction[] {Direction.WEST, Direction.WEST},
+				finder.shortestPath(b.squareAt(1, 1), b.squareAt(4, 1), traveller)
+						.toArray(new Direction[] {}));
+		assertEquals(2, finder.shortestPath(b.squareAt(1, 1), b.squareAt(3, 1),
+				null).size());
+		assertNull(finder.shortestPath(b.squareAt(1, 1), b.squareAt(2, 1), traveller));
+		assertTrue(finder.shortestPath(b.squareAt(1, 1), b.squareAt(1, 1), traveller)
+				.isEmpty());
+	}
+
+	/**
+	 * Verifies paths on a random board are valid and as short as those found
+	 * by a breadth first search.
+	 */
+	@Test
+	public void sameLengthsAsNavigation() {
+		Random random = new Random(1);
+		char[][] map = new char[30][20];
+		for (char[] column : map) {
+			for (int y = 0; y < column.length; y++) {
+				column[y] = random.nextInt(3) == 0 ? '#' : ' ';
+			}
+		}
+		Board b = parser.parseMap(map).getBoard();
+		AStar finder = new AStar(b);
+		List<Square> open = new ArrayList<>();
+		for (int x = 0; x < b.getWidth(); x++) {
+			for (int y = 0; y < b.getHeight(); y++) {
+				if (b.squareAt(x, y).isAccessibleTo(traveller)) {
+					open.add(b.squareAt(x, y));
+				}
+			}
+		}
+		for (int i = 0; i < 300; i++) {
+			Square from = open.get(random.nextInt(open.size()));
+			Square to = open.get(random.nextInt(open.size()));
+			List<Direction> path = finder.shortestPath(from, to, traveller);
+			List<Direction> expected = Navigation.shortestPath(from, to, traveller);
+			if (expected == null) {
+				assertNull(path);
+				continue;
+			}
+			assertEquals(expected.size(), path.size());
+			Square at = from;
+			for (Direction d : path) {
+				at = at.getSquareAt(d);
+				assertTrue(at.isAccessibleTo(traveller));
+			}
+			assertEquals(to, at);
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import nl.tudelft.jpacman.Launcher;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Verifies the random moves of a {@link Ghost} on a compact board, whose
+ * squares are looked up anew every time.
+ */
+@SuppressWarnings("magicnumber")
+public class GhostTest {
+
+	/**
+	 * The board, stored compactly.
+	 */
+	private Board board;
+
+	/**
+	 * A ghost with no sprites, moving by its own methods.
+	 */
+	private Ghost ghost;
+
+	/**
+	 * Reads the default board, without its ghosts.
+	 *
+	 * @throws IOException
+	 *             if the board cannot be read.
+	 */
+	@Before
+	public void setUp() throws IOException {
+		new Launcher().setBoardToUse("/board.txt");
+		PacManSprites sprites = new PacManSprites();
+		List<String> lines = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+				getClass().getResourceAsStream("/board.txt"), "UTF-8"))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lines.add(line.replace('G', ' '));
+			}
+		}
+		board = new MapParser(new LevelFactory(sprites, new GhostFactory(sprites)),
+				new BoardFactory(sprites, BoardFactory.Storage.COMPACT)).parseMap(lines).getBoard();
+		ghost = mock(Ghost.class, Mockito.CALLS_REAL_METHODS);
+	}
+
+	/**
+	 * @param square
+	 *            A square.
+	 * @return The amount of squares next to it the ghost can move to.
+	 */
+	private int exits(Square square) {
+		int exits = 0;
+		for (Direction d : Direction.values()) {
+			if (square.getSquareAt(d).isAccessibleTo(ghost)) {
+				exits++;
+			}
+		}
+		return exits;
+	}
+
+	/**
+	 * Verifies a ghost wandering the board only turns back at dead ends.
+	 */
+	@Test
+	public void noReversingAtCrossroads() {
+		ghost.occupy(board.squareAt(1, 1));
+		Square previous = null;
+		for (int step = 0; step < 200; step++) {
+			Square square = ghost.getSquare();
+			Direction d = ghost.randomMoveAtCrossroads();
+			assertNotNull(d);
+			Square next = square.getSquareAt(d);
+			assertTrue(next.isAccessibleTo(ghost));
+			if (previous != null && exits(square) > 1) {
+				assertNotEquals(previous, next);
+			}
+			previous = square;
+			ghost.occupy(next);
+		}
+	}
+
+	/**
+	 * Verifies a ghost shut in by walls has no move rather than failing.
+	 */
+	@Test
+	public void shutIn() {
+		ghost.occupy(board.squareAt(0, 0));
+		assertEquals(0, exits(ghost.getSquare()));
+		assertNull(ghost.randomMove());
+		assertNull(ghost.randomMoveAtCrossroads());
+	}
+}
@@ -0,0 +1,141 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import nl.tudelft.jpacman.Launcher;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies the {@link HierarchicalPathFinder} finds paths as short as those
+ * of {@link Navigation}, also after the board is extended.
+ */
+@SuppressWarnings("magicnumber")
+public class HierarchicalPathFinderTest {
+
+	/**
+	 * Map parser used to construct boards.
+	 */
+	private MapParser parser;
+
+	/**
+	 * The unit to find paths for.
+	 */
+	private Unit traveller;
+
+	/**
+	 * Set up the map parser.
+	 */
+	@Before
+	public void setUp() {
+		Launcher launcher = new Launcher();
+		launcher.setBoardToUse("/board.txt");
+		PacManSprites sprites = new PacManSprites();
+		parser = new MapParser(new LevelFactory(sprites, new GhostFactory(
+				sprites)), new BoardFactory(sprites));
+		traveller = mock(Unit.class);
+	}
+
+	/**
+	 * Verifies paths between random squares against a breadth first search.
+	 *
+	 * @param finder
+	 *            The path finder.
+	 * @param b
+	 *            The board.
+	 * @param queries
+	 *            The amount of pairs of squares to try.
+	 */
+	private void compare(PathFinder finder, Board b, int queries) {
+		Random random = new Random(0);
+		List<Square> open = new ArrayList<>();
+		for (int x = 0; x < b.getWidth(); x++) {
+			for (int y = 0; y < b.getHeight(); y++) {
+				if (b.squareAt(x, y).isAccessibleTo(traveller)) {
+					open.add(b.squareAt(x, y));
+				}
+			}
+		}
+		for (int i = 0; i < queries; i++) {
+			Square from = open.get(random.nextInt(open.size()));
+			Square to = open.get(random.nextInt(open.size()));
+			List<Direction> path = finder.shortestPath(from, to, traveller);
+			List<Direction> expected = Navigation.shortestPath(from, to, traveller);
+			if (expected == null) {
+				assertNull(path);
+				continue;
+			}
+			assertEquals(expected.size(), path.size());
+			Square at = from;
+			for (Direction d : path) {
+				at = at.getSquareAt(d);
+				assertTrue(at.isAccessibleTo(traveller));
+			}
+			assertEquals(to, at);
+		}
+	}
+
+	/**
+	 * Verifies paths on a random board divided into small maps.
+	 */
+	@Test
+	public void smallMaps() {
+		Random random = new Random(2);
+		char[][] map = new char[30][20];
+		for (char[] column : map) {
+			for (int y = 0; y < column.length; y++) {
+				column[y] = random.nextInt(3) == 0 ? '#' : ' ';
+			}
+		}
+		Board b = parser.parseMap(map).getBoard();
+		compare(new HierarchicalPathFinder(b, traveller, 6, 5), b, 300);
+	}
+
+	/**
+	 * Verifies maps added to a compact board, as used by the infinite map,
+	 * in front of and after the existing ones are searched.
+	 *
+	 * @throws IOException
+	 *             if the board cannot be read.
+	 */
+	@Test
+	public void extended() throws IOException {
+		List<String> lines = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+				getClass().getResourceAsStream("/boardExtendedBase.txt"), "UTF-8"))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lines.add(line.replace('G', ' '));
+			}
+		}
+		PacManSprites sprites = new PacManSprites();
+		Board b = new MapParser(new LevelFactory(sprites, new GhostFactory(sprites)),
+				new BoardFactory(sprites, BoardFactory.Storage.COMPACT))
+				.parseMap(lines).getBoard();
+		HierarchicalPathFinder finder = new HierarchicalPathFinder(b, traveller);
+		compare(finder, b, 20);
+		b.extend(Direction.WEST);
+		compare(finder, b, 40);
+		b.extend(Direction.NORTH);
+		compare(finder, b, 40);
+	}
+}
@@ -0,0 +1,170 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import nl.tudelft.jpacman.Launcher;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Verifies the {@link JunctionGraph} finds paths as short as those of
+ * {@link Navigation}.
+ */
+@SuppressWarnings("magicnumber")
+public class JunctionGraphTest {
+
+	/**
+	 * Map parser used to construct boards.
+	 */
+	private MapParser parser;
+
+	/**
+	 * The unit to find paths for.
+	 */
+	private Unit traveller;
+
+	/**
+	 * Set up the map parser.
+	 */
+	@Before
+	public void setUp() {
+		Launcher launcher = new Launcher();
+		launcher.setBoardToUse("/board.txt");
+		PacManSprites sprites = new PacManSprites();
+		parser = new MapParser(new LevelFactory(sprites, new GhostFactory(
+				sprites)), new BoardFactory(sprites));
+		traveller = mock(Unit.class);
+	}
+
+	/**
+	 * @return The default board, without its ghosts.
+	 * @throws IOException
+	 *             if the board cannot be read.
+	 */
+	private Board defaultBoard() throws IOException {
+		List<String> lines = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+				getClass().getResourceAsStream("/board.txt"), "UTF-8"))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lines.add(line.replace('G', ' '));
+			}
+		}
+		return parser.parseMap(lines).getBoard();
+	}
+
+	/**
+	 * Verifies only crossings and dead ends are junctions.
+	 */
+	@Test
+	public void junctions() {
+		Board b = parser.parseMap(
+				Lists.newArrayList("#######", "#     #", "### ###", "#######"))
+				.getBoard();
+		JunctionGraph graph = new JunctionGraph(b, traveller);
+		assertEquals(4, graph.junctionCount());
+		assertTrue(graph.isJunction(b.squareAt(3, 1)));
+		assertTrue(graph.isJunction(b.squareAt(1, 1)));
+		assertFalse(graph.isJunction(b.squareAt(2, 1)));
+		assertFalse(graph.isJunction(b.squareAt(0, 0)));
+	}
+
+	/**
+	 * Verifies units go on along corridors, away from where they came from.
+	 */
+	@Test
+	public void onwards() {
+		Board b = parser.parseMap(
+				Lists.newArrayList("#####", "#   #", "### #", "#####"))
+				.getBoard();
+		JunctionGraph graph = new JunctionGraph(b, traveller);
+		assertEquals(Direction.EAST,
+				graph.onwards(b.squareAt(2, 1), b.squareAt(1, 1)));
+		assertEquals(Direction.SOUTH,
+				graph.onwards(b.squareAt(3, 1), b.squareAt(2, 1)));
+		assertNull(graph.onwards(b.squareAt(1, 1), b.squareAt(2, 1)));
+	}
+
+	/**
+	 * Verifies paths along a single corridor and between walled off squares.
+	 */
+	@Test
+	public void corridorPaths() {
+		Board b = parser.parseMap(
+				Lists.newArrayList("######", "#    #", "######", "# ## #",
+						"######")).getBoard();
+		JunctionGraph graph = new JunctionGraph(b, traveller);
+		assertEquals(Lists.newArrayList(Direction.EAST, Direction.EAST),
+				graph.shortestPath(b.squareAt(2, 1), b.squareAt(4, 1)));
+		assertEquals(Lists.newArrayList(Direction.WEST),
+				graph.shortestPath(b.squareAt(2, 1), b.squareAt(1, 1)));
+		assertTrue(graph.shortestPath(b.squareAt(2, 1), b.squareAt(2, 1))
+				.isEmpty());
+		assertNull(graph.shortestPath(b.squareAt(1, 3), b.squareAt(4, 3)));
+		assertNull(graph.shortestPath(b.squareAt(1, 1), b.squareAt(0, 0)));
+	}
+
+	/**
+	 * Verifies paths on the default board, which wraps around through its
+	 * tunnels, are valid and as short as those found square by square.
+	 *
+	 * @throws IOException
+	 *             if the board cannot be read.
+	 */
+	@Test
+	public void sameLengthsAsNavigation() throws IOException {
+		Board b = defaultBoard();
+		JunctionGraph graph = new JunctionGraph(b, traveller);
+		List<Square> open = new ArrayList<>();
+		for (int x = 0; x < b.getWidth(); x++) {
+			for (int y = 0; y < b.getHeight(); y++) {
+				if (b.squareAt(x, y).isAccessibleTo(traveller)) {
+					open.add(b.squareAt(x, y));
+				}
+			}
+		}
+		assertTrue(graph.junctionCount() * 4 < open.size());
+
+		for (int i = 0; i < open.size(); i += 3) {
+			for (int j = 0; j < open.size(); j += 7) {
+				Square from = open.get(i);
+				Square to = open.get(j);
+				List<Direction> path = graph.shortestPath(from, to);
+				List<Direction> expected = Navigation.shortestPath(from, to,
+						traveller);
+				if (expected == null) {
+					assertNull(path);
+					continue;
+				}
+				assertEquals(expected.size(), path.size());
+				Square at = from;
+				for (Direction d : path) {
+					at = at.getSquareAt(d);
+					assertTrue(at.isAccessibleTo(traveller));
+				}
+				assertEquals(to, at);
+			}
+		}
+	}
+}
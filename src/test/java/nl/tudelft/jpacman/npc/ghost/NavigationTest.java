@@ -167,6 +167,44 @@ public class NavigationTest {
 		assertEquals(unit.getSpeed(), 1.1, 0.0);
 	}
 
+	/**
+	 * Verifies a bounded search finds paths up to its amount of steps only.
+	 */
+	@Test
+	public void testShortestPathWithin() {
+		Board b = parser.parseMap(
+				Lists.newArrayList("#######", "#     #", "#######")).getBoard();
+		Unit traveller = mock(Unit.class);
+		Square s1 = b.squareAt(1, 1);
+		Square s2 = b.squareAt(4, 1);
+		assertArrayEquals(new Direction[] {Direction.EAST, Direction.EAST, Direction.EAST},
+				Navigation.shortestPathWithin(s1, s2, 3, traveller)
+						.toArray(new Direction[] {}));
+		assertNull(Navigation.shortestPathWithin(s1, s2, 2, traveller));
+		assertTrue(Navigation.shortestPathWithin(s1, s1, 0, traveller).isEmpty());
+		assertEquals(1, Navigation.shortestPathWithin(s1, b.squareAt(1, 0), 1, null)
+				.size());
+	}
+
+	/**
+	 * Verifies a bounded search finds the units within its amount of steps,
+	 * nearest first.
+	 */
+	@Test
+	public void testFindAllWithin() {
+		Board b = parser.parseMap(
+				Lists.newArrayList("#######", "#. . .#", "#######")).getBoard();
+		Unit traveller = mock(Unit.class);
+		List<Pellet> pellets = Navigation.findAllWithin(Pellet.class,
+				b.squareAt(3, 1), 2, traveller);
+		assertEquals(3, pellets.size());
+		assertEquals(b.squareAt(3, 1), pellets.get(0).getSquare());
+		assertEquals(1, Navigation.findAllWithin(Pellet.class, b.squareAt(1, 1), 1,
+				traveller).size());
+		assertTrue(Navigation.findAllWithin(Pellet.class, b.squareAt(2, 1), 0,
+				traveller).isEmpty());
+	}
+
 	/**
 	 * Verifies that the game is able to make a difference between
 	 * a pellet and a super pellet.
@@ -0,0 +1,166 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import nl.tudelft.jpacman.Launcher;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.PassThroughWall;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies which queries a {@link PathCache} answers from memory.
+ */
+@SuppressWarnings("magicnumber")
+public class PathCacheTest {
+
+	/**
+	 * The board to find paths on.
+	 */
+	private Board board;
+
+	/**
+	 * The unit to find paths for.
+	 */
+	private Unit traveller;
+
+	/**
+	 * The amount of queries that reached the breadth first search.
+	 */
+	private int searches;
+
+	/**
+	 * The cache under test, remembering two paths.
+	 */
+	private PathCache cache;
+
+	/**
+	 * Set up a compact board and the cache.
+	 *
+	 * @throws IOException
+	 *             if the board cannot be read.
+	 */
+	@Before
+	public void setUp() throws IOException {
+		new Launcher().setBoardToUse("/board.txt");
+		List<String> lines = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+				getClass().getResourceAsStream("/boardExtendedBase.txt"), "UTF-8"))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lines.add(line.replace('G', ' '));
+			}
+		}
+		PacManSprites sprites = new PacManSprites();
+		board = new MapParser(new LevelFactory(sprites, new GhostFactory(sprites)),
+				new BoardFactory(sprites, BoardFactory.Storage.COMPACT))
+				.parseMap(lines).getBoard();
+		traveller = mock(Unit.class);
+		cache = new PathCache(board, (from, to, unit) -> {
+			searches++;
+			return Navigation.shortestPath(from, to, unit);
+		}, 2);
+	}
+
+	/**
+	 * @param n
+	 *            A number.
+	 * @return The n-th square the traveller can occupy.
+	 */
+	private Square open(int n) {
+		int found = 0;
+		for (int x = 0; x < board.getWidth(); x++) {
+			for (int y = 0; y < board.getHeight(); y++) {
+				if (board.squareAt(x, y).isAccessibleTo(traveller) && found++ == n) {
+					return board.squareAt(x, y);
+				}
+			}
+		}
+		throw new IllegalArgumentException("Only " + found + " open squares");
+	}
+
+	/**
+	 * Verifies a repeated query is answered from memory, with the same path.
+	 */
+	@Test
+	public void repeated() {
+		List<Direction> path = cache.shortestPath(open(0), open(40), traveller);
+		assertEquals(path, cache.shortestPath(open(0), open(40), traveller));
+		assertEquals(1, searches);
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+		assertEquals(Navigation.shortestPath(open(0), open(40), traveller).size(),
+				path.size());
+	}
+
+	/**
+	 * Verifies travellers of another kind do not share paths.
+	 */
+	@Test
+	public void otherTraveller() {
+		cache.shortestPath(open(0), open(40), traveller);
+		cache.shortestPath(open(0), open(40), new PassThroughWall());
+		cache.shortestPath(open(0), open(40), null);
+		assertEquals(3, searches);
+		assertEquals(0, cache.getHits());
+	}
+
+	/**
+	 * Verifies the least recently used path is forgotten first.
+	 */
+	@Test
+	public void leastRecentlyUsed() {
+		cache.shortestPath(open(0), open(1), traveller);
+		cache.shortestPath(open(0), open(2), traveller);
+		cache.shortestPath(open(0), open(1), traveller);
+		cache.shortestPath(open(0), open(3), traveller);
+		assertEquals(2, cache.size());
+		cache.shortestPath(open(0), open(1), traveller);
+		assertEquals(3, searches);
+		cache.shortestPath(open(0), open(2), traveller);
+		assertEquals(4, searches);
+	}
+
+	/**
+	 * Verifies the absence of a path is remembered too.
+	 */
+	@Test
+	public void noPath() {
+		Square wall = board.squareAt(0, 0);
+		assertNull(cache.shortestPath(open(0), wall, traveller));
+		assertNull(cache.shortestPath(open(0), wall, traveller));
+		assertEquals(1, searches);
+	}
+
+	/**
+	 * Verifies everything is forgotten once the board is extended.
+	 */
+	@Test
+	public void extended() {
+		Square from = open(0);
+		Square to = open(40);
+		cache.shortestPath(from, to, traveller);
+		long version = board.getVersion();
+		board.extend(Direction.EAST);
+		assertEquals(version + 1, board.getVersion());
+		cache.shortestPath(from, to, traveller);
+		assertEquals(2, searches);
+		assertEquals(1, cache.size());
+	}
+}
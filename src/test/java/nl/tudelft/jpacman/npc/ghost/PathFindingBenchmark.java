@@ -0,0 +1,236 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import nl.tudelft.jpacman.Launcher;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+/**
+ * Measures how long the path finders take for random queries on the default
+ * board and on a generated maze, and on the infinite board while it grows.
+ * Not run as part of the tests; usage:
+ * <pre>
+ * java nl.tudelft.jpacman.npc.ghost.PathFindingBenchmark [size]
+ * </pre>
+ */
+@SuppressWarnings("magicnumber")
+public final class PathFindingBenchmark {
+
+	/**
+	 * The amount of queries per run.
+	 */
+	private static final int QUERIES = 500;
+
+	/**
+	 * The amount of runs before measuring.
+	 */
+	private static final int WARMUP = 2;
+
+	/**
+	 * The amount of times the infinite board grows.
+	 */
+	private static final int GROWTH = 12;
+
+	private PathFindingBenchmark() {
+	}
+
+	/**
+	 * Grows the infinite board map by map, asking for paths between squares
+	 * at most a map apart after every growth, the way ghosts chase a player.
+	 *
+	 * @param name
+	 *            The name of the path finder.
+	 * @param parser
+	 *            The parser of the infinite board, storing it compactly.
+	 * @param search
+	 *            Creates the path finder for the board.
+	 * @param traveller
+	 *            The unit to find paths for.
+	 * @throws IOException
+	 *             if the board cannot be read.
+	 */
+	private static void measureGrowing(String name, MapParser parser,
+			Function<Board, PathFinder> search, Unit traveller)
+			throws IOException {
+		double time = 0;
+		for (int run = -WARMUP; run <= 0; run++) {
+			Board board = read(parser, "/boardExtendedBase.txt");
+			PathFinder finder = search.apply(board);
+			Random random = new Random(0);
+			Direction[] directions = Direction.values();
+			long start = System.nanoTime();
+			for (int growth = 0; growth < GROWTH; growth++) {
+				board.extend(directions[growth % directions.length]);
+				int mapW = board.getWidthOfOneMap();
+				int mapH = board.getHeightOfOneMap();
+				for (int i = 0; i < QUERIES; i++) {
+					int x = random.nextInt(board.getWidth());
+					int y = random.nextInt(board.getHeight());
+					int toX = Math.min(board.getWidth() - 1, Math.max(0, x + random.nextInt(2 * mapW) - mapW));
+					int toY = Math.min(board.getHeight() - 1, Math.max(0, y + random.nextInt(2 * mapH) - mapH));
+					Square from = board.squareAt(x, y);
+					Square to = board.squareAt(toX, toY);
+					if (from.isAccessibleTo(traveller) && to.isAccessibleTo(traveller)) {
+						finder.shortestPath(from, to, traveller);
+					}
+				}
+			}
+			time = (System.nanoTime() - start) / 1e3 / (GROWTH * QUERIES);
+		}
+		System.out.printf("%-14s %12.1f%n", name, time);
+	}
+
+	/**
+	 * @param parser
+	 *            The parser to use.
+	 * @return The default board, without its ghosts.
+	 * @throws IOException
+	 *             if the board cannot be read.
+	 */
+	private static Board defaultBoard(MapParser parser) throws IOException {
+		return read(parser, "/board.txt");
+	}
+
+	/**
+	 * @param parser
+	 *            The parser to use.
+	 * @param resource
+	 *            The board to read.
+	 * @return The board, without its ghosts.
+	 * @throws IOException
+	 *             if the board cannot be read.
+	 */
+	private static Board read(MapParser parser, String resource) throws IOException {
+		List<String> lines = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+				PathFindingBenchmark.class.getResourceAsStream(resource), "UTF-8"))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lines.add(line.replace('G', ' '));
+			}
+		}
+		return parser.parseMap(lines).getBoard();
+	}
+
+	/**
+	 * Generates a maze of corridors two squares apart, with a third of the
+	 * passages between them walled up.
+	 *
+	 * @param size
+	 *            The amount of columns and rows.
+	 * @return The map, with map[x][y] the square at x,y.
+	 */
+	private static char[][] generate(int size) {
+		Random random = new Random(size);
+		char[][] map = new char[size][size];
+		for (int x = 0; x < size; x++) {
+			for (int y = 0; y < size; y++) {
+				boolean corridor = x % 2 == 1 || y % 2 == 1;
+				boolean open = x % 2 == 1 && y % 2 == 1 || random.nextInt(3) != 0;
+				map[x][y] = corridor && open ? ' ' : '#';
+			}
+		}
+		return map;
+	}
+
+	/**
+	 * Times random queries between accessible squares.
+	 *
+	 * @param name
+	 *            The name of the path finder.
+	 * @param finder
+	 *            The path finder.
+	 * @param board
+	 *            The board to search.
+	 * @param traveller
+	 *            The unit to find paths for.
+	 */
+	private static void measure(String name, PathFinder finder, Board board, Unit traveller) {
+		List<Square> open = new ArrayList<>();
+		for (int x = 0; x < board.getWidth(); x++) {
+			for (int y = 0; y < board.getHeight(); y++) {
+				if (board.squareAt(x, y).isAccessibleTo(traveller)) {
+					open.add(board.squareAt(x, y));
+				}
+			}
+		}
+		double time = 0;
+		long steps = 0;
+		for (int run = -WARMUP; run <= 0; run++) {
+			Random random = new Random(0);
+			steps = 0;
+			long start = System.nanoTime();
+			for (int i = 0; i < QUERIES; i++) {
+				List<?> path = finder.shortestPath(open.get(random.nextInt(open.size())),
+						open.get(random.nextInt(open.size())), traveller);
+				steps += path == null ? 0 : path.size();
+			}
+			time = (System.nanoTime() - start) / 1e3 / QUERIES;
+		}
+		System.out.printf("%-14s %12.1f %12d%n", name, time, steps);
+	}
+
+	/**
+	 * @param length
+	 *            The amount of columns or rows of a board.
+	 * @return The amount of columns or rows of the maps to divide it into:
+	 *         20 where that fits, else the whole board.
+	 */
+	private static int tileSize(int length) {
+		return length % 20 == 0 ? 20 : length;
+	}
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args
+	 *            Optionally the amount of columns and rows of the generated
+	 *            maze, 60 by default.
+	 * @throws Exception
+	 *             when a board cannot be read.
+	 */
+	public static void main(String[] args) throws Exception {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 60;
+		new Launcher().setBoardToUse("/board.txt");
+		PacManSprites sprites = new PacManSprites();
+		MapParser parser = new MapParser(new LevelFactory(sprites, new GhostFactory(sprites)),
+				new BoardFactory(sprites));
+		Unit traveller = new Pellet(0, null);
+
+		Board[] boards = {defaultBoard(parser), parser.parseMap(generate(size)).getBoard()};
+		for (Board board : boards) {
+			JunctionGraph junctions = new JunctionGraph(board, traveller);
+			System.out.printf("%d x %d squares, %d junctions%n", board.getWidth(),
+					board.getHeight(), junctions.junctionCount());
+			System.out.printf("%-14s %12s %12s%n", "search", "us/query", "total steps");
+			measure("breadth first", Navigation::shortestPath, board, traveller);
+			measure("A*", new AStar(board), board, traveller);
+			measure("junctions", junctions, board, traveller);
+			measure("hierarchical", new HierarchicalPathFinder(board, traveller,
+					tileSize(board.getWidth()), tileSize(board.getHeight())), board, traveller);
+		}
+
+		MapParser compact = new MapParser(new LevelFactory(sprites, new GhostFactory(sprites)),
+				new BoardFactory(sprites, BoardFactory.Storage.COMPACT));
+		System.out.printf("infinite board growing %d times, queries a map apart%n", GROWTH);
+		System.out.printf("%-14s %12s%n", "search", "us/query");
+		measureGrowing("A*", compact, AStar::new, traveller);
+		measureGrowing("junctions", compact, b -> new JunctionGraph(b, traveller), traveller);
+		measureGrowing("hierarchical", compact, b -> new HierarchicalPathFinder(b, traveller,
+				b.getWidthOfOneMap(), b.getHeightOfOneMap()), traveller);
+	}
+}
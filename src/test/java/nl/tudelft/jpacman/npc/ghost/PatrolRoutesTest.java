@@ -0,0 +1,155 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import nl.tudelft.jpacman.Launcher;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies the loops of {@link PatrolRoutes} and when the ghosts scatter to
+ * follow them.
+ */
+@SuppressWarnings("magicnumber")
+public class PatrolRoutesTest {
+
+	/**
+	 * The unit to find loops for.
+	 */
+	private Unit traveller;
+
+	/**
+	 * The sprites of the boards.
+	 */
+	private PacManSprites sprites;
+
+	/**
+	 * Set up the launcher the boards are read for.
+	 */
+	@Before
+	public void setUp() {
+		new Launcher().setBoardToUse("/board.txt");
+		sprites = new PacManSprites();
+		traveller = mock(Unit.class);
+	}
+
+	/**
+	 * @param resource
+	 *            The board to read.
+	 * @param storage
+	 *            How to store the board.
+	 * @return The board, without its ghosts.
+	 * @throws IOException
+	 *             if the board cannot be read.
+	 */
+	private Board read(String resource, BoardFactory.Storage storage) throws IOException {
+		List<String> lines = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+				getClass().getResourceAsStream(resource), "UTF-8"))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lines.add(line.replace('G', ' '));
+			}
+		}
+		return new MapParser(new LevelFactory(sprites, new GhostFactory(sprites)),
+				new BoardFactory(sprites, storage)).parseMap(lines).getBoard();
+	}
+
+	/**
+	 * Verifies a loop goes over open squares back to where it started.
+	 *
+	 * @param route
+	 *            The loop.
+	 * @param start
+	 *            The square it starts at.
+	 */
+	private void assertLoop(PatrolRoutes.Route route, Square start) {
+		assertTrue(route.length() > 0);
+		Square at = start;
+		for (int i = 0; i < route.length(); i++) {
+			assertEquals(i, route.indexOf(start, at));
+			at = at.getSquareAt(route.step(i));
+			assertTrue(at.isAccessibleTo(traveller));
+		}
+		assertEquals(start, at);
+	}
+
+	/**
+	 * Verifies the loops on the default board go round the blocks nearest to
+	 * the corners.
+	 *
+	 * @throws IOException
+	 *             if the board cannot be read.
+	 */
+	@Test
+	public void defaultBoard() throws IOException {
+		Board b = read("/board.txt", BoardFactory.Storage.GRID);
+		PatrolRoutes routes = new PatrolRoutes(b, traveller);
+		Square middle = b.squareAt(11, 15);
+		for (PatrolRoutes.Corner corner : PatrolRoutes.Corner.values()) {
+			PatrolRoutes.Route route = routes.routeFor(corner, middle);
+			assertNotNull(route);
+			assertLoop(route, routes.startOf(route, middle));
+		}
+		PatrolRoutes.Route northWest = routes.routeFor(PatrolRoutes.Corner.NORTH_WEST, middle);
+		assertEquals(b.squareAt(1, 1), routes.startOf(northWest, middle));
+		assertEquals(12, northWest.length());
+		assertEquals(b.squareAt(21, 19), routes.startOf(
+				routes.routeFor(PatrolRoutes.Corner.SOUTH_EAST, middle), middle));
+	}
+
+	/**
+	 * Verifies the loops of a map are kept when maps are added in front of
+	 * it, and the new maps get loops of their own.
+	 *
+	 * @throws IOException
+	 *             if the board cannot be read.
+	 */
+	@Test
+	public void extended() throws IOException {
+		Board b = read("/boardExtendedBase.txt", BoardFactory.Storage.COMPACT);
+		PatrolRoutes routes = new PatrolRoutes(b, traveller);
+		PatrolRoutes.Route route = routes.routeFor(PatrolRoutes.Corner.NORTH_EAST,
+				b.squareAt(0, 0));
+		b.extend(Direction.WEST);
+		Square old = b.squareAt(b.getWidthOfOneMap(), 0);
+		assertSame(route, routes.routeFor(PatrolRoutes.Corner.NORTH_EAST, old));
+		assertLoop(route, routes.startOf(route, old));
+		Square added = b.squareAt(0, 0);
+		PatrolRoutes.Route other = routes.routeFor(PatrolRoutes.Corner.NORTH_EAST, added);
+		assertLoop(other, routes.startOf(other, added));
+	}
+
+	/**
+	 * Verifies the ghosts scatter and chase in turns, and chase for good in
+	 * the end.
+	 */
+	@Test
+	public void modes() {
+		assertEquals(ModeSchedule.Mode.SCATTER, ModeSchedule.modeAt(0));
+		assertEquals(ModeSchedule.Mode.CHASE, ModeSchedule.modeAt(7000));
+		assertEquals(ModeSchedule.Mode.SCATTER, ModeSchedule.modeAt(27000));
+		assertEquals(ModeSchedule.Mode.SCATTER, ModeSchedule.modeAt(79999));
+		assertEquals(ModeSchedule.Mode.CHASE, ModeSchedule.modeAt(84000));
+		assertEquals(ModeSchedule.Mode.CHASE, ModeSchedule.modeAt(Long.MAX_VALUE));
+	}
+}
@@ -0,0 +1,99 @@
+package nl.tudelft.jpacman.sprite;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies the frames shown by an {@link AnimatedSprite} driven by a virtual
+ * {@link AnimationClock}.
+ */
+@SuppressWarnings("magicnumber")
+public class AnimatedSpriteTest {
+
+	/**
+	 * The delay between frames.
+	 */
+	private static final int DELAY = 100;
+
+	/**
+	 * The virtual time.
+	 */
+	private final AtomicLong time = new AtomicLong();
+
+	/**
+	 * The clock driven by the virtual time.
+	 */
+	private AnimationClock clock;
+
+	/**
+	 * The frames of the animations under test.
+	 */
+	private Sprite[] frames;
+
+	/**
+	 * Creates a virtual clock and three frames.
+	 */
+	@Before
+	public void setUp() {
+		clock = new AnimationClock(time::get);
+		frames = new Sprite[] {mock(Sprite.class), mock(Sprite.class), mock(Sprite.class)};
+	}
+
+	/**
+	 * Advances the virtual time and samples the clock.
+	 * @param millis The amount of milliseconds to advance.
+	 */
+	private void advance(long millis) {
+		time.addAndGet(millis);
+		clock.sample();
+	}
+
+	/**
+	 * Verifies a looping animation wraps around, even after a long time.
+	 */
+	@Test
+	@SuppressWarnings("PMD.JUnitTestsShouldIncludeAssert")
+	public void loopingFrames() {
+		AnimatedSprite sprite = new AnimatedSprite(frames, DELAY, true, true, clock);
+		sprite.split(0, 0, 1, 1);
+		verify(frames[0]).split(0, 0, 1, 1);
+		advance(DELAY);
+		sprite.split(0, 0, 1, 1);
+		verify(frames[1]).split(0, 0, 1, 1);
+		advance(3000L * DELAY + DELAY);
+		sprite.split(0, 0, 1, 1);
+		verify(frames[2]).split(0, 0, 1, 1);
+	}
+
+	/**
+	 * Verifies a non-looping animation ends with an empty sprite.
+	 */
+	@Test
+	public void endOfLoop() {
+		AnimatedSprite sprite = new AnimatedSprite(frames, DELAY, false, true, clock);
+		advance(3 * DELAY);
+		assertTrue(sprite.split(0, 0, 1, 1) instanceof EmptySprite);
+	}
+
+	/**
+	 * Verifies animations freeze while the clock is paused.
+	 */
+	@Test
+	@SuppressWarnings("PMD.JUnitTestsShouldIncludeAssert")
+	public void pausedClock() {
+		AnimatedSprite sprite = new AnimatedSprite(frames, DELAY, true, true, clock);
+		advance(DELAY);
+		clock.pause();
+		advance(DELAY);
+		clock.resume();
+		clock.sample();
+		sprite.split(0, 0, 1, 1);
+		verify(frames[1]).split(0, 0, 1, 1);
+	}
+}
@@ -0,0 +1,97 @@
+package nl.tudelft.jpacman.ui;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.level.MovableCharacter.Move;
+
+import org.junit.Test;
+
+/**
+ * Verifies which part of a character's last move is still drawn by a
+ * {@link BoardPanel}.
+ */
+@SuppressWarnings("magicnumber")
+public class BoardPanelTest {
+
+	/**
+	 * The allowed difference between fractions.
+	 */
+	private static final double DELTA = 1e-9;
+
+	/**
+	 * @param x The column of the square.
+	 * @param y The row of the square.
+	 * @return A square at the given position.
+	 */
+	private static Square square(int x, int y) {
+		Square square = mock(Square.class);
+		when(square.getCoordX()).thenReturn(x);
+		when(square.getCoordY()).thenReturn(y);
+		return square;
+	}
+
+	/**
+	 * Verifies a move to an adjacent square is drawn in proportion to the
+	 * time left.
+	 */
+	@Test
+	public void halfway() {
+		Square to = square(2, 0);
+		Move move = new Move(square(1, 0), to, 1000L, 200L);
+		assertEquals(1.0, BoardPanel.remainingMove(move, to, 1000L), DELTA);
+		assertEquals(0.5, BoardPanel.remainingMove(move, to, 1100L), DELTA);
+	}
+
+	/**
+	 * Verifies a move is not drawn before it started or once it took its
+	 * duration.
+	 */
+	@Test
+	public void outsideDuration() {
+		Square to = square(2, 0);
+		Move move = new Move(square(1, 0), to, 1000L, 200L);
+		assertEquals(0.0, BoardPanel.remainingMove(move, to, 999L), DELTA);
+		assertEquals(0.0, BoardPanel.remainingMove(move, to, 1200L), DELTA);
+		Move instant = new Move(square(1, 0), to, 1000L, 0L);
+		assertEquals(0.0, BoardPanel.remainingMove(instant, to, 1000L), DELTA);
+	}
+
+	/**
+	 * Verifies nothing is drawn without a move, or for a move to another
+	 * square than the character is on.
+	 */
+	@Test
+	public void otherSquare() {
+		Square to = square(2, 0);
+		Move move = new Move(square(1, 0), to, 1000L, 200L);
+		assertEquals(0.0, BoardPanel.remainingMove(null, to, 1100L), DELTA);
+		assertEquals(0.0, BoardPanel.remainingMove(move, square(2, 0), 1100L), DELTA);
+	}
+
+	/**
+	 * Verifies a teleport is not drawn as a move.
+	 */
+	@Test
+	public void teleport() {
+		Square to = square(10, 5);
+		Move move = new Move(square(1, 1), to, 1000L, 200L);
+		assertEquals(0.0, BoardPanel.remainingMove(move, to, 1100L), DELTA);
+	}
+
+	/**
+	 * Verifies wrapping around the edge of the board is not drawn as a move
+	 * across it.
+	 */
+	@Test
+	public void wraparound() {
+		Square to = square(19, 3);
+		Move move = new Move(square(0, 3), to, 1000L, 200L);
+		assertEquals(0.0, BoardPanel.remainingMove(move, to, 1100L), DELTA);
+		Square bottom = square(3, 0);
+		Move up = new Move(square(3, 14), bottom, 1000L, 200L);
+		assertEquals(0.0, BoardPanel.remainingMove(up, bottom, 1100L), DELTA);
+	}
+}
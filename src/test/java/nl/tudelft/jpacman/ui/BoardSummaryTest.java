@@ -0,0 +1,71 @@
+package nl.tudelft.jpacman.ui;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import nl.tudelft.jpacman.sprite.Sprite;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies the counts kept by a {@link BoardSummary}.
+ */
+public class BoardSummaryTest {
+
+	/**
+	 * The board to summarise: a wall, two ground squares and a pellet.
+	 */
+	private Board board;
+
+	/**
+	 * The pellet on the board.
+	 */
+	private Pellet pellet;
+
+	/**
+	 * Creates a board of one row with a wall and two ground squares, the
+	 * last of which holds a pellet.
+	 */
+	@Before
+	public void setUp() {
+		BoardFactory factory = new BoardFactory(mock(PacManSprites.class));
+		Square[][] grid = new Square[][] {
+			{factory.createWall()}, {factory.createGround()}, {factory.createGround()}};
+		board = factory.createBoard(grid);
+		pellet = new Pellet(1, mock(Sprite.class));
+		pellet.occupy(board.squareAt(2, 0));
+	}
+
+	/**
+	 * Verifies the board is counted when the summary is created.
+	 */
+	@Test
+	public void initialCounts() {
+		BoardSummary.Grid grid = new BoardSummary(board, null).refresh();
+		assertEquals(1, grid.getBlocksX());
+		assertEquals(1, grid.getBlocksY());
+		assertEquals(3, grid.squares(0, 0));
+		assertEquals(1, grid.count(BoardSummary.WALLS, 0, 0));
+		assertEquals(1, grid.count(BoardSummary.PELLETS, 0, 0));
+	}
+
+	/**
+	 * Verifies a changed square is counted again on the next refresh.
+	 */
+	@Test
+	public void changedSquare() {
+		BoardSummary summary = new BoardSummary(board, null);
+		board.addListener(summary);
+		Square square = pellet.getSquare();
+		pellet.leaveSquare();
+		assertEquals(1, summary.refresh().count(BoardSummary.PELLETS, 0, 0));
+		board.notifySquareChanged(square);
+		assertEquals(0, summary.refresh().count(BoardSummary.PELLETS, 0, 0));
+	}
+}
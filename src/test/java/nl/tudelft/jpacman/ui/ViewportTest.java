@@ -0,0 +1,56 @@
+package nl.tudelft.jpacman.ui;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Dimension;
+
+import org.junit.Test;
+
+/**
+ * Verifies the cells and pixel positions covered by a {@link Viewport}.
+ */
+@SuppressWarnings("magicnumber")
+public class ViewportTest {
+
+	/**
+	 * A window of 5x3 cells of 10 pixels centred on cell (10, 20) shows the
+	 * cells around it, with the focus in the middle.
+	 */
+	@Test
+	public void centredOnSquare() {
+		Viewport viewport = new Viewport(new Dimension(50, 30), 10, 10, 10, 20);
+		assertEquals(8, viewport.getFirstX());
+		assertEquals(12, viewport.getLastX());
+		assertEquals(19, viewport.getFirstY());
+		assertEquals(21, viewport.getLastY());
+		assertEquals(20, viewport.screenX(10));
+		assertEquals(10, viewport.screenY(20));
+	}
+
+	/**
+	 * A focus in between two cells shifts the drawing by part of a cell and
+	 * makes an extra column partly visible.
+	 */
+	@Test
+	public void centredBetweenSquares() {
+		Viewport viewport = new Viewport(new Dimension(50, 30), 10, 10, 10.5, 20);
+		assertEquals(8, viewport.getFirstX());
+		assertEquals(13, viewport.getLastX());
+		assertEquals(-5, viewport.screenX(8));
+		assertEquals(15, viewport.screenX(10));
+	}
+
+	/**
+	 * A window smaller than a map has cells of no pixels, which are taken to
+	 * be a pixel so that only the cells that fit are visible.
+	 */
+	@Test
+	public void emptyCells() {
+		Viewport viewport = new Viewport(new Dimension(10, 6), 0, 0, 10, 20);
+		assertEquals(5, viewport.getFirstX());
+		assertEquals(14, viewport.getLastX());
+		assertEquals(17, viewport.getFirstY());
+		assertEquals(22, viewport.getLastY());
+		assertEquals(5, viewport.screenX(10));
+	}
+}